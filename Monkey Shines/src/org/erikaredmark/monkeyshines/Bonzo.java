@@ -368,13 +368,25 @@ public final class Bonzo {
 		
 		LevelScreen currentScreen = worldPointer.getCurrentScreen();
 		int bonzoOneBelowFeetY = (currentLocation.y() + BONZO_SIZE.y() ) + 1;
-		// Four points, each point 'snaps' to a tile. We need to check two centres, otherwise it is possible for bonzo
-		// to be flanked by emptiness, be right in the middle of a solid block, and fall through.
-		TileType[] grounds = new TileType[4];
 		int bonzoSizeXHalf = BONZO_SIZE_HALF.x();
 		
 		final TileMap map = currentScreen.getMap();
 		
+		// The four points checked below are never more than a tile apart, so together they cover exactly the
+		// run of cells from the first to the last. Unless one of those cells is a conveyer or collapsing tile,
+		// the bitboards alone can tell if bonzo is on the ground.
+		final int groundRow = bonzoOneBelowFeetY / GameConstants.TILE_SIZE_Y;
+		final int groundCol1 = (currentLocation.x() + GameConstants.FALL_SIZE) / GameConstants.TILE_SIZE_X;
+		final int groundCol2 = (currentLocation.x() + (BONZO_SIZE.x() - 1 - GameConstants.FALL_SIZE) ) / GameConstants.TILE_SIZE_X;
+		if (!(map.anyCells(TileMap.Cells.GROUND_EFFECT, groundRow, groundCol1, groundRow, groundCol2) ) ) {
+			boolean thru = map.anyCells(TileMap.Cells.THRU, groundRow, groundCol1, groundRow, groundCol2);
+			boolean solid = map.anyCells(TileMap.Cells.SOLID, groundRow, groundCol1, groundRow, groundCol2);
+			return groundStateFor(originalPositionY, bonzoOneBelowFeetY, thru, thru || solid, Rotation.NONE, Collections.<CollapsibleTile>emptyList() );
+		}
+		
+		// Four points, each point 'snaps' to a tile. We need to check two centres, otherwise it is possible for bonzo
+		// to be flanked by emptiness, be right in the middle of a solid block, and fall through.
+		TileType[] grounds = new TileType[4];
 		grounds[0] = map.getTileXYPixel(currentLocation.x() + GameConstants.FALL_SIZE, bonzoOneBelowFeetY);
 		grounds[1] = map.getTileXYPixel(currentLocation.x() + bonzoSizeXHalf, bonzoOneBelowFeetY);
 		grounds[2] = map.getTileXYPixel(currentLocation.x() + bonzoSizeXHalf + 1, bonzoOneBelowFeetY);
@@ -422,6 +434,16 @@ public final class Bonzo {
 			pastTile = t;
 		}
 		
+		return groundStateFor(originalPositionY, bonzoOneBelowFeetY, atLeastThru, atLeastGround, onConveyer, mayCollapse);
+	}
+	
+	// Second half of onGround, once the tiles under bonzo have been looked at.
+	private GroundState groundStateFor(int originalPositionY, 
+									   int bonzoOneBelowFeetY, 
+									   boolean atLeastThru, 
+									   boolean atLeastGround, 
+									   Rotation onConveyer, 
+									   List<CollapsibleTile> mayCollapse) {
 		// Check #2; bonzo may be INSIDE the ground. Determine if he is and how much to snap him up by.
 		// If at least part of him is on a thru tile.
 		// Thrus differ from solids; he could jump up into a thru. We must handle that case. Solids are more simple.
@@ -501,14 +523,15 @@ public final class Bonzo {
 		// We give a little 'lee way', we don't check the very top or bottom, but a little off the extremes.
 		// This allows Bonzo to fit easily into 2 space open passageways and then the ground snap algorithms
 		// can take effect.
+		// The middle point always lies between the other two, so checking the run of cells from top to bottom in
+		// that column is the same as checking all three.
 		final TileMap map = worldPointer.getCurrentScreen().getMap();
-		if (   map.getTileXYPixel(newX, currentLocation.y() + 4 ).isSolid()
-		    || map.getTileXYPixel(newX, currentLocation.y() + BONZO_SIZE.y() - 1 - 4).isSolid()
-			|| map.getTileXYPixel(newX, currentLocation.y() + BONZO_SIZE_HALF.y() ).isSolid() ) {
-			
-			return true;
-		}
-		return false;
+		return map.anyCells(
+			TileMap.Cells.SOLID,
+			(currentLocation.y() + 4) / GameConstants.TILE_SIZE_Y,
+			newX / GameConstants.TILE_SIZE_X,
+			(currentLocation.y() + BONZO_SIZE.y() - 1 - 4) / GameConstants.TILE_SIZE_Y,
+			newX / GameConstants.TILE_SIZE_X);
 	}
 	
 	/**
@@ -529,7 +552,6 @@ public final class Bonzo {
 	 */
 	public boolean solidToUp(final int newY) {
 		LevelScreen currentScreen = worldPointer.getCurrentScreen();
-		TileType[] above = new TileType[6];
 		// The two 'early' middle points will never refer to the same tile, but may refer to different tiles
 		// from extreme edge.
 		// Two early middles being Open but others showing a solid will activate the special case, snapping
@@ -539,27 +561,21 @@ public final class Bonzo {
 		// 1,4 = exterior 'middles' intended for snapping special case
 		// 2,3 == truly middle, middles, intended to make sure there is no single solid block
 		// 		  hiding.
+		// The extremes cover the whole run of cells above bonzo, so they are checked together.
 		final TileMap map = currentScreen.getMap();
-		above[0] = map.getTileXYPixel(currentLocation.x(), newY);
-		above[1] = map.getTileXYPixel(currentLocation.x() + 2, newY );
-		above[2] = map.getTileXYPixel(currentLocation.x() + BONZO_SIZE_HALF.x(), newY ); // prefers left tile snap
-		above[3] = map.getTileXYPixel(currentLocation.x() + BONZO_SIZE_HALF.x() + 1, newY ); // prefers right tile snap
-		above[4] = map.getTileXYPixel(currentLocation.x() + (BONZO_SIZE.x() - 1) - 2, newY );
-		above[5] = map.getTileXYPixel(currentLocation.x() + (BONZO_SIZE.x() - 1), newY );
-		
-		boolean atLeastSolid = false;
-		for (TileType t : above) {
-			if (t.isSolid())  atLeastSolid = true;
-		}
+		final int row = newY / GameConstants.TILE_SIZE_Y;
+		final int x = currentLocation.x();
 		
 		// No solids no problem
-		if (!(atLeastSolid) )  return false;
+		if (!(map.anyCells(TileMap.Cells.SOLID, row, x / GameConstants.TILE_SIZE_X, row, (x + (BONZO_SIZE.x() - 1) ) / GameConstants.TILE_SIZE_X) ) ) {
+			return false;
+		}
 		
 		// Solids? Check our special case. If we can't use that then it is a solid wall.
-		if (   !(above[1].isSolid() )
-			&& !(above[2].isSolid() )
-			&& !(above[3].isSolid() )
-		    && !(above[4].isSolid() ) ) {
+		if (   !(map.isCell(TileMap.Cells.SOLID, row, (x + 2) / GameConstants.TILE_SIZE_X) )
+			&& !(map.isCell(TileMap.Cells.SOLID, row, (x + BONZO_SIZE_HALF.x() ) / GameConstants.TILE_SIZE_X) ) // prefers left tile snap
+			&& !(map.isCell(TileMap.Cells.SOLID, row, (x + BONZO_SIZE_HALF.x() + 1) / GameConstants.TILE_SIZE_X) ) // prefers right tile snap
+		    && !(map.isCell(TileMap.Cells.SOLID, row, (x + (BONZO_SIZE.x() - 1) - 2) / GameConstants.TILE_SIZE_X) ) ) {
 			
 			// Activate special case: Snap bonzo to nearest tile boundary, which should
 			// be enough to line him up to move up.
@@ -94,10 +94,12 @@ public enum DeathAnimation {
 	 * 
 	 */
 	public ImmutablePoint2D offset() { 
-		// Should return an immutable singleton
-		return ImmutablePoint2D.of(0, 0); 
+		return NO_OFFSET; 
 	}
 	
+	// Queried every frame bonzo is dying; shared so no point is created each time.
+	private static final ImmutablePoint2D NO_OFFSET = ImmutablePoint2D.of(0, 0);
+	
 	/**
 	 * 
 	 * The sound effect associated with this death animation
@@ -70,6 +70,10 @@ public final class GameConstants {
 	// place on the current screen, they back up to other screens.
 	public static final int SCREEN_HISTORY = 5;
 	
+	// Distance, in pixels, from a screen edge at which the screen past that edge is readied for bonzo to enter.
+	// Comfortably more than bonzo can travel in the few frames it takes to get there.
+	public static final int PREWARM_DISTANCE = TILE_SIZE_X * 3;
+	
 	// Bonus tick speed handles how many frames between countdown ticks. Once the last red key is grabbed,
 	// this ticks down at this speed.
 	// Should be around .7 seconds.
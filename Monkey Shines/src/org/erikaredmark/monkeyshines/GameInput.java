@@ -0,0 +1,169 @@
+package org.erikaredmark.monkeyshines;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
+
+/**
+ *
+ * Player input for the game world, delivered as a stream of press and release events rather than polled key state.
+ * <p/>
+ * Input devices report events as they arrive through {@code pressed} and {@code released}, which only add to a
+ * lock free queue and may be called from any thread. At the start of each tick the game world calls
+ * {@code beginTick}, which drains the queue and works out what each action is doing for that tick. An action that
+ * was pressed and released again between two ticks still counts as active for one tick, so quick taps are never
+ * lost no matter how slow the tick rate is compared to the player.
+ * <p/>
+ * Everything other than reporting events must be called from the game loop only.
+ *
+ * @author Erika Redmark
+ *
+ */
+public final class GameInput {
+
+	/**
+	 *
+	 * The things the player can tell bonzo to do. Input devices map their own keys to these.
+	 *
+	 */
+	public enum Action {
+		LEFT,
+		RIGHT,
+		JUMP;
+	}
+
+	/**
+	 *
+	 * A single press or release of an action, stamped with {@code System.nanoTime} at the moment the input
+	 * device reported it.
+	 *
+	 */
+	public static final class Event {
+		public final Action action;
+		public final boolean pressed;
+		public final long nanoTime;
+
+		private Event(final Action action, final boolean pressed, final long nanoTime) {
+			this.action = action;
+			this.pressed = pressed;
+			this.nanoTime = nanoTime;
+		}
+	}
+
+	private static final int ACTION_COUNT = Action.values().length;
+
+	private final ConcurrentLinkedQueue<Event> pending = new ConcurrentLinkedQueue<>();
+
+	// Whether the action was down at the end of the last drained event.
+	private final boolean[] held = new boolean[ACTION_COUNT];
+	// Whether the action was pressed at any point since the previous tick, even if released again.
+	private final boolean[] pressedThisTick = new boolean[ACTION_COUNT];
+
+	/**
+	 *
+	 * Reports that the given action was just pressed. Safe to call from any thread.
+	 *
+	 * @param action
+	 * 		action pressed
+	 *
+	 */
+	public void pressed(Action action) {
+		pending.offer(new Event(action, true, System.nanoTime() ) );
+	}
+
+	/**
+	 *
+	 * Reports that the given action was just released. Safe to call from any thread.
+	 *
+	 * @param action
+	 * 		action released
+	 *
+	 */
+	public void released(Action action) {
+		pending.offer(new Event(action, false, System.nanoTime() ) );
+	}
+
+	/**
+	 *
+	 * Drains all events reported since the last tick and computes the state of each action for the tick about to
+	 * run. Called by {@code GameWorldLogic} only.
+	 *
+	 */
+	void beginTick() {
+		for (int i = 0; i < ACTION_COUNT; ++i) {
+			pressedThisTick[i] = false;
+		}
+
+		Event e;
+		while ( (e = pending.poll() ) != null) {
+			int index = e.action.ordinal();
+			held[index] = e.pressed;
+			if (e.pressed)  pressedThisTick[index] = true;
+		}
+	}
+
+	/**
+	 *
+	 * Throws away any events not yet delivered to a tick and resets each action to whether it is down right now.
+	 * Intended for when the game resumes after not running ticks (pausing, grace periods), so that presses made
+	 * while the game wasn't running do not all land on the first tick back.
+	 *
+	 * @param isDown
+	 * 		returns, for each action, whether the key for that action is currently down
+	 *
+	 */
+	public void resync(Predicate<Action> isDown) {
+		pending.clear();
+		for (Action action : Action.values() ) {
+			held[action.ordinal()] = isDown.test(action);
+			pressedThisTick[action.ordinal()] = false;
+		}
+	}
+
+	/**
+	 *
+	 * Determines if the given action should be applied this tick: it is either held down, or was pressed at some
+	 * point since the last tick.
+	 *
+	 * @param action
+	 * 		the action to check
+	 *
+	 * @return
+	 * 		{@code true} if the action is active this tick, {@code false} if otherwise
+	 *
+	 */
+	public boolean isActive(Action action) {
+		return held[action.ordinal()] || pressedThisTick[action.ordinal()];
+	}
+
+	/**
+	 *
+	 * Returns every action active this tick packed into one value, one bit per action at the position of its
+	 * ordinal. Intended for recording input compactly.
+	 *
+	 * @return
+	 * 		bit set of active actions
+	 *
+	 */
+	public int activeActions() {
+		int bits = 0;
+		for (Action action : Action.values() ) {
+			if (isActive(action) )  bits |= 1 << action.ordinal();
+		}
+		return bits;
+	}
+
+	/**
+	 *
+	 * Determines if the given action was newly pressed since the last tick, as opposed to just being held.
+	 *
+	 * @param action
+	 * 		the action to check
+	 *
+	 * @return
+	 * 		{@code true} if the action was pressed since the last tick, {@code false} if otherwise
+	 *
+	 */
+	public boolean wasPressed(Action action) {
+		return pressedThisTick[action.ordinal()];
+	}
+}
@@ -1,5 +1,7 @@
 package org.erikaredmark.monkeyshines;
 
+import org.erikaredmark.monkeyshines.GameInput.Action;
+import org.erikaredmark.monkeyshines.replay.ReplayRecorder;
 import org.erikaredmark.monkeyshines.resource.SoundManager;
 import org.erikaredmark.monkeyshines.resource.WorldResource;
 import org.erikaredmark.monkeyshines.util.GameEndCallback;
@@ -32,6 +34,11 @@ public final class GameWorldLogic {
 	private Bonzo bonzo;
 	private World currentWorld;
 	
+	// Player input, drained at the start of every tick.
+	private final GameInput input = new GameInput();
+	// Optional; records the input of every tick when set.
+	private ReplayRecorder recorder;
+	
 	/* -------------------- Digits ---------------------- */
 	/* Numerical values displayed in the UI are broken up
 	 * into digits so that the class can easily map a digit
@@ -140,11 +147,41 @@ public final class GameWorldLogic {
 	 *  Regardless of the state of the game world, this should always be called every update tick.
 	 */
 	public void update(SoundManager sound) {
+		input.beginTick();
+		if (recorder != null)  recorder.recordTick(input);
+		applyInput();
 		currentWorld.update();
 		bonzo.update(sound);
 		updateBonusTick(sound);
 	}
 	
+	/** Called once per rendered frame, after the frame is drawn, to do upcoming screen transition work in spare
+	 *  frame time rather than in the tick bonzo crosses a screen edge. See {@link World#prewarmScreenTransition(Bonzo)}
+	 */
+	public void prewarm() {
+		currentWorld.prewarmScreenTransition(bonzo);
+	}
+	
+	// Technically, left or right should be mutually exclusive. But pressing both
+	// causes bonzo to dance, and that's funny.
+	private void applyInput() {
+		if (input.isActive(Action.LEFT) )   bonzo.move(-1);
+		if (input.isActive(Action.RIGHT) )  bonzo.move(1);
+		if (input.isActive(Action.JUMP) )   bonzo.jump(4);
+	}
+	
+	/**
+	 * Returns the input that drives bonzo. Input devices report presses and releases to this as they happen; they
+	 * are applied at the start of the next {@code update}.
+	 */
+	public GameInput getInput() { return input; }
+	
+	/**
+	 * Records the input of every tick from now on into the given recorder. Should be set before the first
+	 * {@code update} so that the recording covers the whole session.
+	 */
+	public void setRecorder(ReplayRecorder recorder) { this.recorder = recorder; }
+	
 	// Called from callback when bonzos score is updated in game. Sets digit values for
 	// score redraw.
 	private void scoreUpdate() {
@@ -1,9 +1,8 @@
 package org.erikaredmark.monkeyshines;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.nio.charset.Charset;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -12,6 +11,8 @@ import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.erikaredmark.util.AtomicFiles;
+
 import com.google.common.collect.Lists;
 
 /**
@@ -80,7 +81,7 @@ public final class HighScores {
 	 * {@code isScoreHigh(int)} first.
 	 * 
 	 * @param name
-	 * 		name of the person who got the score. Commas will be removed (as they are internal delimiters)
+	 * 		name of the person who got the score. Names too long to store are cut short when persisted
 	 * 
 	 * @param score
 	 * 
@@ -93,8 +94,6 @@ public final class HighScores {
 			throw new IllegalArgumentException("Score " + score + " is too low to be entered into the high scores. Check with isScoreHigh first");
 		}
 		
-		name = name.replace(',', ' ');
-		
 		// Condition 1: Bump out the lowest score since there isn't space left. We will resort array later.
 		if (scoreSize == 10) {
 			scores[9] = new HighScore(name, score);
@@ -128,11 +127,14 @@ public final class HighScores {
 	
 	/**
 	 * 
-	 * Persists the high scores data as a basic list written out to a text file. The path should NOT be
-	 * the preferences file.
+	 * Persists the high scores as a fixed size binary file. The path should NOT be the preferences file.
+	 * <p/>
+	 * The file is always the same size regardless of how many scores there are, so writing it costs the same
+	 * every time. It is written to a temporary file beside the target and then moved over it, so a crash or power
+	 * loss part way through leaves either the old scores or the new ones, never a mix.
 	 * 
-	 * @param scoresList
-	 * 		path to high scores list. File will be created if one does not exist
+	 * @param highScores
+	 * 		path to high scores file. File will be created if one does not exist
 	 * 
 	 * @return
 	 * 		{@code true} if the high scores could be saved, {@code false} if otherwise
@@ -143,26 +145,71 @@ public final class HighScores {
 			writeScores(highScores, scores, scoreSize);
 			return true;
 		} catch (IOException e) {
+			LOGGER.log(Level.WARNING,
+					   "Could not save high scores: " + e.getMessage(),
+					   e);
 			return false;
 		}
 	}
 	
-	/** Reads the high score list from a basic plain-text input. Each line is a name, delimiter, and score.
-	 * Delimiter is defined as a comma.
+	/* ------------------------------ File Format ------------------------------- */
+	// Header: magic, version, number of scores in use.
+	// Then exactly MAX_SCORES records, unused ones zeroed: score, length of name in bytes, name in UTF-8 padded with
+	// zeroes to NAME_BYTES. Integers are big endian.
+	private static final int MAGIC = 0x4D534853; // "MSHS"
+	private static final int VERSION = 1;
+	private static final int NAME_BYTES = 64;
+	private static final int HEADER_SIZE = 4 + 4 + 4;
+	private static final int RECORD_SIZE = 4 + 2 + NAME_BYTES;
+	private static final int FILE_SIZE = HEADER_SIZE + (RECORD_SIZE * MAX_SCORES);
+	
+	/** Reads the high score list from the binary format written by {@code writeScores}.
 	 * @param scoreFile the input file
 	 * @return list of high scores from file.
-	 * @throws IOException if the file could not be read. Ensure it exists.
+	 * @throws IOException if the file could not be read, or is not a valid high scores file.
 	 */
 	private static List<HighScore> readScores(Path scoreFile) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(scoreFile) );
+		if (buffer.remaining() != FILE_SIZE || buffer.getInt() != MAGIC) {
+			throw new IOException(scoreFile + " is not a high scores file");
+		}
+		int version = buffer.getInt();
+		if (version != VERSION)  throw new IOException("Unsupported high scores version " + version);
+		
+		int count = buffer.getInt();
+		if (count < 0 || count > MAX_SCORES)  throw new IOException("Corrupt high scores file: " + count + " scores");
+		
+		List<HighScore> highReturns = new ArrayList<>(count);
+		for (int i = 0; i < count; ++i) {
+			buffer.position(HEADER_SIZE + (i * RECORD_SIZE) );
+			int score = buffer.getInt();
+			int nameLength = buffer.getShort();
+			if (nameLength < 0 || nameLength > NAME_BYTES)  throw new IOException("Corrupt high scores file: name length " + nameLength);
+			
+			String name = new String(buffer.array(), buffer.position(), nameLength, StandardCharsets.UTF_8);
+			highReturns.add(new HighScore(name, score) );
+		}
+		
+		return highReturns;
+	}
+	
+	/** Reads the high score list from the original plain-text format, used before the binary format existed. Each line is a 
+	 * name, delimiter, and score. Delimiter is defined as a comma.
+	 * @param scoreFile the input file
+	 * @return list of high scores from file.
+	 * @throws IOException if the file could not be read. Ensure it exists.
+	 */
+	private static List<HighScore> readLegacyScores(Path scoreFile) throws IOException {
 		List<HighScore> highReturns = new ArrayList<>();
-		try (BufferedReader reader = Files.newBufferedReader(scoreFile, Charset.forName("UTF-8") ) ) {
-			String scoreLine = null;
-			while ( (scoreLine = reader.readLine() ) != null) {
-				String[] parts = scoreLine.split("\\,");
-				
-				// Ignore bad lines; the user can modify the file so let's try to be as liberal as possible.
-				if (parts.length != 2)  continue;
-				highReturns.add(new HighScore(parts[0], Integer.parseInt(parts[1]) ) );
+		for (String scoreLine : Files.readAllLines(scoreFile, StandardCharsets.UTF_8) ) {
+			String[] parts = scoreLine.split("\\,");
+			
+			// Ignore bad lines; the user can modify the file so let's try to be as liberal as possible.
+			if (parts.length != 2)  continue;
+			try {
+				highReturns.add(new HighScore(parts[0], Integer.parseInt(parts[1].trim() ) ) );
+			} catch (NumberFormatException e) {
+				continue;
 			}
 		}
 		
@@ -170,31 +217,58 @@ public final class HighScores {
 	}
 	
 	private static void writeScores(Path scoreFile, HighScore[] scores, int scoreSize) throws IOException {
-		try (BufferedWriter writer = Files.newBufferedWriter(scoreFile, Charset.forName("UTF-8") ) ) {
-			for (int i = 0; i < scoreSize; ++i) {
-				String writeoutLine = scores[i].getName() + "," + scores[i].getScore() + "\n";
-				writer.write(writeoutLine);
-			}
+		ByteBuffer buffer = ByteBuffer.allocate(FILE_SIZE);
+		buffer.putInt(MAGIC);
+		buffer.putInt(VERSION);
+		buffer.putInt(scoreSize);
+		for (int i = 0; i < scoreSize; ++i) {
+			byte[] name = encodeName(scores[i].getName() );
+			buffer.position(HEADER_SIZE + (i * RECORD_SIZE) );
+			buffer.putInt(scores[i].getScore() );
+			buffer.putShort((short) name.length);
+			buffer.put(name);
 		}
+		
+		AtomicFiles.write(scoreFile, buffer.array() );
+	}
+	
+	// Encoded name cut down to whole characters fitting in a record. Trimmed by code point so that a character
+	// outside the basic plane is never split into half a surrogate pair.
+	private static byte[] encodeName(String name) {
+		byte[] encoded = name.getBytes(StandardCharsets.UTF_8);
+		while (encoded.length > NAME_BYTES) {
+			name = name.substring(0, name.offsetByCodePoints(name.length(), -1) );
+			encoded = name.getBytes(StandardCharsets.UTF_8);
+		}
+		return encoded;
 	}
 	
 	/**
 	 * 
-	 * Constructs an instance of this object from a high score .txt, If this file cannot be
-	 * read, the generated high scores will be empty. If the file does not exist, a new file
-	 * will be generated and an empty high scores object will be returned.
+	 * Constructs an instance of this object from a high scores file. If that file does not exist, scores are instead
+	 * read from the given plain-text file of the format used by older versions, if it exists; they will be saved in
+	 * the new format the next time scores are persisted. If neither exists or the scores cannot be read, the
+	 * generated high scores will be empty.
+	 * 
+	 * @param highScoreFile
+	 * 		binary high scores file
+	 * 
+	 * @param legacyScoreFile
+	 * 		plain-text high scores file from older versions
 	 * 
 	 * @return
 	 * 		instance of this object
 	 * 
 	 */
-	public static HighScores fromFile(Path highScoreList) {
+	public static HighScores fromFile(Path highScoreFile, Path legacyScoreFile) {
 		try {
-			if (!(Files.exists(highScoreList) ) ) {
-				Files.createFile(highScoreList);
+			if (Files.exists(highScoreFile) ) {
+				return new HighScores(readScores(highScoreFile) );
+			} else if (Files.exists(legacyScoreFile) ) {
+				return new HighScores(readLegacyScores(legacyScoreFile) );
+			} else {
+				return new HighScores();
 			}
-			List<HighScore> tempScores = readScores(highScoreList);
-			return new HighScores(tempScores);
 		} catch (IOException e) {
 			LOGGER.log(Level.WARNING,
 					   "Could not read high scores: " + e.getMessage(),
@@ -2,6 +2,7 @@ package org.erikaredmark.monkeyshines;
 
 import java.awt.event.KeyEvent;
 
+import org.erikaredmark.monkeyshines.GameInput.Action;
 import org.newdawn.slick.Input;
 
 import com.google.common.collect.ImmutableMap;
@@ -41,6 +42,28 @@ public class KeyBindingsSlick {
 	}
 	
 	
+	/**
+	 * Returns the Slick key code bound to the given action.
+	 */
+	public int keyFor(Action action) {
+		switch (action) {
+		case LEFT: return left;
+		case RIGHT: return right;
+		case JUMP: return jump;
+		default: throw new RuntimeException("Unknown enumeration " + action);
+		}
+	}
+	
+	/**
+	 * Returns the action bound to the given Slick key code, or {@code null} if that key is not bound to anything.
+	 */
+	public Action actionFor(int key) {
+		if (key == left)  return Action.LEFT;
+		if (key == right)  return Action.RIGHT;
+		if (key == jump)  return Action.JUMP;
+		return null;
+	}
+	
 	/**
 	 * Checks if the given key code from Java awt can map to something from Slick.
 	 * GUI should check this before allowing the user to commit the change.
@@ -6,6 +6,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.erikaredmark.monkeyshines.World.GoodieLocationPair;
 import org.erikaredmark.monkeyshines.background.Background;
@@ -465,6 +467,52 @@ public final class LevelScreen {
 	 * 
 	 */
 	public static LevelScreen copyAndAddToWorld(LevelScreen levelScreen, int newId, World world) {
+		LevelScreen newScreen = copyWithId(levelScreen, newId);
+
+		world.addOrReplaceScreen(newScreen);
+ 		
+ 		// Handle goodies
+ 		Collection<GoodieLocationPair> originalGoodiePairs = world.getGoodiesForLevel(levelScreen.getId() );
+ 		for (GoodieLocationPair pair : originalGoodiePairs) {
+ 			WorldCoordinate loc = pair.location;
+ 			world.addGoodie(newId, loc.getRow(), loc.getCol(), pair.goodie.getGoodieType() );
+ 		}
+ 		
+ 		return newScreen;
+	}
+	
+	/**
+	 * 
+	 * Deep copies many screens at once, in parallel, without adding them to any world. Goodies belong to the world, not
+	 * the screen, and are not copied.
+	 * <p/>
+	 * Only the given screens are read, so this may be called away from the thread that owns their world as long as
+	 * nothing modifies those screens in the meantime.
+	 * 
+	 * @param copyToFrom
+	 * 		mapping of the id of each new screen to the screen it is a copy of
+	 * 
+	 * @return
+	 * 		the newly created screens, in no particular order
+	 * 
+	 */
+	public static List<LevelScreen> copyAll(Map<Integer, LevelScreen> copyToFrom) {
+		return copyToFrom.entrySet().parallelStream()
+			.map(copy -> copyWithId(copy.getValue(), copy.getKey() ) )
+			.collect(Collectors.toList() );
+	}
+	
+	/**
+	 * 
+	 * Deep copies the given screen under a new id without adding it to any world. Goodies belong to the world, not the
+	 * screen, and are not copied.
+	 * <p/>
+	 * The source screen's tiles are shared with the copy until either is modified (see {@code TileMap.copy}), so this is
+	 * cheap. Copies of screens may be made from several threads at once as long as nothing modifies those screens in the
+	 * meantime.
+	 * 
+	 */
+	static LevelScreen copyWithId(LevelScreen levelScreen, int newId) {
 		// Handle Tiles
 		TileMap newTiles = levelScreen.getMap().copy();
 
@@ -483,17 +531,8 @@ public final class LevelScreen {
 					    	levelScreen.getBonzoStartingLocation(),
 					    	newSprites,
 					    	levelScreen.rsrc);
-
-		world.addOrReplaceScreen(newScreen);
- 		
- 		// Handle goodies
- 		Collection<GoodieLocationPair> originalGoodiePairs = world.getGoodiesForLevel(levelScreen.getId() );
- 		for (GoodieLocationPair pair : originalGoodiePairs) {
- 			WorldCoordinate loc = pair.location;
- 			world.addGoodie(newId, loc.getRow(), loc.getCol(), pair.goodie.getGoodieType() );
- 		}
- 		
- 		return newScreen;
+		
+		return newScreen;
 	}
 
 
@@ -89,14 +89,37 @@ public enum ScreenDirection {
 	 * 
 	 */
 	public static ScreenDirection fromLocation(IPoint2D loc, IPoint2D size) {
+		return fromLocation(loc, size, 0);
+	}
+	
+	/**
+	 * 
+	 * Same as {@link #fromLocation(IPoint2D, IPoint2D)}, only the screen bounds are shrunk by the given margin on all
+	 * sides. This answers which edge the player is about to cross, if any, rather than which one was crossed.
+	 * 
+	 * @param loc
+	 * 		the current location of the player
+	 * 
+	 * @param size
+	 * 		the size of the player 
+	 * 
+	 * @param margin
+	 * 		distance, in pixels, from each edge that still counts as leaving in that direction
+	 * 
+	 * @return
+	 * 		the direction the player is within {@code margin} of leaving the screen, or {@code CURRENT} if the player 
+	 * 		is further than that from every edge
+	 * 
+	 */
+	public static ScreenDirection fromLocation(IPoint2D loc, IPoint2D size, int margin) {
 		// Check to see if it is in bounds. If so, return -1.
-		if (loc.x() < 0)
+		if (loc.x() < margin)
 			return LEFT;
-		else if (loc.y() < 0)
+		else if (loc.y() < margin)
 			return UP;
-		else if (loc.x() + size.x() > GameConstants.SCREEN_WIDTH )
+		else if (loc.x() + size.x() > GameConstants.SCREEN_WIDTH - margin)
 			return RIGHT;
-		else if (loc.y() + size.y() > GameConstants.SCREEN_HEIGHT)
+		else if (loc.y() + size.y() > GameConstants.SCREEN_HEIGHT - margin)
 			return DOWN;
 		else
 			return CURRENT;
@@ -0,0 +1,88 @@
+package org.erikaredmark.monkeyshines;
+
+import java.util.Map;
+
+/**
+ * 
+ * Answers screen id lookups for a world by indexing into a dense array instead of going through a map. Screen ids are
+ * a grid laid out in a single integer: 1000 is the starting screen, moving left or right is -1 or +1, and moving up or
+ * down is -100 or +100, with the bonus screens usually starting at 10000. All ids a world uses therefore fall within a
+ * range of a few thousand, so one slot per id in that range is affordable, and any lookup, including a neighbour given
+ * by {@code ScreenDirection.getNextScreenId}, is a subtraction and an array read with no boxing.
+ * <p/>
+ * The map of screens given at construction remains the authority; this must be told to {@code reindex} whenever that
+ * map changes. Should a world spread its ids so far apart that the array would be unreasonably large, lookups simply go
+ * to the map instead.
+ * <p/>
+ * This class is not thread safe
+ * 
+ * @author Erika Redmark
+ *
+ */
+final class ScreenIndex {
+	// Largest span of ids indexed as an array. Far beyond any sensible world; the original game's grid is 100 wide.
+	private static final int MAX_SPAN = 1 << 16;
+	
+	private final Map<Integer, LevelScreen> screens;
+	
+	// Null when the ids span too far; lookups then go to the map.
+	private LevelScreen[] dense;
+	private int firstId;
+	
+	/**
+	 * 
+	 * Creates an index over the given screens, keyed by screen id. The map is not copied.
+	 * 
+	 */
+	ScreenIndex(final Map<Integer, LevelScreen> screens) {
+		this.screens = screens;
+		reindex();
+	}
+	
+	/**
+	 * 
+	 * Rebuilds the index from the map of screens. Must be called after any screen is added to, replaced in or removed from
+	 * that map.
+	 * 
+	 */
+	void reindex() {
+		if (screens.isEmpty() ) {
+			dense = new LevelScreen[0];
+			firstId = 0;
+			return;
+		}
+		
+		int min = Integer.MAX_VALUE;
+		int max = Integer.MIN_VALUE;
+		for (int id : screens.keySet() ) {
+			if (id < min)  min = id;
+			if (id > max)  max = id;
+		}
+		
+		if ((long) max - min >= MAX_SPAN) {
+			dense = null;
+			return;
+		}
+		
+		firstId = min;
+		dense = new LevelScreen[max - min + 1];
+		for (Map.Entry<Integer, LevelScreen> entry : screens.entrySet() ) {
+			dense[entry.getKey() - min] = entry.getValue();
+		}
+	}
+	
+	/**
+	 * 
+	 * Returns the screen with the given id, or {@code null} if there is none.
+	 * 
+	 */
+	LevelScreen get(final int id) {
+		if (dense == null)  return screens.get(id);
+		
+		// Long arithmetic so that ids far outside the range cannot wrap back into it.
+		long index = (long) id - firstId;
+		return index >= 0 && index < dense.length
+			? dense[(int) index]
+			: null;
+	}
+}
@@ -1,10 +1,12 @@
 package org.erikaredmark.monkeyshines;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.List;
 
-import org.erikaredmark.monkeyshines.resource.WorldResource;
+import org.erikaredmark.monkeyshines.tiles.CollapsibleTile;
 import org.erikaredmark.monkeyshines.tiles.CommonTile;
+import org.erikaredmark.monkeyshines.tiles.ConveyerTile;
+import org.erikaredmark.monkeyshines.tiles.HazardTile;
 import org.erikaredmark.monkeyshines.tiles.TileType;
 import org.erikaredmark.monkeyshines.tiles.CommonTile.StatelessTileType;
 
@@ -16,6 +18,14 @@ import org.erikaredmark.monkeyshines.tiles.CommonTile.StatelessTileType;
  * Provides an easy abstraction for setting tiles via either mouse position (x,y) or row, column position. This class is backed by a single
  * dimensional array.
  * <p/>
+ * Alongside the tiles, the map keeps a bitboard (one bit per cell) for each of the {@link Cells} kinds, kept in sync whenever a tile is set
+ * or erased. Collision code asks these boards whether any cell in a rectangle is, say, solid with a handful of mask operations instead of
+ * fetching each tile and calling into it.
+ * <p/>
+ * Copies are copy-on-write: a copy shares its tile array and boards with the original until either one is modified, at which point that
+ * one takes its own arrays. Stateful tiles are never shared; a copy takes its own copies of them straight away. Common tiles are immutable
+ * flyweights and are never copied.
+ * <p/>
  * This class is not thread safe. When used by the game engine for playing, it should not be modified. Only in the editor context should it.
  * 
  * @author Erika Redmark
@@ -45,24 +55,94 @@ public class TileMap {
 		for (int i = 0; i < totalSize; ++i) {
 			map[i] = CommonTile.NONE;
 		}
+		
+		// Empty tiles are none of the kinds, so the boards start cleared.
+		boards = new long[Cells.values().length][(totalSize + 63) >>> 6];
+	}
+	
+	/**
+	 * 
+	 * Kinds of cell tracked in the map's bitboards. Only properties that never change for a given tile are tracked; tiles whose
+	 * collision depends on their state are flagged {@code GROUND_EFFECT} so clients know to ask the tile itself.
+	 * 
+	 * @author Erika Redmark
+	 *
+	 */
+	public enum Cells {
+		/** Solid tiles: block movement from every side */
+		SOLID,
+		/** Tiles that are always thru: can be landed on from above but passed through otherwise. Collapsing tiles are not included */
+		THRU,
+		/** Hazard tiles, whether or not the hazard is still alive */
+		HAZARD,
+		/** Tiles that do something to Bonzo when stood on (conveyers, collapsing tiles) and must be inspected individually */
+		GROUND_EFFECT;
 	}
 	
 	/**
 	 * 
-	 * Performs a <strong>Deep</strong> copy of the given tilemap. The generated tile map is guaranteed to be logically
-	 * distinct from the original, including all tiles which contain state. Whilst references may be shared, that will only
-	 * occur for immutable types.
+	 * Performs a logically <strong>Deep</strong> copy of the given tilemap. The generated tile map is guaranteed to be logically
+	 * distinct from the original, including all tiles which contain state: modifying either map, or the state of a tile taken from
+	 * either map, never affects the other.
+	 * <p/>
+	 * Any stateful tiles are copied immediately. Otherwise the copy is constant time; the tiles are shared until one of the maps is first
+	 * modified. The only change made to this map is to mark it as shared, so copies of the same map may be taken from several threads at
+	 * once as long as nothing modifies it meanwhile.
 	 * 
 	 * @return
 	 * 		a deep copy of the tile map
 	 * 
 	 */
 	public TileMap copy() {
-		TileMap newMap = new TileMap(rows, cols);
-		for (int i = 0; i < rows * cols; ++i) {
-			newMap.map[i] = this.map[i].copy();
+		return new TileMap(this);
+	}
+	
+	// Copy constructor sharing everything with the source except stateful tiles
+	private TileMap(final TileMap source) {
+		this.rows = source.rows;
+		this.cols = source.cols;
+		if (source.hasStatefulTiles() ) {
+			this.map = new TileType[source.map.length];
+			for (int i = 0; i < map.length; ++i) {
+				TileType tile = source.map[i];
+				map[i] = tile instanceof CommonTile ? tile : tile.copy();
+			}
+		} else {
+			this.map = source.map;
 		}
-		return newMap;
+		// Copies are always the same kind of tile, so the boards hold either way.
+		this.boards = source.boards;
+		this.shared = true;
+		source.shared = true;
+	}
+	
+	/**
+	 * 
+	 * Makes sure this map is not sharing its arrays with any copy, so it may be modified. The tiles themselves need no copying, as
+	 * stateful tiles are never shared. Does nothing if the map is not shared.
+	 * <p/>
+	 * Only this map stops sharing. Another map that shared with it still believes it shares, and will copy once more when it is
+	 * itself first modified; harmless, if occasionally unnecessary.
+	 * 
+	 */
+	private void ensureExclusive() {
+		if (!(shared) )  return;
+		
+		long[][] newBoards = new long[boards.length][];
+		for (int i = 0; i < boards.length; ++i) {
+			newBoards[i] = boards[i].clone();
+		}
+		
+		map = map.clone();
+		boards = newBoards;
+		shared = false;
+	}
+	
+	// Hazards, conveyers and collapsing tiles are exactly the tiles with state, and are all tracked on the boards.
+	private boolean hasStatefulTiles() {
+		return    map.length > 0
+			   && (   anyBits(boards[Cells.HAZARD.ordinal()], 0, map.length - 1)
+				   || anyBits(boards[Cells.GROUND_EFFECT.ordinal()], 0, map.length - 1) );
 	}
 	
 	/**
@@ -137,8 +217,11 @@ public class TileMap {
 		assert tile != null;
 		if (row >= rows || row < 0)  return;
 		if (col >= cols || row < 0)  return;
+		ensureExclusive();
 		int index = resolveViaRowCol(row, col);
 		map[index] = tile;
+		classifyCell(index);
+		++modificationCount;
 	}
 	
 	/**
@@ -157,14 +240,17 @@ public class TileMap {
 	public void eraseTileRowCol(int row, int col) {
 		if (row >= rows || row < 0)  return;
 		if (col >= cols || row < 0)  return;
+		ensureExclusive();
 		int index = resolveViaRowCol(row, col);
 		map[index] = CommonTile.NONE;
+		classifyCell(index);
+		++modificationCount;
 	}
 	
 	/**
 	 * 
-	 * Returns a subset of the tiles starting from position [row1, col1] to [row2, col2]. The tiles are copied to a new array, but this
-	 * is a shallow copy. Modifications to the contained tiles will affect them on the tile map.
+	 * Returns a subset of the tiles starting from position [row1, col1] to [row2, col2]. The returned list is a read-only view onto this
+	 * map; nothing is copied, and it reflects later changes to the map. Modifications to the contained tiles will affect them on the tile map.
 	 * <p/>
 	 * This is typically used when analysing a set of tiles, such as those around Bonzo, for collision.
 	 * <p/>
@@ -195,16 +281,18 @@ public class TileMap {
 		col2 = Math.min(col2, cols);
 		assert row2 > row1;
 		assert col2 > col1;
-		List<TileType> sub = new ArrayList<TileType>((row2 - row1) * (col2 - col1) );
-		for (int i = row1; i < row2; ++i) {
-			int index = resolveViaRowCol(i, col1);
-			// We can just increment by one for inner array, saving time.
-			for (int j = col1; j < col2; ++j) {
-				sub.add(map[index + j]);
+		final int firstRow = row1;
+		final int firstCol = col1;
+		final int width = col2 - col1;
+		final int size = (row2 - row1) * width;
+		return new AbstractList<TileType>() {
+			@Override public TileType get(int i) {
+				if (i < 0 || i >= size)  throw new IndexOutOfBoundsException("Index " + i + " out of subset of size " + size);
+				return map[resolveViaRowCol(firstRow + (i / width), firstCol + (i % width) )];
 			}
-		}
-		
-		return sub;
+			
+			@Override public int size() { return size; }
+		};
 	}
 	
 
@@ -341,10 +429,7 @@ public class TileMap {
 		if (row < 0 || row >= rows)  return CommonTile.NONE;
 		if (col < 0 || col >= cols)  return CommonTile.NONE;
 		
-		return map[resolveViaRowCol(
-			yPixel / GameConstants.TILE_SIZE_Y, 
-			xPixel / GameConstants.TILE_SIZE_X)
-		];
+		return map[resolveViaRowCol(row, col)];
 	}
 	
 	/**
@@ -369,6 +454,122 @@ public class TileMap {
 		}
 	}
 	
+	/**
+	 * 
+	 * Returns a counter that is incremented every time a tile is set or erased through this map's API. The
+	 * absolute value is meaningless; it is intended for caches (such as editor thumbnails) to cheaply determine
+	 * if a map has changed since they last looked at it.
+	 * 
+	 * @return
+	 * 		current modification count
+	 * 
+	 */
+	public int getModificationCount() { return modificationCount; }
+	
+	/**
+	 * 
+	 * Determines if the cell at the given row/col is of the given kind. Out of bounds cells are never of any kind, the same as
+	 * the {@code NONE} tile returned for them by {@code getTileRowCol}.
+	 * 
+	 * @param kind
+	 * 		kind of cell to check for
+	 * 
+	 * @param row
+	 * @param col
+	 * 
+	 * @return
+	 * 		{@code true} if the cell is of the given kind, {@code false} if otherwise
+	 * 
+	 */
+	public boolean isCell(Cells kind, int row, int col) {
+		if (row < 0 || row >= rows)  return false;
+		if (col < 0 || col >= cols)  return false;
+		int index = resolveViaRowCol(row, col);
+		return (boards[kind.ordinal()][index >>> 6] & (1L << index) ) != 0;
+	}
+	
+	/**
+	 * 
+	 * Determines if any cell in the rectangle from [row1, col1] to [row2, col2], inclusive, is of the given kind. Parts of the
+	 * rectangle outside of the map are ignored.
+	 * 
+	 * @param kind
+	 * 		kind of cell to check for
+	 * 
+	 * @param row1
+	 * 		top row
+	 * 
+	 * @param col1
+	 * 		left column
+	 * 
+	 * @param row2
+	 * 		bottom row
+	 * 
+	 * @param col2
+	 * 		right column
+	 * 
+	 * @return
+	 * 		{@code true} if at least one cell in the rectangle is of the given kind, {@code false} if otherwise
+	 * 
+	 */
+	public boolean anyCells(Cells kind, int row1, int col1, int row2, int col2) {
+		row1 = Math.max(row1, 0);
+		col1 = Math.max(col1, 0);
+		row2 = Math.min(row2, rows - 1);
+		col2 = Math.min(col2, cols - 1);
+		if (row1 > row2 || col1 > col2)  return false;
+		
+		final long[] board = boards[kind.ordinal()];
+		for (int row = row1; row <= row2; ++row) {
+			// Each row of the rectangle is one contiguous run of bits
+			if (anyBits(board, resolveViaRowCol(row, col1), resolveViaRowCol(row, col2) ) )  return true;
+		}
+		return false;
+	}
+	
+	// Checks bits from through to, inclusive, a whole word at a time.
+	private static boolean anyBits(long[] board, int from, int to) {
+		final int fromWord = from >>> 6;
+		final int toWord = to >>> 6;
+		// Shifts only use the low six bits, so these mask off everything before from and after to within their words.
+		final long firstMask = -1L << from;
+		final long lastMask = -1L >>> (63 - (to & 63) );
+		
+		if (fromWord == toWord)  return (board[fromWord] & firstMask & lastMask) != 0;
+		
+		if ( (board[fromWord] & firstMask) != 0)  return true;
+		for (int i = fromWord + 1; i < toWord; ++i) {
+			if (board[i] != 0)  return true;
+		}
+		return (board[toWord] & lastMask) != 0;
+	}
+	
+	// Brings all boards in line with whatever tile is now at the given index.
+	private void classifyCell(int index) {
+		final TileType tile = map[index];
+		final boolean solid;
+		final boolean thru;
+		if (tile instanceof CommonTile) {
+			StatelessTileType type = ((CommonTile) tile).getUnderlyingType();
+			solid = type == StatelessTileType.SOLID;
+			thru = type == StatelessTileType.THRU;
+		} else {
+			solid = false;
+			thru = tile instanceof ConveyerTile;
+		}
+		
+		setBit(Cells.SOLID, index, solid);
+		setBit(Cells.THRU, index, thru);
+		setBit(Cells.HAZARD, index, tile instanceof HazardTile);
+		setBit(Cells.GROUND_EFFECT, index, tile instanceof ConveyerTile || tile instanceof CollapsibleTile);
+	}
+	
+	private void setBit(Cells kind, int index, boolean value) {
+		final long[] board = boards[kind.ordinal()];
+		if (value)  board[index >>> 6] |= (1L << index);
+		else		board[index >>> 6] &= ~(1L << index);
+	}
+	
 	public int getRowCount() { return rows; }
 	public int getColumnCount() { return cols; }
 	
@@ -387,7 +588,9 @@ public class TileMap {
 	
 	/**
 	 * Returns the backing array of tiles. Should only truly be used if an external algorithm requires
-	 * iterating over all tiles in the map.
+	 * iterating over all tiles in the map. Tiles must not be assigned through this array; use {@code setTileRowCol}
+	 * so the collision bitboards stay in sync, and as the array may be shared with copies of this map. Stateful tiles in it
+	 * belong to this map alone.
 	 * @return
 	 * 		backing array of tiles in the map. Intended for iteration only
 	 */
@@ -395,18 +598,6 @@ public class TileMap {
 		return map;
 	}
 	
-	/**
-	 * For all tiles that cache draw information, updates all of that information in one go.
-	 */
-	public void updateDrawInformation(WorldResource rsrc) {
-		for (int i = 0; i < map.length; ++i) {
-			TileType tt = map[i];
-			if (tt instanceof CommonTile && ((CommonTile)tt).getUnderlyingType() != StatelessTileType.NONE) {
-				((CommonTile)tt).recomputeDrawState(rsrc);
-			}
-		}
-	}
-	
 	@Override public boolean equals(Object o) {
 		if (o == this) return true;
 		if ( !(o instanceof TileMap) ) return false;
@@ -429,6 +620,9 @@ public class TileMap {
 		// If row and col check checked out the lengths MUST be the same
 		assert myTiles.length == otherTiles.length : "Lengths should be identical if row/col check succeeded";
 		
+		// Copies that have not been modified share their tiles
+		if (myTiles == otherTiles)  return true;
+		
 		for (int i = 0; i < myTiles.length; ++i) {
 			if (!(myTiles[i].equals(otherTiles[i]) ) ) {
 				return false;
@@ -453,4 +647,10 @@ public class TileMap {
 	private int rows;
 	private int cols;
 	private TileType[] map;
+	// One board per Cells kind, indexed by ordinal. Derived entirely from map, so not part of equality.
+	private long[][] boards;
+	// True if map and boards may be shared with a copy of this map, and must be copied before being modified.
+	private boolean shared;
+	// Not part of equality; only tracks edits for caching purposes
+	private int modificationCount;
 }
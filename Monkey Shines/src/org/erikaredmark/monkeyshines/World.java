@@ -4,8 +4,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -25,6 +25,7 @@ import org.erikaredmark.monkeyshines.tiles.ConveyerTile;
 import org.erikaredmark.monkeyshines.tiles.HazardTile;
 import org.erikaredmark.monkeyshines.tiles.PlaceholderTile;
 import org.erikaredmark.monkeyshines.tiles.TileType;
+import org.erikaredmark.util.collection.LongObjectHashMap;
 import org.erikaredmark.util.collection.RingArray;
 
 import com.google.common.collect.HashMultimap;
@@ -147,6 +148,7 @@ public class World {
 		this.worldName = worldName;
 		this.goodiesInWorld = goodiesInWorld;
 		this.worldScreens = worldScreens;
+		this.screenIndex = new ScreenIndex(worldScreens);
 		this.hazards = hazards;
 		this.conveyers = conveyers;
 		this.bonusScreen = bonusScreen;
@@ -166,8 +168,9 @@ public class World {
 		// speed in some reset algorithms, and we must precompute red/blue
 		// key sets.
 		this.goodiesPerScreen = HashMultimap.create();
-		this.redKeys = new HashSet<Goodie>();
-		this.blueKeys = new HashSet<Goodie>();
+		this.goodiesByPackedCoordinate = new LongObjectHashMap<>(goodiesInWorld.size() );
+		this.redKeys = new LongObjectHashMap<>();
+		this.blueKeys = new LongObjectHashMap<>();
 		
 		for (Entry<WorldCoordinate, Goodie> entry : goodiesInWorld.entrySet() ) {
 			// Extract just the level id. Assume it can convert to integer, because otherwise would
@@ -177,10 +180,11 @@ public class World {
 			
 			Goodie value = entry.getValue();
 			goodiesPerScreen.put(screenForGoodie.getId(), new GoodieLocationPair(value, coordinate) );
+			goodiesByPackedCoordinate.put(coordinate.packed(), value);
 			
 			// Now fill in the proper red and blue keys as required
-			if (value.getGoodieType() == Goodie.Type.RED_KEY)  		 this.redKeys.add(value);
-			else if (value.getGoodieType() == Goodie.Type.BLUE_KEY)  this.blueKeys.add(value);
+			if (value.getGoodieType() == Goodie.Type.RED_KEY)  		 this.redKeys.put(packedLocation(value), value);
+			else if (value.getGoodieType() == Goodie.Type.BLUE_KEY)  this.blueKeys.put(packedLocation(value), value);
 		}
 		
 		// To easily enable bonus and exit doors, we add all such sprites to lists
@@ -219,7 +223,7 @@ public class World {
 	 * @return
 	 */
 	public LevelScreen getScreenByID(final int id) {
-		LevelScreen s = worldScreens.get(id);
+		LevelScreen s = screenIndex.get(id);
 		if (s == null) throw new IllegalArgumentException("Id " + id + " refers to an invalid screen");
 		return s;
 	}
@@ -233,7 +237,7 @@ public class World {
 	 * @return
 	 * 		{@code true} if the screen exists, {@code false} if otherwise
 	 */
-	public boolean screenIdExists(final int id) { return (worldScreens.get(id) != null); }
+	public boolean screenIdExists(final int id) { return (screenIndex.get(id) != null); }
 	
 	/**
 	 * Take the currentScreen integer and uses it to resolve the actual LevelScreen object
@@ -280,9 +284,9 @@ public class World {
 	 */
 	public void collectedRedKey(Goodie goodie, SoundManager sound) {
 		assert goodie.getGoodieType() == Type.RED_KEY : "Cannot collect a red key of " + goodie + " as that isn't a red key";
-		assert this.redKeys.contains(goodie) : "Red Key " + goodie + " already collected: Logic Error";
+		assert this.redKeys.containsKey(packedLocation(goodie) ) : "Red Key " + goodie + " already collected: Logic Error";
 		
-		this.redKeys.remove(goodie);
+		this.redKeys.remove(packedLocation(goodie) );
 		if (this.redKeys.isEmpty() )  allRedKeysTaken(sound);
 	}
 	
@@ -296,9 +300,9 @@ public class World {
 	 */
 	public void collectedBlueKey(Goodie goodie, SoundManager sound) {
 		assert goodie.getGoodieType() == Type.BLUE_KEY : "Cannot collect a blue key of " + goodie + " as that isn't a blue key";
-		assert this.blueKeys.contains(goodie) : "Blue Key " + goodie + " already collected: Logic Error";
+		assert this.blueKeys.containsKey(packedLocation(goodie) ) : "Blue Key " + goodie + " already collected: Logic Error";
 		
-		this.blueKeys.remove(goodie);
+		this.blueKeys.remove(packedLocation(goodie) );
 		if (this.blueKeys.isEmpty() )  
 			{ allBlueKeysTaken(sound); }
 	}
@@ -382,6 +386,11 @@ public class World {
 		// no matter what, we are resetting this screen. Must do this first as restarting bonzo
 		// is an if-else mess of early returns.
 		resetCurrentScreen();
+		// Safety checks below look at sprites on screens in bonzos history, which must be in their reset positions.
+		// Dying is rare enough to just finish any transition work still waiting.
+		while (!(pendingResets.isEmpty() ) ) {
+			resetScreen(pendingResets.iterator().next() );
+		}
 		// If the current screen has valid ground landings, just use the cameFrom location
 		final LevelScreen currentScreen = getCurrentScreen();
 		ImmutablePoint2D ground = currentScreen.getBonzoLastOnGround();
@@ -545,12 +554,55 @@ public class World {
 	 * 
 	 */
 	private void resetCurrentScreen() {
-		final LevelScreen currentScreen = getCurrentScreen();
-		currentScreen.resetScreen();
+		resetScreen(getCurrentScreen() );
+	}
+	
+	/**
+	 * 
+	 * Resets the given screen and any goodies on it that need resetting. If the screen was waiting on a deferred
+	 * reset from a previous transition, it is no longer waiting.
+	 * 
+	 */
+	private void resetScreen(final LevelScreen screen) {
+		screen.resetScreen();
 		// reset goodies
-		for (GoodieLocationPair pair : goodiesPerScreen.get(currentScreen.getId() ) ) {
+		for (GoodieLocationPair pair : goodiesPerScreen.get(screen.getId() ) ) {
 			pair.goodie.resetIfApplicable();
 		}
+		pendingResets.remove(screen);
+	}
+	
+	/**
+	 * 
+	 * Does a small, bounded amount of screen transition work ahead of time. Intended to be called once per frame from
+	 * the render loop after the frame has been drawn, so that the work lands in spare frame time instead of in the
+	 * tick where bonzo crosses a screen edge.
+	 * <p/>
+	 * If bonzo is within {@code GameConstants.PREWARM_DISTANCE} of an edge and the screen past that edge is still
+	 * waiting to be reset from when he last left it, that screen is reset now so the transition itself only needs to
+	 * swap the current screen. Otherwise, at most one screen bonzo has already left is reset.
+	 * <p/>
+	 * Calling this is always optional; any screen still waiting on a reset is reset when it next becomes the current
+	 * screen.
+	 * 
+	 * @param bonzo
+	 * 		bonzo, to determine which edge (if any) he is approaching
+	 * 
+	 */
+	public void prewarmScreenTransition(Bonzo bonzo) {
+		if (pendingResets.isEmpty() )  return;
+		
+		ScreenDirection dir = ScreenDirection.fromLocation(bonzo.getCurrentLocation(), Bonzo.BONZO_SIZE, GameConstants.PREWARM_DISTANCE);
+		if (dir != ScreenDirection.CURRENT) {
+			LevelScreen next = screenIndex.get(dir.getNextScreenId(currentScreen) );
+			if (next != null && pendingResets.contains(next) ) {
+				resetScreen(next);
+				return;
+			}
+		}
+		
+		// Not approaching a screen that needs anything. Clear out the oldest screen still waiting instead.
+		resetScreen(pendingResets.iterator().next() );
 	}
 	
 	/**
@@ -594,6 +646,7 @@ public class World {
 		}
 		
 		this.worldScreens.put(screen.getId(), screen);
+		this.screenIndex.reindex();
 	}
 	
 	/**
@@ -607,6 +660,23 @@ public class World {
 	 */
 	public void addOrReplaceScreen(final LevelScreen screen) {
 		this.worldScreens.put(screen.getId(), screen);
+		this.screenIndex.reindex();
+	}
+	
+	/**
+	 * 
+	 * Adds or replaces many level screens at once, as per {@code addOrReplaceScreen}. Screen lookups are only rebuilt
+	 * once for the whole batch.
+	 * 
+	 * @param screens
+	 * 		new screens to add
+	 * 
+	 */
+	public void addOrReplaceScreens(final Collection<LevelScreen> screens) {
+		for (LevelScreen screen : screens) {
+			this.worldScreens.put(screen.getId(), screen);
+		}
+		this.screenIndex.reindex();
 	}
 	
 	/**
@@ -633,6 +703,7 @@ public class World {
 		}
 		
 		this.worldScreens.remove(screenId);
+		this.screenIndex.reindex();
 	}
 	
 	
@@ -658,7 +729,16 @@ public class World {
 	public boolean changeCurrentScreen(int screenId, Bonzo bonzo) {
 		if (screenIdExists(screenId) == false) return false;
 		else {
-			resetCurrentScreen();
+			// In game, resetting the screen being left is deferred to prewarmScreenTransition so the transition tick
+			// stays cheap. The level editor has no render loop to pick up the deferred work, so it resets immediately.
+			if (bonzo != null)  pendingResets.add(getCurrentScreen() );
+			else				resetCurrentScreen();
+			
+			// Transition was not prewarmed (or bonzo doubled back too quickly). Do the reset now, as it must be
+			// done before the screen becomes current again.
+			final LevelScreen newScreen = getScreenByID(screenId);
+			if (pendingResets.contains(newScreen) )  resetScreen(newScreen);
+			
 			this.currentScreen = screenId;
 			if (bonzo != null)  bonzo.changeScreen(screenId);
 			return true;
@@ -734,24 +814,28 @@ public class World {
 		int topLeftY = (currentLocation.y() + (GameConstants.GOODIE_SIZE_Y / 2) )/ GameConstants.GOODIE_SIZE_Y;
 		
 		// Top-left, Top-Right, Bottom-Left, Bottom-Right
-		WorldCoordinate[] goodieQuads = new WorldCoordinate[] {
-			new WorldCoordinate(currentScreen, topLeftX, topLeftY),
-			new WorldCoordinate(currentScreen, topLeftX + 1, topLeftY),
-			new WorldCoordinate(currentScreen, topLeftX, topLeftY + 1),
-			new WorldCoordinate(currentScreen, topLeftX + 1, topLeftY + 1)
-		};
 		// Add to the total number of goodies the player has collected, provided the goodie actually grants non-zero
 		// score.
-		for (WorldCoordinate quad : goodieQuads) {
-			Goodie gotGoodie;
-			if ( (gotGoodie = goodiesInWorld.get(quad) ) != null ) {
-				if (gotGoodie.take(theBonzo, this, sound) ) {
-					if (gotGoodie.getGoodieType().score > 0)  ++goodiesCollected;
-				}
+		takeGoodieAt(WorldCoordinate.pack(currentScreen, topLeftX, topLeftY), theBonzo, sound);
+		takeGoodieAt(WorldCoordinate.pack(currentScreen, topLeftX + 1, topLeftY), theBonzo, sound);
+		takeGoodieAt(WorldCoordinate.pack(currentScreen, topLeftX, topLeftY + 1), theBonzo, sound);
+		takeGoodieAt(WorldCoordinate.pack(currentScreen, topLeftX + 1, topLeftY + 1), theBonzo, sound);
+	}
+	
+	private void takeGoodieAt(long packedCoordinate, Bonzo theBonzo, SoundManager sound) {
+		Goodie gotGoodie;
+		if ( (gotGoodie = goodiesByPackedCoordinate.get(packedCoordinate) ) != null ) {
+			if (gotGoodie.take(theBonzo, this, sound) ) {
+				if (gotGoodie.getGoodieType().score > 0)  ++goodiesCollected;
 			}
 		}
 	}
 	
+	// Key sets are keyed by where the key is, which identifies it as well as the goodie itself but hashes far cheaper.
+	private static long packedLocation(Goodie goodie) {
+		return WorldCoordinate.pack(goodie.getScreenID(), goodie.getLocation().x(), goodie.getLocation().y() );
+	}
+	
 	public int getGoodiesCollected() {
 		return goodiesCollected;
 	}
@@ -763,6 +847,11 @@ public class World {
 	private void hazardCollisionCheck(Bonzo bonzo, SoundManager sound) {
 		ImmutablePoint2D[] tilesToCheck = effectiveTilesCollision(bonzo.getCurrentBounds() );
 		final TileMap map = getCurrentScreen().getMap();
+		// Bonzo is rarely touching a hazard. The four tiles form a square, so one bitboard check usually ends it here.
+		final ImmutablePoint2D topLeft = tilesToCheck[0];
+		final ImmutablePoint2D bottomRight = tilesToCheck[3];
+		if (!(map.anyCells(TileMap.Cells.HAZARD, topLeft.y(), topLeft.x(), bottomRight.y(), bottomRight.x() ) ) )  return;
+		
 		for (ImmutablePoint2D tile : tilesToCheck) {
 			TileType type = map.getTileXY(tile.x(), tile.y() );
 			if (type instanceof HazardTile) {
@@ -871,6 +960,7 @@ public class World {
 		removeGoodie(screenId, row, col);
 		Goodie newGoodie = Goodie.newGoodie(type, ImmutablePoint2D.of(row, col), screenId);
 		goodiesInWorld.put(coordinate, newGoodie);
+		goodiesByPackedCoordinate.put(coordinate.packed(), newGoodie);
 		goodiesPerScreen.put(screenId, new GoodieLocationPair(newGoodie, coordinate) );
 	}
 	
@@ -888,6 +978,7 @@ public class World {
 		WorldCoordinate coordinate = new WorldCoordinate(screenId, row, col);
 		if (goodiesInWorld.get(coordinate) != null) {
 			goodiesInWorld.remove(coordinate);
+			goodiesByPackedCoordinate.remove(coordinate.packed() );
 			// We still have this goodie lurking somewhere in the other structure. Remove it there too.
 			Collection<GoodieLocationPair> screenGoodies = goodiesPerScreen.get(screenId);
 			for (Iterator<GoodieLocationPair> pairIt = screenGoodies.iterator(); pairIt.hasNext(); /* No op */ ) {
@@ -1046,10 +1137,11 @@ public class World {
 	public void fixPlaceholders() throws WorldTranslationException {
 		for (LevelScreen lvl : worldScreens.values() ) {
 			TileMap tileMap = lvl.getMap();
-			// We iterate and assign internally because this is such a specific case that it isn't relevant to
-			// be part of TileMap API
+			// We iterate internally because this is such a specific case that it isn't relevant to
+			// be part of TileMap API. Replacements still go through setTileRowCol to keep the collision boards right.
 			TileType[] map = tileMap.internalMap();
-			final int size = tileMap.getRowCount() * tileMap.getColumnCount();
+			final int cols = tileMap.getColumnCount();
+			final int size = tileMap.getRowCount() * cols;
 			for (int i = 0; i < size; ++i) {
 				if (map[i] instanceof PlaceholderTile) {
 					int metadata = ((PlaceholderTile)map[i]).getMetaId();
@@ -1059,7 +1151,7 @@ public class World {
 						if (metadata >= this.hazards.size() ) {
 							throw new WorldTranslationException(TranslationFailure.TRANSLATOR_SPECIFIC, "Not enough hazards defined in resource pack. Must have at least " + (metadata + 1) );
 						}
-						map[i] = HazardTile.forHazard(this.hazards.get(metadata) );
+						tileMap.setTileRowCol(i / cols, i % cols, HazardTile.forHazard(this.hazards.get(metadata) ) );
 						break;
 					case CONVEYER_ANTI_CLOCKWISE:
 					{
@@ -1067,7 +1159,7 @@ public class World {
 						if (index >= this.conveyers.size() ) {
 							throw new WorldTranslationException(TranslationFailure.TRANSLATOR_SPECIFIC, "Not enough unique conveyers defined in resource pack. Must have at least " + (metadata + 1) );
 						}
-						map[i] = new ConveyerTile(this.conveyers.get(index) );
+						tileMap.setTileRowCol(i / cols, i % cols, new ConveyerTile(this.conveyers.get(index) ) );
 						break;
 					}
 					case CONVEYER_CLOCKWISE: 
@@ -1076,7 +1168,7 @@ public class World {
 						if (index >= this.conveyers.size() ) {
 							throw new WorldTranslationException(TranslationFailure.TRANSLATOR_SPECIFIC, "Not enough unique conveyers defined in resource pack. Must have at least " + (metadata + 1) );
 						}
-						map[i] = new ConveyerTile(this.conveyers.get(index) );
+						tileMap.setTileRowCol(i / cols, i % cols, new ConveyerTile(this.conveyers.get(index) ) );
 						break;
 					}
 					default:
@@ -1113,6 +1205,9 @@ public class World {
 	private final String worldName;
 
 	private final Map<WorldCoordinate, Goodie> goodiesInWorld;
+	// Same goodies as above keyed by packed coordinate, so the per tick collision checks need not create coordinate
+	// objects. Kept in step with goodiesInWorld.
+	private final LongObjectHashMap<Goodie> goodiesByPackedCoordinate;
 	private int goodiesCollected;
 	
 	// Holds a list of all goodies on a particlar screen Id. During screen reset, relevant goodies may
@@ -1127,12 +1222,14 @@ public class World {
 	// NOTE: If the editor adds keys, this goes out of sync. IT DOESN'T MATTER. When the level is saved
 	// and reloaded, this object is re-initialised for gameplay with the right values and keys can't be
 	// added during gameplay.
-	private final Set<Goodie> redKeys;
-	private final Set<Goodie> blueKeys;
+	private final LongObjectHashMap<Goodie> redKeys;
+	private final LongObjectHashMap<Goodie> blueKeys;
 	
 	// Screens: Hashmap. That way, when moving across screens, take the levelid and add/subtract a value, check it in hash,
 	// and quickly get the screen we need. It is fast and I believe the designers of the original did the same thing.
 	private final Map<Integer, LevelScreen> worldScreens;
+	// Dense lookup over worldScreens, for the many screen queries made each tick. Reindexed whenever the map changes.
+	private final ScreenIndex screenIndex;
 	
 	// Each hazard tile references the hazard it needs, but the hazards themselves are part of the world.
 	// Typically, a world includes hazard ids for dynamite, bombs, lightbulbs, and sometimes lava, although
@@ -1151,6 +1248,11 @@ public class World {
 	
 	private int currentScreen;
 	
+	// Screens bonzo has left during gameplay that still need to be reset. Resetting a screen bonzo is not on has no
+	// visible effect, so it is done in spare frame time via prewarmScreenTransition, or at the latest when the screen
+	// becomes current again. Insertion ordered so the oldest waiting screen is reset first.
+	private final Set<LevelScreen> pendingResets = new LinkedHashSet<>();
+	
 	// This is defaults to either 10000 or from the save file. It is up to the level editor
 	// to set this. However, it should do so automatically on every save.
 	// Effectively final for game, mutable for level editor
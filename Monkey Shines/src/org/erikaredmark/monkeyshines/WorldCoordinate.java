@@ -38,6 +38,40 @@ public final class WorldCoordinate {
 	public int getRow() { return row; }
 	public int getCol() { return col; }
 	
+	/**
+	 * 
+	 * Packs a coordinate into a single {@code long}, for lookups that should not allocate a coordinate object. Two
+	 * coordinates are equal if and only if their packed forms are equal, provided row and column are each within
+	 * the range of a {@code short}, which any tile position and any point near the edge of a screen are.
+	 * <p/>
+	 * The level id takes the upper 32 bits, the row the next 16, and the column the lowest 16.
+	 * 
+	 * @param levelId
+	 * 		id of level screen
+	 * 
+	 * @param row
+	 * 		row of tile map (first array)
+	 * 
+	 * @param col
+	 * 		col of tile map (second array)
+	 * 
+	 * @return
+	 * 		packed form of the coordinate
+	 * 
+	 */
+	public static long pack(final int levelId, final int row, final int col) {
+		return ((long) levelId << 32) | ((row & 0xFFFFL) << 16) | (col & 0xFFFFL);
+	}
+	
+	/**
+	 * 
+	 * Returns this coordinate packed into a {@code long}, as with {@code pack(int, int, int)}
+	 * 
+	 */
+	public long packed() {
+		return pack(levelId, row, col);
+	}
+	
 	/**
 	 * 
 	 * Intended ONLY for {@code EncodedWorld} and storing/saving of the file format
@@ -20,6 +20,9 @@ import org.newdawn.slick.Image;
  * The main purpose is simply to encapsulate an animation state machine. All rendering takes place in addition to any other
  * rendering the system chooses to make. For example, it is still the responsibility of the client to render the actual world
  * with bonzo on it; this renders the circle and get-ready text only.
+ * <p/>
+ * One instance can be reused for every grace period of a game with {@code restart}. Painting mutates a colour owned by this
+ * object rather than creating a new one each frame.
  * 
  * @author Erika Redmark
  *
@@ -49,8 +52,8 @@ public final class GracePeriodAnimation {
 	 */
 	public GracePeriodAnimation(Bonzo bonzo, SlickWorldGraphics slickGraphics, int frames, int xOffset, int yOffset) {
 		// final, constant parameters basic on data
-		centerX = (bonzo.getCurrentLocation().x() + 20) + xOffset;
-		centerY = (bonzo.getCurrentLocation().y() + 20) + yOffset;
+		this.xOffset = xOffset;
+		this.yOffset = yOffset;
 		maxRadius = 300;
 		minRadius = 30;
 		radiusStep = ((double)(maxRadius - minRadius)) / (double)frames;
@@ -67,6 +70,21 @@ public final class GracePeriodAnimation {
 		getReadyY2 = getReadyY + getReady.getHeight();
 		
 		// Mutable state data initialisation
+		restart(bonzo);
+	}
+	
+	/**
+	 * 
+	 * Starts the animation over from the first frame, centred on bonzo's current location. Sizes, timing and offsets stay
+	 * as they were constructed.
+	 * 
+	 * @param bonzo
+	 * 		reference to bonzo. Only his current location is used
+	 * 
+	 */
+	public void restart(Bonzo bonzo) {
+		centerX = (bonzo.getCurrentLocation().x() + 20) + xOffset;
+		centerY = (bonzo.getCurrentLocation().y() + 20) + yOffset;
 		currentRadius = maxRadius;
 		currentOpacity = opacityInitial;
 	}
@@ -90,8 +108,9 @@ public final class GracePeriodAnimation {
 		// Animation: Start circle at low opacity from center of bonzo, at a good radius, then decrease radius and increase opacity
 		// at rates such that by 'ms' time, circle if fully opaque and surrounds Bonzo directly.
 		g.setLineWidth(5);
-		Color magentaWithTrans = new Color(Color.magenta.r, Color.magenta.g, Color.magenta.b, currentOpacity);
-		g.setColor(magentaWithTrans);
+		// Clamped the same way Slick's float constructor for Color does.
+		circleColor.a = Math.min(currentOpacity, 1f);
+		g.setColor(circleColor);
 		
 		g.drawImage(getReady, 
 					getReadyX, getReadyY, 
@@ -128,8 +147,8 @@ public final class GracePeriodAnimation {
 	}
 	
 	// Immutable data
-	final int centerX;
-	final int centerY;
+	final int xOffset;
+	final int yOffset;
 	final int maxRadius;
 	final int minRadius;
 	final double radiusStep;
@@ -144,7 +163,12 @@ public final class GracePeriodAnimation {
 	final int getReadyY2;
 	final Image getReady;
 	
+	// Alpha is updated on every paint
+	final Color circleColor = new Color(Color.magenta);
+	
 	// State data
+	int centerX;
+	int centerY;
 	double currentRadius;
 	float currentOpacity;
 	
@@ -760,10 +760,6 @@ public final class LevelDrawingCanvas extends JPanel implements MouseListener, M
 											  editor.mousePosition.x() / GameConstants.TILE_SIZE_X, 
 											  0, 
 											  0);
-				
-				// reclaculate the entire tilemap
-				WorldResource rsrc = editor.currentMapEditor.getWorld().getResource();
-				map.updateDrawInformation(rsrc);
 			}
 
 			@Override public void defaultDragAction(LevelDrawingCanvas editor) { 
@@ -11,10 +11,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -29,11 +30,14 @@ import javax.swing.JMenu;
 import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
+import javax.swing.JProgressBar;
+import javax.swing.SwingWorker;
 
 import org.erikaredmark.monkeyshines.*;
 import org.erikaredmark.monkeyshines.editor.LevelDrawingCanvas.EditorState;
 import org.erikaredmark.monkeyshines.editor.dialog.CopyPasteDialog;
 import org.erikaredmark.monkeyshines.editor.dialog.CopyPasteDialog.CopyPasteConfiguration;
+import org.erikaredmark.monkeyshines.editor.dialog.CopyPasteDialog.Operation;
 import org.erikaredmark.monkeyshines.editor.dialog.GoToScreenDialog;
 import org.erikaredmark.monkeyshines.editor.dialog.ImportWorldDialog;
 import org.erikaredmark.monkeyshines.editor.dialog.NewWorldDialog;
@@ -91,26 +95,10 @@ public class LevelEditor extends JFrame {
 		brushPaletteFrame.setVisible(true);
 		brushPaletteFrame.repaint();
 		
-		// Load templates for the given world. TODO for now we ignore issues
-		List<Template> worldTemplates = Collections.emptyList();
 		final Path editorPreferencesLocation = BinaryLocation.BINARY_LOCATION.getParent().resolve("editor_prefs.xml");
-		if (Files.exists(editorPreferencesLocation) ) {
-			try (InputStream is = Files.newInputStream(editorPreferencesLocation) ) {
-				worldTemplates = 
-					TemplateXmlReader.read(
-						is, 
-						world, 
-						t -> {});
-			} catch (IOException | BadEditorPersistantFormatException e) {
-				LOGGER.log(Level.WARNING,
-						   "Could not open editor preferences (editor will have default preferences and no templates loaded: ",
-						   e);
-		}
-		}
-		
 		templatePalette = new TemplatePalette(
 			currentWorld, 
-			worldTemplates,
+			Collections.<Template>emptyList(),
 			world,
 			newTemplates -> {
 				try {
@@ -123,6 +111,21 @@ public class LevelEditor extends JFrame {
 				}
 			});
 		
+		// Load templates for the given world. Each is added to the palette as it is read. TODO for now we ignore issues
+		if (Files.exists(editorPreferencesLocation) ) {
+			try (InputStream is = Files.newInputStream(editorPreferencesLocation) ) {
+				TemplateXmlReader.read(
+					is, 
+					world, 
+					templatePalette::loadTemplate,
+					t -> {});
+			} catch (IOException | BadEditorPersistantFormatException e) {
+				LOGGER.log(Level.WARNING,
+						   "Could not open editor preferences (editor will have default preferences and no templates loaded: ",
+						   e);
+			}
+		}
+		
 		templatePaletteFrame.add(templatePalette, BorderLayout.CENTER);
 		templatePaletteFrame.setVisible(true);
 		templatePaletteFrame.repaint();
@@ -326,8 +329,87 @@ public class LevelEditor extends JFrame {
 	
 	public void actionCopyPasteLevel() {
 		CopyPasteConfiguration config = CopyPasteDialog.launch(currentWorld.getVisibleScreenEditor().getId(), currentWorld.getWorldEditor().getWorld() );
-		if (config != null) {
-			currentWorld.getWorldEditor().copyAndPasteLevel(config.copyFromId, config.copyToId);
+		if (config == null)  return;
+		
+		WorldEditor worldEditor = currentWorld.getWorldEditor();
+		if (config.operation == Operation.COPY && config.across == 1 && config.down == 1) {
+			worldEditor.copyAndPasteLevel(config.copyFromId, config.copyToId);
+			refreshVisibleScreen(config.targets() );
+			return;
+		}
+		
+		WorldEditor.BatchEdit edit;
+		switch (config.operation) {
+		case COPY:
+			edit = worldEditor.batchCopyAndPasteLevels(config.targetsToSources() );
+			break;
+		case COPY_BACKGROUND:
+			edit = worldEditor.batchCopyBackgrounds(config.targetsToSources() );
+			break;
+		case CLEAR:
+			edit = worldEditor.batchClearLevels(config.targets() );
+			break;
+		default:
+			throw new RuntimeException("method not updated to handle new operation " + config.operation);
+		}
+		
+		performBatchEdit(edit, config.targets() );
+	}
+	
+	/**
+	 * 
+	 * Prepares the given edit on a background thread, then applies it and shows any changes to the visible screen. A
+	 * modal progress dialog is shown meanwhile, so the editor keeps painting but the world cannot be edited until the
+	 * edit is applied.
+	 * 
+	 */
+	private void performBatchEdit(final WorldEditor.BatchEdit edit, final Collection<Integer> targets) {
+		final JDialog progress = new JDialog(this, "Please Wait", true);
+		progress.setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
+		JProgressBar bar = new JProgressBar();
+		bar.setIndeterminate(true);
+		bar.setString("Updating " + targets.size() + " screens...");
+		bar.setStringPainted(true);
+		progress.add(bar);
+		progress.pack();
+		progress.setLocationRelativeTo(this);
+		
+		new SwingWorker<Void, Void>() {
+			@Override protected Void doInBackground() {
+				edit.prepare();
+				return null;
+			}
+			
+			@Override protected void done() {
+				progress.dispose();
+				try {
+					get();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				} catch (ExecutionException e) {
+					LOGGER.log(Level.SEVERE, CLASS_NAME + ": Could not update screens", e.getCause() );
+					JOptionPane.showMessageDialog(LevelEditor.this,
+					    "Could not update screens: " + e.getCause().getMessage(),
+					    "Update Failed",
+					    JOptionPane.ERROR_MESSAGE);
+					return;
+				}
+				
+				edit.apply();
+				refreshVisibleScreen(targets);
+			}
+		}.execute();
+		
+		// Modal; handles events, including the worker finishing, until disposed.
+		progress.setVisible(true);
+	}
+	
+	// The screen being edited may have just been replaced; show the new one.
+	private void refreshVisibleScreen(Collection<Integer> changedIds) {
+		int visibleId = currentWorld.getVisibleScreenEditor().getId();
+		if (changedIds.contains(visibleId) ) {
+			currentWorld.actionChangeScreen(visibleId);
 		}
 	}
 	
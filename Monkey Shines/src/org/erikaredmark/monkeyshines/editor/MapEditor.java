@@ -326,21 +326,18 @@ public final class MapEditor extends JPanel {
 			@Override public void onClick(int pixelX, int pixelY, int id, World world, TileMap map) {
 				CommonTile tile = TileTypes.solidFromId(id);
 				map.setTileXY(pixelX / GameConstants.TILE_SIZE_X, pixelY / GameConstants.TILE_SIZE_Y, tile);
-				tile.recomputeDrawStateAwt(world.getResource().getAwtGraphics());
 			}
 		}, 
 		THRUS {
 			@Override public void onClick(int pixelX, int pixelY, int id, World world, TileMap map) {
 				CommonTile tile = TileTypes.thruFromId(id);
 				map.setTileXY(pixelX / GameConstants.TILE_SIZE_X, pixelY / GameConstants.TILE_SIZE_Y, tile);
-				tile.recomputeDrawStateAwt(world.getResource().getAwtGraphics());
 			}
 		},
 		SCENES {
 			@Override public void onClick(int pixelX, int pixelY, int id, World world, TileMap map) {
 				CommonTile tile = TileTypes.sceneFromId(id);
 				map.setTileXY(pixelX / GameConstants.TILE_SIZE_X, pixelY / GameConstants.TILE_SIZE_Y, tile);
-				tile.recomputeDrawStateAwt(world.getResource().getAwtGraphics());
 			}
 		},
 		HAZARDS {
@@ -199,7 +199,7 @@ public final class TemplatePalette extends JPanel {
 	}
 	
 	private JButton createTemplateButton(final Template template) {
-		
+		// Renders are cached, so rebuilding the palette or replacing a template with an edited one only paints what is new.
 		JButton templateButton = new JButton(new ImageIcon(TemplateUtils.renderTemplate(template, world.getResource()) ) );
 		MenuUtils.renderImageOnly(templateButton);
 		MenuUtils.removeMargins(templateButton);
@@ -253,6 +253,22 @@ public final class TemplatePalette extends JPanel {
 		return true;
 	}
 	
+	/**
+	 * 
+	 * Adds a template to the end of the palette as if it had been part of the initial list. This allows a palette to be
+	 * created empty and filled as templates are read from a save file, instead of waiting for the whole file first.
+	 * <p/>
+	 * Components are not re-laid out; this is intended to be called before the palette is displayed. Duplicates are
+	 * ignored.
+	 * 
+	 * @param template
+	 * 		template to add
+	 * 
+	 */
+	public void loadTemplate(Template template) {
+		addTemplate(template, false);
+	}
+	
 	/**
 	 * 
 	 * Removes the given template from the palette.
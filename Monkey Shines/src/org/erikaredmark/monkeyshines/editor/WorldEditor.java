@@ -1,5 +1,8 @@
 package org.erikaredmark.monkeyshines.editor;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -10,7 +13,9 @@ import org.erikaredmark.monkeyshines.Hazard;
 import org.erikaredmark.monkeyshines.ImmutablePoint2D;
 import org.erikaredmark.monkeyshines.LevelScreen;
 import org.erikaredmark.monkeyshines.World;
+import org.erikaredmark.monkeyshines.World.GoodieLocationPair;
 import org.erikaredmark.monkeyshines.WorldCoordinate;
+import org.erikaredmark.monkeyshines.background.Background;
 import org.erikaredmark.monkeyshines.encoder.EncodedWorld;
 import org.erikaredmark.monkeyshines.resource.WorldResource;
 import org.erikaredmark.monkeyshines.sprite.Monster;
@@ -152,6 +157,160 @@ public final class WorldEditor {
 		levelScreenEditors.put(newScreen.getId(), LevelScreenEditor.from(newScreen) );
 		
 	}
+	
+	/**
+	 * 
+	 * A change to many levels at once, split so that the slow part can be done away from the event dispatch thread
+	 * and the editor kept responsive meanwhile.
+	 * <p/>
+	 * {@code prepare} is called first, exactly once, on any thread. It only reads levels the editor is not animating,
+	 * and the world must not be edited until {@code apply} has been called. {@code apply} then changes the world and
+	 * must be called on the event dispatch thread. Nothing in the world changes until it is.
+	 * 
+	 */
+	public interface BatchEdit {
+		void prepare();
+		void apply();
+	}
+	
+	/**
+	 * 
+	 * Copies many levels at once, overwriting any existing levels at the targets. Every copy is made from the world as it
+	 * was when this method was called, so a level may be both copied from and copied over.
+	 * 
+	 * @param copyToFrom
+	 * 		mapping of each target level id to the id of the level copied into it
+	 * 
+	 * @return
+	 * 		the copy, to be prepared and applied
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		if any level to copy from does not exist
+	 * 
+	 */
+	public BatchEdit batchCopyAndPasteLevels(final Map<Integer, Integer> copyToFrom) {
+		// Sources and their goodies are resolved here, so the world itself is never read from another thread. The
+		// editor animates the current screen as it paints, so that one is copied here as well, and the copies are
+		// then made from that snapshot instead.
+		final Map<Integer, LevelScreen> sources = new HashMap<>();
+		final Map<Integer, List<GoodieLocationPair>> sourceGoodies = new HashMap<>();
+		LevelScreen currentSnapshot = null;
+		for (Map.Entry<Integer, Integer> copy : copyToFrom.entrySet() ) {
+			int copyFromId = copy.getValue();
+			if (!(screenExists(copyFromId) ) ) {
+				throw new IllegalArgumentException("Screen id " + copyFromId + " does not exist for copy/paste");
+			}
+			
+			LevelScreen source = world.getScreenByID(copyFromId);
+			if (copyFromId == world.getCurrentScreenId() ) {
+				if (currentSnapshot == null) {
+					currentSnapshot = LevelScreen.copyAll(Collections.singletonMap(copyFromId, source) ).get(0);
+				}
+				source = currentSnapshot;
+			}
+			
+			sources.put(copy.getKey(), source);
+			sourceGoodies.put(copy.getKey(), new ArrayList<>(world.getGoodiesForLevel(copyFromId) ) );
+		}
+		
+		return new BatchEdit() {
+			private List<LevelScreen> newScreens;
+			
+			@Override public void prepare() {
+				newScreens = LevelScreen.copyAll(sources);
+			}
+			
+			@Override public void apply() {
+				world.addOrReplaceScreens(newScreens);
+				
+				for (Map.Entry<Integer, List<GoodieLocationPair>> goodies : sourceGoodies.entrySet() ) {
+					for (GoodieLocationPair pair : goodies.getValue() ) {
+						WorldCoordinate loc = pair.location;
+						world.addGoodie(goodies.getKey(), loc.getRow(), loc.getCol(), pair.goodie.getGoodieType() );
+					}
+				}
+				
+				for (LevelScreen newScreen : newScreens) {
+					levelScreenEditors.put(newScreen.getId(), LevelScreenEditor.from(newScreen) );
+				}
+			}
+		};
+	}
+	
+	/**
+	 * 
+	 * Gives each target level the background of the level it is mapped to. Target levels that do not exist are skipped.
+	 * 
+	 * @param copyToFrom
+	 * 		mapping of each target level id to the id of the level whose background it should take
+	 * 
+	 * @return
+	 * 		the change, to be prepared and applied
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		if any level to copy from does not exist
+	 * 
+	 */
+	public BatchEdit batchCopyBackgrounds(Map<Integer, Integer> copyToFrom) {
+		// Read every source before writing any target, so a level may be both. Backgrounds are immutable and cheap to
+		// read, so there is nothing to prepare.
+		final Map<Integer, Background> backgrounds = new HashMap<>();
+		for (Map.Entry<Integer, Integer> copy : copyToFrom.entrySet() ) {
+			backgrounds.put(copy.getKey(), world.getScreenByID(copy.getValue() ).getBackground() );
+		}
+		
+		return new BatchEdit() {
+			@Override public void prepare() { }
+			
+			@Override public void apply() {
+				for (Map.Entry<Integer, Background> background : backgrounds.entrySet() ) {
+					if (screenExists(background.getKey() ) ) {
+						world.getScreenByID(background.getKey() ).setBackground(background.getValue() );
+					}
+				}
+			}
+		};
+	}
+	
+	/**
+	 * 
+	 * Replaces each of the given levels with a new, empty level, removing their goodies as well. Levels that do not exist
+	 * are skipped.
+	 * 
+	 * @param screenIds
+	 * 		ids of the levels to clear
+	 * 
+	 * @return
+	 * 		the change, to be prepared and applied
+	 * 
+	 */
+	public BatchEdit batchClearLevels(Collection<Integer> screenIds) {
+		final List<Integer> existingIds = new ArrayList<>(screenIds.size() );
+		for (int id : screenIds) {
+			if (world.screenIdExists(id) )  existingIds.add(id);
+		}
+		
+		return new BatchEdit() {
+			private final List<LevelScreen> newScreens = new ArrayList<>(existingIds.size() );
+			
+			@Override public void prepare() {
+				for (int id : existingIds) {
+					newScreens.add(LevelScreen.newScreen(id, rsrc) );
+				}
+			}
+			
+			@Override public void apply() {
+				world.addOrReplaceScreens(newScreens);
+				
+				for (LevelScreen newScreen : newScreens) {
+					for (GoodieLocationPair pair : new ArrayList<>(world.getGoodiesForLevel(newScreen.getId() ) ) ) {
+						world.removeGoodie(newScreen.getId(), pair.location.getRow(), pair.location.getCol() );
+					}
+					levelScreenEditors.put(newScreen.getId(), LevelScreenEditor.from(newScreen) );
+				}
+			}
+		};
+	}
 
 	/**
 	 * Forwarding call to {@link World#addGoodie(int, int, int, int) }													
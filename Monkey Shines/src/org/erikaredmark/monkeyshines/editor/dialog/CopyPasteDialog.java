@@ -2,19 +2,30 @@ package org.erikaredmark.monkeyshines.editor.dialog;
 
 import java.awt.FlowLayout;
 import java.awt.event.ActionEvent;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import javax.swing.AbstractAction;
 import javax.swing.JButton;
 import javax.swing.JDialog;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
+import javax.swing.JSpinner;
+import javax.swing.SpinnerNumberModel;
 
+import org.erikaredmark.monkeyshines.ScreenDirection;
 import org.erikaredmark.monkeyshines.World;
 
 /**
  * 
  * Allows the user to select two screens; one that exists, and one that may or may not exist, and copy
  * the contents of the first screen to that of the second screen.
+ * <p/>
+ * A block of several screens across and down may be chosen instead of a single screen, with the selected screens as the
+ * top left corners. The block may be copied whole, have only its backgrounds copied, or (using only the target block)
+ * be cleared.
  * 
  * @author Erika Redmark
  *
@@ -24,6 +35,8 @@ public final class CopyPasteDialog extends JDialog {
 
 	private final SelectScreenPanel copyFromScreen;
 	private final SelectScreenPanel copyToScreen;
+	private final JSpinner acrossSpinner;
+	private final JSpinner downSpinner;
 	private final World world;
 	private CopyPasteConfiguration copyPasteConfiguration;
 	
@@ -37,12 +50,37 @@ public final class CopyPasteDialog extends JDialog {
 		getContentPane().add(copyFromScreen);
 		getContentPane().add(copyToScreen);
 		
+		// --------- Block size; selected screens are the top left of each block
+		acrossSpinner = new JSpinner(new SpinnerNumberModel(1, 1, MAX_BLOCK_SIZE, 1) );
+		downSpinner = new JSpinner(new SpinnerNumberModel(1, 1, MAX_BLOCK_SIZE, 1) );
+		add(new JLabel("Screens across:") );
+		add(acrossSpinner);
+		add(new JLabel("Screens down:") );
+		add(downSpinner);
 		
-		// --------- Okay and Cancel buttons
-		JButton okay = new JButton(new AbstractAction("Okay") {
+		// --------- Operation and Cancel buttons
+		JButton copy = new JButton(new AbstractAction("Copy") {
 			private static final long serialVersionUID = 1L;
 			@Override public void actionPerformed(ActionEvent e) {
-				if (askAndPerformCopy() ) {
+				if (askAndPerform(Operation.COPY) ) {
+					setVisible(false);
+				}
+			}
+		});
+		
+		JButton copyBackground = new JButton(new AbstractAction("Copy Background") {
+			private static final long serialVersionUID = 1L;
+			@Override public void actionPerformed(ActionEvent e) {
+				if (askAndPerform(Operation.COPY_BACKGROUND) ) {
+					setVisible(false);
+				}
+			}
+		});
+		
+		JButton clear = new JButton(new AbstractAction("Clear Right") {
+			private static final long serialVersionUID = 1L;
+			@Override public void actionPerformed(ActionEvent e) {
+				if (askAndPerform(Operation.CLEAR) ) {
 					setVisible(false);
 				}
 			}
@@ -55,42 +93,73 @@ public final class CopyPasteDialog extends JDialog {
 			}
 		});
 		
-		add(okay);
+		add(copy);
+		add(copyBackground);
+		add(clear);
 		add(cancel);
 	}
 	
 	/**
 	 * 
-	 * Alerts the user that the source screen will be copied to the target screen, and prompts 'are you sure', as
-	 * this operation will remove the screen if it already exists.
+	 * Alerts the user what the operation will do to the target screens, and prompts 'are you sure', as
+	 * this operation will remove the contents of screens that already exist.
 	 * 
 	 */
-	private boolean askAndPerformCopy() {
+	private boolean askAndPerform(Operation operation) {
 		int copyFromId = copyFromScreen.getSelectedScreenId();
 		int copyToId = copyToScreen.getSelectedScreenId();
-		if (copyFromId == copyToId) {
-			JOptionPane.showMessageDialog(this, "A screen cannot be copied into itself");
-			return false;
+		int across = (Integer) acrossSpinner.getValue();
+		int down = (Integer) downSpinner.getValue();
+		CopyPasteConfiguration config = new CopyPasteConfiguration(operation, copyFromId, copyToId, across, down);
+		
+		String message;
+		if (operation == Operation.CLEAR) {
+			message = "You are about to clear " + describeBlock(copyToId, across, down) + ". All tiles, sprites and goodies will be removed.";
+		} else {
+			if (copyFromId == copyToId) {
+				JOptionPane.showMessageDialog(this, "A screen cannot be copied into itself");
+				return false;
+			}
+			
+			for (int fromId : config.targetsToSources().values() ) {
+				if (!(world.screenIdExists(fromId) ) ) {
+					JOptionPane.showMessageDialog(this, "Screen " + fromId + " does not exist and cannot be copied from");
+					return false;
+				}
+			}
+			
+			boolean overwrites = false;
+			for (int toId : config.targets() ) {
+				overwrites |= world.screenIdExists(toId);
+			}
+			
+			message =
+				  "You are about to copy the " 
+				+ (operation == Operation.COPY_BACKGROUND ? "background of " : "contents of ")
+				+ describeBlock(copyFromId, across, down)
+				+ " to "
+				+ describeBlock(copyToId, across, down)
+				+ ". "
+				+ (   overwrites && operation == Operation.COPY
+					? System.lineSeparator() + "This will overwrite the current contents of existing screens"
+					: "");
 		}
 		
-		int result = JOptionPane.showConfirmDialog(
-			this, 
-			  "You are about to copy the contents of screen " 
-			+ copyFromId
-			+ " to "
-			+ copyToId
-			+ ". "
-			+ (   world.screenIdExists(copyToId)
-				? System.lineSeparator() + "This will overwrite the current contents of screen " + copyToId
-				: "") );
+		int result = JOptionPane.showConfirmDialog(this, message);
 		
 		if (result == JOptionPane.YES_OPTION) {
-			this.copyPasteConfiguration = new CopyPasteConfiguration(copyFromId, copyToId);
+			this.copyPasteConfiguration = config;
 			return true;
 		} else {
 			return false;
 		}
 	}
+	
+	private static String describeBlock(int cornerId, int across, int down) {
+		return   across == 1 && down == 1
+			   ? "screen " + cornerId
+			   : "the " + across + "x" + down + " screens from " + cornerId;
+	}
 
 	
 	/**
@@ -106,13 +175,13 @@ public final class CopyPasteDialog extends JDialog {
 	 * 		the current world. Used to show a thumbnail of the current screen
 	 * 
 	 * @return
-	 * 		a defintion of which screen is to be copied from, and where it should copy to, or {@code null} if a copy
+	 * 		a defintion of which screens are to be copied from, and where they should copy to, or {@code null} if a copy
 	 * 		operation was decided against
 	 * 
 	 */
 	public static CopyPasteConfiguration launch(int currentId, World world) {
 		CopyPasteDialog dialog = new CopyPasteDialog(currentId, world);
-		dialog.setSize(580, 200);
+		dialog.setSize(580, 240);
 		dialog.setModal(true);
 		dialog.setLocationRelativeTo(null);
 		dialog.setVisible(true);
@@ -120,14 +189,70 @@ public final class CopyPasteDialog extends JDialog {
 		return dialog.copyPasteConfiguration;
 	}
 	
+	/**
+	 * 
+	 * What should be done with the screens selected in the dialog
+	 * 
+	 */
+	public enum Operation {
+		/** Copy everything from the left block to the right block			*/
+		COPY,
+		/** Give each screen in the right block the background of the matching screen in the left block				*/
+		COPY_BACKGROUND,
+		/** Empty every existing screen in the right block. The left block is unused			*/
+		CLEAR;
+	}
+	
 	public final class CopyPasteConfiguration {
+		public final Operation operation;
 		public final int copyFromId;
 		public final int copyToId;
+		public final int across;
+		public final int down;
 		
-		private CopyPasteConfiguration(final int copyFromId, final int copyToId) {
-			assert copyFromId != copyToId;
+		private CopyPasteConfiguration(final Operation operation, final int copyFromId, final int copyToId, final int across, final int down) {
+			assert operation == Operation.CLEAR || copyFromId != copyToId;
+			this.operation = operation;
 			this.copyFromId = copyFromId;
 			this.copyToId = copyToId;
+			this.across = across;
+			this.down = down;
 		}
+		
+		/**
+		 * 
+		 * Returns the id of every screen in the target block, mapped to the id of the screen in the same position in the
+		 * source block. Iteration order is left to right, top to bottom.
+		 * 
+		 */
+		public Map<Integer, Integer> targetsToSources() {
+			Map<Integer, Integer> targets = new LinkedHashMap<>();
+			for (int row = 0; row < down; ++row) {
+				for (int col = 0; col < across; ++col) {
+					targets.put(blockId(copyToId, col, row), blockId(copyFromId, col, row) );
+				}
+			}
+			return targets;
+		}
+		
+		/**
+		 * 
+		 * Returns the id of every screen in the target block, left to right, top to bottom.
+		 * 
+		 */
+		public List<Integer> targets() {
+			return new ArrayList<>(targetsToSources().keySet() );
+		}
+	}
+	
+	// Id of the screen the given number of screens right and down of the corner
+	private static int blockId(int cornerId, int col, int row) {
+		int id = cornerId;
+		for (int i = 0; i < col; ++i)  id = ScreenDirection.RIGHT.getNextScreenId(id);
+		for (int i = 0; i < row; ++i)  id = ScreenDirection.DOWN.getNextScreenId(id);
+		return id;
 	}
+	
+	// The original game's grid is 100 screens wide, so no sensible block is larger than this
+	private static final int MAX_BLOCK_SIZE = 99;
 }
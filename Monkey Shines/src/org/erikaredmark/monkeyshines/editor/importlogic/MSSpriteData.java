@@ -1,14 +1,12 @@
 package org.erikaredmark.monkeyshines.editor.importlogic;
 
-import java.io.IOException;
-import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 import org.erikaredmark.monkeyshines.AnimationSpeed;
 import org.erikaredmark.monkeyshines.AnimationType;
 import org.erikaredmark.monkeyshines.ImmutablePoint2D;
 import org.erikaredmark.monkeyshines.ImmutableRectangle;
 import org.erikaredmark.monkeyshines.MonsterType;
-import org.erikaredmark.monkeyshines.editor.importlogic.WorldTranslationException.TranslationFailure;
 import org.erikaredmark.monkeyshines.resource.WorldResource;
 import org.erikaredmark.monkeyshines.sprite.Monster.ForcedDirection;
 import org.erikaredmark.monkeyshines.sprite.Monster.TwoWayFacing;
@@ -58,6 +56,9 @@ final class MSSpriteData {
 	// 	   and probably wasn't relevant in the original game either.
 	private static final int FLAG_ENERGY_DRAINER = 1 << 7;
 	
+	/** Size, in bytes, of one of these structures in the binary form */
+	static final int SIZE = 20;
+	
 	private MSSpriteData(final ImmutablePoint2D location,
 						 final ImmutablePoint2D minimum,
 						 final ImmutablePoint2D maximum,
@@ -111,9 +112,9 @@ final class MSSpriteData {
 	
 	/**
 	 * 
-	 * Reads a single MSSpriteData object from the given stream. The stream must currently be positioned at the beginning of the
-	 * definition of the proper object (up to translators to handle that). At the conclusion of this method, the stream will have
-	 * been advanced 20 bytes, the size of this data as stored in the binary form.
+	 * Reads a single MSSpriteData object from the given buffer, starting at the given absolute offset. The 20 bytes
+	 * from that offset must be the definition of the proper object (up to translators to handle that, and to ensure
+	 * the buffer is large enough). The buffer must be big-endian and its position is not changed.
 	 * <p/>
 	 * This method REQUIRES a world resource because the original game
 	 * considered the left/right facing of a sprite two unique ids, the port does not. Only by counting
@@ -121,44 +122,31 @@ final class MSSpriteData {
 	 * it ends up skipping the id, that means the sprite is facing right only.
 	 * this information is precomputed for each sprite.
 	 * 
-	 * @param is
-	 * 		input stream
+	 * @param data
+	 * 		the entire resource the structure is embedded in
+	 * 
+	 * @param offset
+	 * 		absolute byte offset of the structure in the buffer
 	 * 
 	 * @return
 	 * 		an instance of this object
 	 * 
-	 * @throws IOException
-	 * 		if something unexpected happens reading the stream
-	 * 	
-	 * @throws WorldTranslationException
-	 * 		if the stream is either malformed or too small
-	 * 
 	 */
-	static MSSpriteData fromStream(InputStream is, WorldResource rsrc) throws IOException, WorldTranslationException {
-		// Just to ease on the typing for this method.
-		final TranslationFailure FAIL = TranslationFailure.WRONG_LEVEL_SIZE;
+	static MSSpriteData fromBuffer(ByteBuffer data, int offset, WorldResource rsrc) {
+		int locationY = macShort(data, offset);
+		int locationX = macShort(data, offset + 2);
 		
-		int locationY = readMacShort(is, FAIL, "Could not read sprite location Y");
-		int locationX = readMacShort(is, FAIL, "Could not read sprite location X");
+		int minimumY = macShort(data, offset + 4);
+		int minimumX = macShort(data, offset + 6);
 		
-		int minimumY = readMacShort(is, FAIL, "Could not read sprite minimum Y");
-		int minimumX = readMacShort(is, FAIL, "Could not read sprite minimum X");
+		int maximumY = macShort(data, offset + 8);
+		int maximumX = macShort(data, offset + 10);
 		
-		int maximumY = readMacShort(is, FAIL, "Could not read sprite maximum Y");
-		int maximumX = readMacShort(is, FAIL, "Could not read sprite maximum X");
+		int speedY = macShort(data, offset + 12);
+		int speedX = macShort(data, offset + 14);
 		
-		int speedY = readMacShort(is, FAIL, "Could not read sprite speed Y");
-		int speedX = readMacShort(is, FAIL, "Could not read sprite speed X");
-		
-		int spriteId = readMacShort(is, FAIL, "Could not read sprite id");
-		int flags = readMacShort(is, FAIL, "Could not read sprite flags");
-		
-//		byte[] flagsRaw = new byte[2];
-//		read(is, flagsRaw, FAIL, "Could not read sprite flags");
-//		
-//		ByteBuffer flags = ByteBuffer.allocate(2);
-//		flags.order(ByteOrder.LITTLE_ENDIAN);
-//		flags.put(flagsRaw);
+		int spriteId = macShort(data, offset + 16);
+		int flags = macShort(data, offset + 18);
 		
 		return new MSSpriteData(ImmutablePoint2D.of(locationX, locationY),
 								ImmutablePoint2D.of(minimumX, minimumY),
@@ -171,18 +159,19 @@ final class MSSpriteData {
 	
 	/**
 	 * 
-	 * See {@code fromStream(InputStream, WorldResource)}. Reads an array of instances of this class. The amount
-	 * is determined by the size parameter. The stream will be read by 20 * size bytes at the conclusion of this
-	 * method
+	 * See {@code fromBuffer(ByteBuffer, int, WorldResource)}. Reads an array of instances of this class, laid out
+	 * consecutively from the given offset. The amount is determined by the size parameter, and covers 20 * size bytes
+	 * of the buffer.
 	 * 
 	 */
-	static MSSpriteData[] arrayFromStream(InputStream is, int size, WorldResource rsrc) throws IOException, WorldTranslationException {
-		MSSpriteData[] data = new MSSpriteData[size];
+	static MSSpriteData[] arrayFromBuffer(ByteBuffer data, int offset, int size, WorldResource rsrc) {
+		MSSpriteData[] sprites = new MSSpriteData[size];
 		for (int i = 0; i < size; ++i) {
-			data[i] = fromStream(is, rsrc);
+			sprites[i] = fromBuffer(data, offset + (i * SIZE), rsrc);
 		}
-		return data;
+		return sprites;
 	}
+	
 	// Some information here is not even the same as it is in the original game level editor.
 	// basic notes: -80s are because original game included UI banner as playable field, port doesn't
 	// -40s are because bounds in port are widths, not actual bounds, so the sprite size is removed.
@@ -1,6 +1,5 @@
 package org.erikaredmark.monkeyshines.editor.importlogic;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.RandomAccessFile;
@@ -10,6 +9,11 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.erikaredmark.monkeyshines.LevelScreen;
 import org.erikaredmark.monkeyshines.World;
@@ -124,39 +128,21 @@ public final class ResourceForkTranslator {
 		final WorldResource rsrc = PackReader.fromPackAwt(resourcePack);
 		
 		// Postcondition: ResourceModel contains an in-memory representation of the resource fork. Let's start translating the levels first,
-		// then with that context the world. Translators accept streams so we use memory streams to re-use the API
+		// then with that context the world. Resource data is already in memory, so it is wrapped and handed directly to the translators
 		final TranslationState translationState = new TranslationState();
 		
 		final ResourceType plvlResource = forkModel.getResourceType("Plvl");
 		final Resource[] plvls = plvlResource.getResArray();
 		
-		final List<LevelScreen> levels = new ArrayList<>(plvls.length);
-		World world = null; // initialised in try block
-		
-		try {
-			for (Resource plvl : plvlResource.getResArray() ) {
-				ByteArrayInputStream rawLevelData = new ByteArrayInputStream(plvl.getData() );
-				LevelScreen screen = RsrcPlvlTranslator.translateLevel(rawLevelData, (int)plvl.getID(), rsrc, translationState);
-				levels.add(screen);
-			}
-			
-			
-			// There is always exactly ONE wlrd resource.
-			Resource[] wrldResources = forkModel.getResourceType("WrLd").getResArray();
-			if (wrldResources.length != 1) {
-				throw new WorldTranslationException(TranslationFailure.TRANSLATOR_SPECIFIC, "Multiple WrLd resources found in resource fork; there may be only one!");
-			}
-			
-			ByteArrayInputStream rawWorldData = new ByteArrayInputStream(wrldResources[0].getData() );
-			world = RsrcWrLdTranslator.translateWorld(rawWorldData, levels, rsrc, worldName, translationState);
-			
-		} catch (IOException e) {
-			// This should never happen. The 'stream' is an in-memory stream where IO Exceptions make little sense.
-			// if this happens it means a bug in the translator using the stream most likely.
-			throw new RuntimeException("IOException for an in-memory stream??? " + e.getMessage(), e);
+		final List<LevelScreen> levels = translateLevels(plvls, rsrc, translationState);
+		// There is always exactly ONE wlrd resource.
+		Resource[] wrldResources = forkModel.getResourceType("WrLd").getResArray();
+		if (wrldResources.length != 1) {
+			throw new WorldTranslationException(TranslationFailure.TRANSLATOR_SPECIFIC, "Multiple WrLd resources found in resource fork; there may be only one!");
 		}
 		
-		assert world != null : "World not initialised in try block";
+		final World world = RsrcWrLdTranslator.translateWorld(
+			TranslationUtil.wrapResource(wrldResources[0].getData() ), levels, rsrc, worldName, translationState);
 		
 		assert world != null : "Translator should have returned non-null value";
 		
@@ -172,6 +158,84 @@ public final class ResourceForkTranslator {
 		return world;
 	}
 	
+	/**
+	 * 
+	 * Translates every Plvl resource into a level screen. Levels are independent of each other, so each one is
+	 * translated on a worker pool into its own {@code TranslationState}. Once all are done, the results are merged
+	 * into the given state in resource order, so the outcome is identical to translating them one after the other.
+	 * 
+	 * @param plvls
+	 * 		all Plvl resources from the resource fork
+	 * 
+	 * @param rsrc
+	 * 		the resource pack the levels are skinned with. Only read from during translation
+	 * 
+	 * @param translationState
+	 * 		state to merge all per-level translation state into
+	 * 
+	 * @return
+	 * 		translated levels, in the same order as the resources
+	 * 
+	 * @throws WorldTranslationException
+	 * 		if any level fails to translate. If multiple fail, the first in resource order is reported
+	 * 
+	 */
+	private static List<LevelScreen> translateLevels(final Resource[] plvls, 
+													 final WorldResource rsrc, 
+													 final TranslationState translationState) 
+														 throws WorldTranslationException {
+		
+		final int threads = Math.max(1, Math.min(plvls.length, Runtime.getRuntime().availableProcessors() ) );
+		final ExecutorService translators = Executors.newFixedThreadPool(threads);
+		
+		try {
+			final List<Future<LevelScreen>> screenResults = new ArrayList<>(plvls.length);
+			final List<TranslationState> levelStates = new ArrayList<>(plvls.length);
+			for (final Resource plvl : plvls) {
+				final TranslationState levelState = new TranslationState();
+				levelStates.add(levelState);
+				screenResults.add(translators.submit(new Callable<LevelScreen>() {
+					@Override public LevelScreen call() throws WorldTranslationException {
+						return RsrcPlvlTranslator.translateLevel(
+							TranslationUtil.wrapResource(plvl.getData() ), (int)plvl.getID(), rsrc, levelState);
+					}
+				}) );
+			}
+			
+			final List<LevelScreen> levels = new ArrayList<>(plvls.length);
+			for (int i = 0; i < plvls.length; ++i) {
+				levels.add(awaitLevel(screenResults.get(i) ) );
+				translationState.mergeFrom(levelStates.get(i) );
+			}
+			
+			return levels;
+		} finally {
+			translators.shutdownNow();
+		}
+	}
+	
+	/**
+	 * 
+	 * Waits for the given level translation to complete, unwrapping any failure back into the exception that the
+	 * translator originally threw.
+	 * 
+	 */
+	private static LevelScreen awaitLevel(Future<LevelScreen> result) throws WorldTranslationException {
+		try {
+			return result.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new WorldTranslationException(TranslationFailure.TRANSLATOR_SPECIFIC, "Interrupted whilst translating levels");
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof WorldTranslationException)  throw (WorldTranslationException) cause;
+			if (cause instanceof RuntimeException)  throw (RuntimeException) cause;
+			if (cause instanceof Error)  throw (Error) cause;
+			// Translators only declare WorldTranslationException for in-memory data.
+			throw new RuntimeException("Unexpected checked exception translating level: " + cause.getMessage(), cause);
+		}
+	}
+	
 	/**
 	 * 
 	 * Performs the same logical functionality of importWorld, but also saves the world to a file in the same directory
@@ -3,6 +3,7 @@ package org.erikaredmark.monkeyshines.editor.importlogic;
 import java.awt.Color;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
@@ -47,10 +48,31 @@ import org.erikaredmark.monkeyshines.tiles.TileType;
 public class RsrcPlvlTranslator {
 	private static final String CLASS_NAME = "org.erikaredmark.monkeyshines.editor.importlogic.RsrcPlvlTranslator";
 	private static final Logger LOGGER = Logger.getLogger(CLASS_NAME);
+	
+	// Layout of the .plvl binary data. Sprite and goodie arrays are fixed size in the binary form, only the
+	// first 'count' of them contain meaningful data and the rest are zeros/garbage.
+	private static final int MAX_SPRITES = 10;
+	private static final int MAX_GOODIES = 25;
+	private static final int LEVEL_DATA_SHORTS = 20 * 32;
+	
+	private static final int OFFSET_SPRITE_COUNT = 0;
+	private static final int OFFSET_GOODIE_COUNT = 2;
+	private static final int OFFSET_SPRITES = 4;
+	private static final int OFFSET_GOODIES = OFFSET_SPRITES + (MAX_SPRITES * MSSpriteData.SIZE);
+	private static final int OFFSET_LEVEL_DATA = OFFSET_GOODIES + (MAX_GOODIES * MSSpriteData.SIZE);
+	private static final int OFFSET_BONZO_START_Y = OFFSET_LEVEL_DATA + (LEVEL_DATA_SHORTS * 2);
+	private static final int OFFSET_BONZO_START_X = OFFSET_BONZO_START_Y + 2;
+	private static final int OFFSET_PPAT = OFFSET_BONZO_START_X + 2;
+	
+	/** Total size, in bytes, of the .plvl data the translator reads */
+	static final int LEVEL_SIZE = OFFSET_PPAT + 2;
+	
 	/**
 	 * 
-	 * Translates the given stream for a {@code LevelScreen}. the stream pointer is advanced
-	 * 1980 bytes (which it must have at least that much of or an exception will be thrown)
+	 * Translates the given stream for a {@code LevelScreen}. The level data is read from the stream in a single
+	 * bulk operation and then handed to {@code translateLevel(ByteBuffer, int, WorldResource, TranslationState)}.
+	 * The stream pointer is advanced {@code LEVEL_SIZE} bytes (which it must have at least that much of or an
+	 * exception will be thrown)
 	 * <p/>
 	 * See https://github.com/ErikaRedmark/monkey-shines-java-port/wiki/Original-Level-File-Format
 	 * for a detailed analysis of the format.
@@ -76,39 +98,59 @@ public class RsrcPlvlTranslator {
 	 * 		one as the returned value is calibrated for the port.
 	 * 
 	 * @throws WorldTranslationException
-	 * 		if the given stream does not have at least 122 bytes to work with, or the data is determined
+	 * 		if the given stream does not have at least {@code LEVEL_SIZE} bytes to work with, or the data is determined
 	 * 		to be nonsensical in some way
 	 * 
 	 */
 	public static LevelScreen translateLevel(InputStream is, int id, WorldResource rsrc, TranslationState translationState) throws WorldTranslationException, IOException {
+		ByteBuffer data = TranslationUtil.readResource(is, LEVEL_SIZE, TranslationFailure.WRONG_LEVEL_SIZE, "Could not read level " + id);
+		return translateLevel(data, id, rsrc, translationState);
+	}
+	
+	/**
+	 * 
+	 * Translates the given in-memory .plvl data for a {@code LevelScreen}. The buffer must be big-endian (see
+	 * {@code TranslationUtil.wrapResource}) with the level data starting at index 0, and is parsed by absolute
+	 * offsets; its position is not changed.
+	 * <p/>
+	 * See {@code translateLevel(InputStream, int, WorldResource, TranslationState)} for the other parameters.
+	 * 
+	 * @throws WorldTranslationException
+	 * 		if the given buffer does not have at least {@code LEVEL_SIZE} bytes to work with, or the data is determined
+	 * 		to be nonsensical in some way
+	 * 
+	 */
+	public static LevelScreen translateLevel(ByteBuffer data, int id, WorldResource rsrc, TranslationState translationState) throws WorldTranslationException {
 		LOGGER.info(CLASS_NAME + ": Beginning Translation of level " + id);
 		// Just to ease on the typing for this method.
 		final TranslationFailure FAIL = TranslationFailure.WRONG_LEVEL_SIZE;
 		
+		TranslationUtil.requireSize(data, LEVEL_SIZE, FAIL, "Level " + id + " is only " + data.limit() + " bytes");
+		
 		// Read the number of sprites an items. Important as data MAY be garbage so just looking for zeros
 		// is not sufficient.
-		int spriteCount = TranslationUtil.readMacShort(is, FAIL, "Could not read number of sprites");
-		int goodieCount = TranslationUtil.readMacShort(is, FAIL, "Could not read number of goodies");
+		int spriteCount = TranslationUtil.macShort(data, OFFSET_SPRITE_COUNT);
+		int goodieCount = TranslationUtil.macShort(data, OFFSET_GOODIE_COUNT);
+		if (spriteCount < 0 || spriteCount > MAX_SPRITES)  throw new WorldTranslationException(FAIL, "Invalid number of sprites " + spriteCount);
+		if (goodieCount < 0 || goodieCount > MAX_GOODIES)  throw new WorldTranslationException(FAIL, "Invalid number of goodies " + goodieCount);
 		
-		MSSpriteData[] sprites = MSSpriteData.arrayFromStream(is, spriteCount, rsrc);
-		// MUST SKIP past zeros/garbage
-		TranslationUtil.skip(is, (10 - spriteCount) * 20, FAIL, "Could not skip sprites");
+		// Only the first 'count' entries are read; the rest of each fixed size array is zeros/garbage.
+		MSSpriteData[] sprites = MSSpriteData.arrayFromBuffer(data, OFFSET_SPRITES, spriteCount, rsrc);
 		
 		// Goodies are stored as sprites in the original game. For simplicity, we will read them as sprites
 		// since the raw data is still stored and manipulate them as needed.
-		MSSpriteData[] goodies = MSSpriteData.arrayFromStream(is, goodieCount, rsrc);
-		TranslationUtil.skip(is, (25 - goodieCount) * 20, FAIL, "Could not skip goodies");
+		MSSpriteData[] goodies = MSSpriteData.arrayFromBuffer(data, OFFSET_GOODIES, goodieCount, rsrc);
 		
 		// The big one, the level data.
-		int[] levelData = TranslationUtil.readMacShortArray(is, 20 * 32, FAIL, "Could not read level data");
+		int[] levelData = TranslationUtil.macShortArray(data, OFFSET_LEVEL_DATA, LEVEL_DATA_SHORTS);
 		
-		int bonzoStartY = TranslationUtil.readMacShort(is, FAIL, "Could not read bonzo's starting location vertical");
-		int bonzoStartX = TranslationUtil.readMacShort(is, FAIL, "Could not read bonzo's starting location horizontal");
+		int bonzoStartY = TranslationUtil.macShort(data, OFFSET_BONZO_START_Y);
+		int bonzoStartX = TranslationUtil.macShort(data, OFFSET_BONZO_START_X);
 		
-		int ppat = TranslationUtil.readMacShort(is, FAIL, "Could not read ppat id");
+		int ppat = TranslationUtil.macShort(data, OFFSET_PPAT);
 		
-		// ----------- Done reading stream. Time to interpret data ------------
-		LOGGER.info(CLASS_NAME + ": Stream reading done. Beginning data interpretation starting with sprites");
+		// ----------- Done reading data. Time to interpret it ------------
+		LOGGER.info(CLASS_NAME + ": Data reading done. Beginning data interpretation starting with sprites");
 		
 		// Sprites
 		List<Monster> spritesOnScreen = new ArrayList<>(spriteCount);
@@ -2,6 +2,7 @@ package org.erikaredmark.monkeyshines.editor.importlogic;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -25,10 +26,21 @@ import org.erikaredmark.monkeyshines.resource.WorldResource;
  */
 public class RsrcWrLdTranslator {
 	
+	// Layout of the .wrld binary data. The first 10 bytes (5 shorts) are statistics information, and the last
+	// 64 bytes (two more 16 size short arrays) are not required by the port.
+	private static final int HAZARD_COUNT = 16;
+	private static final int OFFSET_HAZARD_TYPES = 10;
+	private static final int OFFSET_HAZARD_EXPLODES = OFFSET_HAZARD_TYPES + (HAZARD_COUNT * 2);
+	
+	/** Total size, in bytes, of the .wrld data */
+	static final int WORLD_SIZE = 122;
+	
 	/**
 	 * 
-	 * Translates the given stream for a {@code LevelScreen}. the stream pointer is advanced
-	 * 122 bytes by the end of this method (which it must have at least that much of or an exception will be thrown)
+	 * Translates the given stream for a {@code World}. The world data is read from the stream in a single bulk
+	 * operation and then handed to {@code translateWorld(ByteBuffer, List, WorldResource, String, TranslationState)}.
+	 * The stream pointer is advanced 122 bytes by the end of this method (which it must have at least that much of
+	 * or an exception will be thrown)
 	 * <p/>
 	 * Level file format information can be found at:
 	 * https://github.com/ErikaRedmark/monkey-shines-java-port/wiki/Original-Level-File-Format
@@ -53,7 +65,7 @@ public class RsrcWrLdTranslator {
 	 * 		instance of {@code World}
 	 * 
 	 * @throws WorldTranslationException
-	 * 		if the given stream does not have at least 1980 bytes to work with, or the data is determined
+	 * 		if the given stream does not have at least 122 bytes to work with, or the data is determined
 	 * 		to be nonsensical in some way
 	 * 
 	 * @throws IOException 
@@ -63,15 +75,34 @@ public class RsrcWrLdTranslator {
 	public static World translateWorld(InputStream is, List<LevelScreen> levels, WorldResource rsrc, String name, TranslationState translationState) 
 									       throws WorldTranslationException, IOException {
 		
-		final TranslationFailure FAIL = TranslationFailure.WRONG_LEVEL_SIZE;
+		ByteBuffer data = TranslationUtil.readResource(is, WORLD_SIZE, TranslationFailure.WRONG_WORLD_SIZE, "Could not read world data");
+		return translateWorld(data, levels, rsrc, name, translationState);
+	}
+	
+	/**
+	 * 
+	 * Translates the given in-memory .wrld data for a {@code World}. The buffer must be big-endian (see
+	 * {@code TranslationUtil.wrapResource}) with the world data starting at index 0, and is parsed by absolute
+	 * offsets; its position is not changed.
+	 * <p/>
+	 * See {@code translateWorld(InputStream, List, WorldResource, String, TranslationState)} for the other parameters.
+	 * 
+	 * @throws WorldTranslationException
+	 * 		if the given buffer does not have at least 122 bytes to work with, or the data is determined
+	 * 		to be nonsensical in some way
+	 * 
+	 */
+	public static World translateWorld(ByteBuffer data, List<LevelScreen> levels, WorldResource rsrc, String name, TranslationState translationState) 
+										   throws WorldTranslationException {
+		
+		final TranslationFailure FAIL = TranslationFailure.WRONG_WORLD_SIZE;
 		
-		// Skip first 10 bytes (5 shorts). This is statistics information that we do not care about in any way.
-		TranslationUtil.skip(is, 10, FAIL, "could not skip bonus screen location");
+		TranslationUtil.requireSize(data, WORLD_SIZE, FAIL, "World data is only " + data.limit() + " bytes");
 
 		// Generate hazards (combines WrLd data with graphics resource)
-		int[] hazardTypes = TranslationUtil.readMacShortArray(is, 16, FAIL, "Could not read hazard types");
+		int[] hazardTypes = TranslationUtil.macShortArray(data, OFFSET_HAZARD_TYPES, HAZARD_COUNT);
 		
-		boolean[] hazardExplodes = TranslationUtil.readMacBooleanArray(is, 16, FAIL, "Could not read hazard explosion properties");
+		boolean[] hazardExplodes = TranslationUtil.macBooleanArray(data, OFFSET_HAZARD_EXPLODES, HAZARD_COUNT);
 		
 		List<Hazard> hazards = new ArrayList<>();
 		
@@ -83,10 +114,8 @@ public class RsrcWrLdTranslator {
 			hazards.add(new Hazard(i, hazardExplodes[i], TranslationUtil.deathType(hazardTypes[i]), harmless) );
 		}
 		
-		// Nothing more can be learnt from the stream, relying on graphics resource and state info
-		// from here. HOWEVER, we MUST skip the remaining bytes in the level data as promised.
-		// Two more 16 size short arrays, making 64 bytes total to skip.
-		TranslationUtil.skip(is, 64, FAIL, "Could not skip final bytes for world data");
+		// Nothing more can be learnt from the data, relying on graphics resource and state info
+		// from here.
 
 		// Generate conveyers (only requires world resource)
 		List<Conveyer> conveyers = new ArrayList<>();
@@ -2,6 +2,7 @@ package org.erikaredmark.monkeyshines.editor.importlogic;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.TreeSet;
 import java.util.logging.Logger;
@@ -14,7 +15,8 @@ import org.erikaredmark.monkeyshines.WorldCoordinate;
  * Created and added to during translation, and then used before finally declaring the world fully complete
  * to set any values in any levels that could not be determined until all the other levels were complete.
  * <p/>
- * By virtue of representing state, this object is not thread-safe.
+ * By virtue of representing state, this object is not thread-safe. Translators running concurrently should
+ * each fill their own instance and have them combined afterwards with {@code mergeFrom}.
  * 
  * @author Erika Redmark
  *
@@ -23,9 +25,10 @@ class TranslationState {
 	private static final String CLASS_NAME = "org.erikaredmark.monkeyshines.editor.importlogic.TranslationState";
 	private static final Logger LOGGER = Logger.getLogger(CLASS_NAME);
 
-	Map<Integer, Integer> levelIdToPpat = new HashMap<>();
+	// Insertion ordered so merging states is deterministic
+	Map<Integer, Integer> levelIdToPpat = new LinkedHashMap<>();
 	TreeSet<Integer> ppats = new TreeSet<>();
-	Map<WorldCoordinate, Goodie> goodieMap = new HashMap<WorldCoordinate, Goodie>();
+	Map<WorldCoordinate, Goodie> goodieMap = new LinkedHashMap<WorldCoordinate, Goodie>();
 	
 	/** Constructs the object with default state. */
 	TranslationState() { }
@@ -98,4 +101,25 @@ class TranslationState {
 		return goodieMap;
 	}
 	
+	/**
+	 * 
+	 * Adds all the ppat mappings and goodies of the given state to this one, as if they had been added
+	 * to this state directly in the order they were added to the other. Merging per-level states in the
+	 * original level order therefore produces the exact same result as a sequential translation,
+	 * including which goodie wins for overlapping locations.
+	 * 
+	 * @param other
+	 * 		state to merge into this one. Not modified
+	 * 
+	 */
+	void mergeFrom(TranslationState other) {
+		for (Map.Entry<Integer, Integer> entry : other.levelIdToPpat.entrySet() ) {
+			addPpatMapping(entry.getKey(), entry.getValue() );
+		}
+		
+		for (Goodie goodie : other.goodieMap.values() ) {
+			addGoodie(goodie);
+		}
+	}
+	
 }
@@ -148,97 +148,101 @@ public final class TranslationUtil {
 	
 	/**
 	 * 
-	 * Skips the given number of bytes in the input stream, automatically translating the inability to skip
-	 * into an {@code WorldTranslationException} that is intended for the client that passed the stream in the
-	 * first place.
+	 * Reads an entire resource of the given size from the stream in one bulk operation and returns it as a big-endian
+	 * buffer, ready for the absolute-offset accessors in this class. The stream is advanced exactly {@code size} bytes.
+	 * Inability to read the full resource is translated into a {@code WorldTranslationException} intended for the
+	 * client that passed the stream in the first place.
 	 * 
 	 * @param is
+	 * 		stream positioned at the start of the resource
 	 * 
-	 * @param skipBytes
+	 * @param size
+	 * 		size of the resource, in bytes
 	 * 
 	 * @param ifFail
 	 * 
 	 * @param msg
-	 * 		if the skip fails, the message to display
+	 * 		if the stream does not contain enough data, the message to display
+	 * 
+	 * @return
+	 * 		big-endian buffer of exactly {@code size} bytes, starting at index 0
 	 * 
 	 * @throws IOException
-	 * 		if an unknown error prevents skipping
+	 * 		if an unknown error prevents reading
 	 * 
 	 */
-	public static void skip(InputStream is, long skipBytes, TranslationFailure ifFail, String msg) throws IOException, WorldTranslationException {
-		long skipped = is.skip(skipBytes);
-		if (skipped != skipBytes)  throw new WorldTranslationException(ifFail, msg);
+	public static ByteBuffer readResource(InputStream is, int size, TranslationFailure ifFail, String msg) throws IOException, WorldTranslationException {
+		byte[] raw = new byte[size];
+		int total = 0;
+		while (total < size) {
+			int bytesRead = is.read(raw, total, size - total);
+			if (bytesRead < 0)  throw new WorldTranslationException(ifFail, msg);
+			total += bytesRead;
+		}
+		return wrapResource(raw);
 	}
 	
 	/**
 	 * 
-	 * Reads the given number of bytes in the input stream, automatically translating the inability to read
-	 * into an {@code WorldTranslationException} that is intended for the client that passed the stream in the
-	 * first place.
+	 * Wraps already in-memory resource data, such as from a resource fork, as a big-endian buffer without copying.
 	 * 
-	 * @param is
+	 * @param data
+	 * 		raw resource data
 	 * 
-	 * @param read
+	 * @return
+	 * 		big-endian buffer view of the data, starting at index 0
 	 * 
-	 * @param ifFail
+	 */
+	public static ByteBuffer wrapResource(byte[] data) {
+		return ByteBuffer.wrap(data).order(ByteOrder.BIG_ENDIAN);
+	}
+	
+	/**
 	 * 
-	 * @param msg
-	 * 		if the skip fails, the message to display
+	 * Ensures the given buffer holds at least the given number of bytes, so that all subsequent absolute reads
+	 * below that size are guaranteed to succeed.
 	 * 
-	 * @throws IOException
-	 * 		if an unknown error prevents skipping
+	 * @throws WorldTranslationException
+	 * 		if the buffer is too small
 	 * 
 	 */
-	public static void read(InputStream is, byte[] read, TranslationFailure ifFail, String msg) throws IOException, WorldTranslationException {
-		int bytesRead = is.read(read);
-		if (bytesRead != read.length)  throw new WorldTranslationException(ifFail, msg);
+	public static void requireSize(ByteBuffer buffer, int size, TranslationFailure ifFail, String msg) throws WorldTranslationException {
+		if (buffer.limit() < size)  throw new WorldTranslationException(ifFail, msg);
 	}
 	
 	/**
-	 * Reads a mac short from the stream. This is effectively reading 2 bytes from the stream and then converting
-	 * the result using {@code translateMacShort}. The translation failure info is provided in case reading the
-	 * stream fails for any reason. The info should include the type of data that was being read.
+	 * Reads a mac short at the given absolute byte offset in the buffer. The buffer must be big-endian, as returned
+	 * from {@code readResource} or {@code wrapResource}. The buffer position is not changed.
 	 */
-	public static int readMacShort(InputStream is, TranslationFailure ifFail, String msg) throws IOException, WorldTranslationException {
-		byte[] raw = new byte[2];
-		read(is, raw, ifFail, msg);
-		return translateMacShort(raw);
+	public static int macShort(ByteBuffer buffer, int offset) {
+		return buffer.getShort(offset);
 	}
 	
 	/**
-	 * Reads an array of shorts, similiar to {@code readMacShort} but for a consecutive amount of them. See javadocs
-	 * for that method for explanation of other parameters
+	 * Reads an array of shorts, similiar to {@code macShort} but for a consecutive amount of them.
 	 * 
 	 * @param size
 	 * 		size is in number of shorts, not in number of bytes (shorts take up two bytes)
 	 * 
 	 */
-	public static int[] readMacShortArray(InputStream is, int size, TranslationFailure ifFail, String msg) throws IOException, WorldTranslationException {
-		byte[] raw = new byte[size * 2];
-		read(is, raw, ifFail, msg);
-		return translateMacShortArray(raw);
-	}
-	
-	/**
-	 * Reads a mac boolean from the stream. This effectively reads 1 byte from the stream, and converts the result
-	 * using {@code translateMacBoolean}. The translation failure info is provided in case reading the
-	 * stream fails for any reason. The info should include the type of data that was being read.
-	 */
-	public static boolean readMacBoolean(InputStream is, TranslationFailure ifFail, String msg) throws IOException, WorldTranslationException {
-		// Using array version to re-use existing code.
-		byte[] raw = new byte[1];
-		read(is, raw, ifFail, msg);
-		return translateMacBoolean(raw[0]);
+	public static int[] macShortArray(ByteBuffer buffer, int offset, int size) {
+		int[] returnShorts = new int[size];
+		for (int i = 0; i < size; ++i) {
+			returnShorts[i] = buffer.getShort(offset + (i * 2) );
+		}
+		return returnShorts;
 	}
 	
 	/**
-	 * Reads an array of booleans, similiar to {@code readMacBoolean} but for a consecutive amount of them. See javadocs
-	 * for that method for explanation of other parameters
+	 * Reads an array of mac booleans, one byte each, starting at the given absolute byte offset. Conversion is done
+	 * using {@code translateMacBoolean}. The buffer position is not changed.
 	 */
-	public static boolean[] readMacBooleanArray(InputStream is, int size, TranslationFailure ifFail, String msg) throws IOException, WorldTranslationException {
-		byte[] raw = new byte[size];
-		read(is, raw, ifFail, msg);
-		return translateMacBooleanArray(raw);
+	public static boolean[] macBooleanArray(ByteBuffer buffer, int offset, int size) {
+		boolean[] returnBools = new boolean[size];
+		for (int i = 0; i < size; ++i) {
+			returnBools[i] = translateMacBoolean(buffer.get(offset + i) );
+		}
+		return returnBools;
 	}
 	
 }
@@ -184,6 +184,16 @@ public final class Template {
 		return templateTiles;
 	}
 	
+	// The fitted tilemap used for equality, built once. Never handed out, so it can never be modified.
+	private TileMap comparisonMap() {
+		TileMap map = comparisonMap;
+		if (map == null) {
+			map = fitToTilemap();
+			comparisonMap = map;
+		}
+		return map;
+	}
+	
 	/**
 	 * 
 	 * Two Templates are considered equal to each other if they map to the same tilemap when drawn.
@@ -194,13 +204,11 @@ public final class Template {
 		if ( !(o instanceof Template) ) return false;
 		
 		Template other = (Template) o;
+		if (this.hashCode() != other.hashCode() )  return false;
 		
 		// Ordering of tile in template list may be different even tiles are the same. What matters is that, when a tilemap is created,
 		// they create an identical tilemap.
-		TileMap myMap = this.fitToTilemap();
-		TileMap otherMap = other.fitToTilemap();
-		
-		return myMap.equals(otherMap);
+		return this.comparisonMap().equals(other.comparisonMap() );
 	}
 	
 	/**
@@ -209,9 +217,12 @@ public final class Template {
 	 * 
 	 */
 	@Override public int hashCode() {
-		int result = 17;
-		TileMap myMap = this.fitToTilemap();
-		result += result * 31 + myMap.hashCode();
+		int result = hash;
+		if (result == 0) {
+			result = 17;
+			result += result * 31 + comparisonMap().hashCode();
+			hash = result;
+		}
 		return result;
 	}
 	
@@ -360,4 +371,8 @@ public final class Template {
 	// Stores list of all tiles. We don't store them in a 2D array. We just need to iterate over them, examine their row/col, and
 	// from that decide where to draw the tile in the real world. A 2D array would be wasteful
 	private ImmutableList<TemplateTile> templateTiles;
+	
+	// Templates are immutable, so equality data is computed on first use and kept. Races only cause duplicate work.
+	private TileMap comparisonMap;
+	private int hash;
 }
@@ -3,6 +3,9 @@ package org.erikaredmark.monkeyshines.editor.model;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import org.erikaredmark.monkeyshines.GameConstants;
 import org.erikaredmark.monkeyshines.TileMap;
@@ -13,6 +16,8 @@ import org.erikaredmark.monkeyshines.resource.WorldResource;
 import org.erikaredmark.monkeyshines.tiles.CommonTile;
 import org.erikaredmark.monkeyshines.tiles.CommonTile.StatelessTileType;
 
+import com.google.common.collect.ImmutableSet;
+
 /**
  * 
  * Static utility class for methods involving templates that aren't techincally part of the logical makeup of
@@ -22,9 +27,24 @@ import org.erikaredmark.monkeyshines.tiles.CommonTile.StatelessTileType;
  *
  */
 public final class TemplateUtils {
+	
+	// Most recently used renders kept per resource. Far more than any palette shows at once, but bounded so that a long
+	// editing session making many versions of templates does not grow the cache without limit.
+	private static final int MAX_CACHED_RENDERS = 512;
+	
+	// Rendered templates, per resource they were drawn with. Weak keys so that reskinning or closing a world drops its
+	// renders. Only accessed from the EDT.
+	private static final Map<WorldResource, Map<RenderKey, BufferedImage>> renders = new WeakHashMap<>();
+	
+	private TemplateUtils() { }
+	
 	/**
 	 * 
 	 * Renders the given template to an image for display purposes.
+	 * <p/>
+	 * Renders are cached by template content and resource, so asking again for a template with the same tiles (even a
+	 * different instance, such as after the palette is rebuilt from file) returns the earlier image. The returned image
+	 * is shared and must not be modified.
 	 * 
 	 * @param t
 	 * 		template to render
@@ -37,10 +57,31 @@ public final class TemplateUtils {
 	 * 
 	 */
 	public static BufferedImage renderTemplate(final Template t, final WorldResource rsrc) {
+		Map<RenderKey, BufferedImage> forResource = renders.get(rsrc);
+		if (forResource == null) {
+			forResource = new LinkedHashMap<RenderKey, BufferedImage>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+				
+				@Override protected boolean removeEldestEntry(Map.Entry<RenderKey, BufferedImage> eldest) {
+					return size() > MAX_CACHED_RENDERS;
+				}
+			};
+			renders.put(rsrc, forResource);
+		}
+		
+		RenderKey key = new RenderKey(t);
+		BufferedImage icon = forResource.get(key);
+		if (icon == null) {
+			icon = paintTemplate(t, rsrc);
+			forResource.put(key, icon);
+		}
+		return icon;
+	}
+	
+	private static BufferedImage paintTemplate(final Template t, final WorldResource rsrc) {
 		// Currently, do no scaling. Just get a tilemap to fit and render that to the graphics
 		AwtWorldGraphics awtGraphics = rsrc.getAwtGraphics();
 		TileMap map = t.fitToTilemap();
-		map.updateDrawInformation(rsrc);
 		BufferedImage icon = 
 			new BufferedImage(
 				// the + 1 is for the last pixel to be the grid.
@@ -94,4 +135,42 @@ public final class TemplateUtils {
 		
 		return icon;
 	}
+	
+	/**
+	 * 
+	 * Template equality ignores whether an empty position is explicitly 'no tile' or simply not part of the template, but
+	 * the two are rendered differently. Renders are therefore keyed by the template plus the positions of its explicit
+	 * 'no tile' tiles.
+	 * 
+	 */
+	private static final class RenderKey {
+		private final Template template;
+		// Template tiles are equal by position alone, which is exactly what is wanted here.
+		private final ImmutableSet<TemplateTile> noTiles;
+		
+		private RenderKey(final Template template) {
+			this.template = template;
+			ImmutableSet.Builder<TemplateTile> builder = ImmutableSet.builder();
+			for (TemplateTile tile : template.getTilesInTemplate() ) {
+				if (tile.tile.equals(CommonTile.NONE) )  builder.add(tile);
+			}
+			this.noTiles = builder.build();
+		}
+		
+		@Override public boolean equals(Object o) {
+			if (o == this) return true;
+			if ( !(o instanceof RenderKey) ) return false;
+			
+			RenderKey other = (RenderKey) o;
+			return   this.template.equals(other.template)
+				  && this.noTiles.equals(other.noTiles);
+		}
+		
+		@Override public int hashCode() {
+			int result = 17;
+			result += result * 31 + template.hashCode();
+			result += result * 31 + noTiles.hashCode();
+			return result;
+		}
+	}
 }
@@ -1,19 +1,14 @@
 package org.erikaredmark.monkeyshines.editor.persist;
 
-import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpression;
-import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.erikaredmark.monkeyshines.World;
 import org.erikaredmark.monkeyshines.editor.exception.BadEditorPersistantFormatException;
@@ -21,22 +16,22 @@ import org.erikaredmark.monkeyshines.editor.model.Template;
 import org.erikaredmark.monkeyshines.tiles.CommonTile;
 import org.erikaredmark.monkeyshines.tiles.TileType;
 import org.erikaredmark.monkeyshines.tiles.TileTypes;
-import org.w3c.dom.Document;
-import org.w3c.dom.NamedNodeMap;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
 /**
  * 
  * Interprets an xml stream as the save state for an editor, and allows for the parsing of a list of templates based on
  * the stream and the name of the world we are looking for templates for.
+ * <p/>
+ * The stream is parsed as it is read; only the template currently being parsed is held in memory, so large template
+ * libraries may be handed off to the client one template at a time.
  * 
  * @author Erika Redmark
  *
  */
 public final class TemplateXmlReader {
 
+	private TemplateXmlReader() { }
+	
 	/**
 	 * 
 	 * Reads the list of templates from the given stream for the given world name. The stream is NOT closed by the method.
@@ -53,8 +48,8 @@ public final class TemplateXmlReader {
 	 * 		tile types found in the world
 	 * 
 	 * @param badTemplateCallback
-	 * 		if a template refers to tiles out-of-range of the current world, this is called with a reference to the 
-	 * 		XML node of the {@code <template> } object that failed and a reason
+	 * 		if a template refers to tiles out-of-range of the current world, this is called with the line of the 
+	 * 		{@code <tile> } element that failed and a reason
 	 * 
 	 * @return
 	 * 		list of templates for that world, an empty list if no templates are defined. Never {@code null}
@@ -64,135 +59,180 @@ public final class TemplateXmlReader {
 	 * 
 	 */
 	public static List<Template> read(InputStream s, World world, Consumer<TemplateIssue> badTemplateCallback) throws BadEditorPersistantFormatException {
-		DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
+		List<Template> returnList = new ArrayList<>();
+		read(s, world, returnList::add, badTemplateCallback);
+		return returnList;
+	}
+	
+	/**
+	 * 
+	 * Reads the templates from the given stream for the given world name, handing each one to the given callback as soon
+	 * as it has been parsed, in document order. The stream is NOT closed by the method.
+	 * <p/>
+	 * If the stream turns out to be malformed part way through, templates before the error will already have been
+	 * passed to the callback.
+	 * 
+	 * @param s
+	 * 		stream to read
+	 * 
+	 * @param world
+	 * 		the world to load the templates for
+	 * 
+	 * @param templateCallback
+	 * 		called with each valid template for the world
+	 * 
+	 * @param badTemplateCallback
+	 * 		called with the line of the {@code <tile> } element that failed and a reason, for each template that is skipped
+	 * 
+	 * @throws BadEditorPersistantFormatException
+	 * 		if the given stream is not a valid editor persistant format
+	 * 
+	 */
+	public static void read(InputStream s, 
+							World world, 
+							Consumer<Template> templateCallback, 
+							Consumer<TemplateIssue> badTemplateCallback) throws BadEditorPersistantFormatException {
 		try {
-			DocumentBuilder docBuilder = docFactory.newDocumentBuilder();
-			Document doc = docBuilder.parse(s);
-			
-			// We will use XPath to query for all Template nodes that are nested under the given world name
-			XPath worldTemplateQuery = XPathFactory.newInstance().newXPath();
-			XPathExpression expression = worldTemplateQuery.compile("/msleveleditor/world[@name='" + world.getWorldName() + "']/templates/template");
-			
-			
-			
-			NodeList nodes = (NodeList) expression.evaluate(doc, XPathConstants.NODESET);
-		
-			List<Template> returnList = new ArrayList<>();
-			for (int i = 0; i < nodes.getLength(); ++i) {
-				Node n = nodes.item(i);
-				// This node should be a single <template> entry in the <templates> container. We can build a template from
-				// its type
+			XMLStreamReader in = XMLInputFactory.newInstance().createXMLStreamReader(s);
+			try {
+				// Element depth: 1 is <msleveleditor>, 2 <world>, 3 <templates>, 4 <template> and 5 <tile>
+				int depth = 0;
+				boolean inWorld = false;
+				boolean inTemplates = false;
+				// Non-null only while inside a <template> of the requested world
+				Template.Builder templateBuilder = null;
 				boolean skipTemplate = false;
-				if ("template".equals(n.getNodeName() ) ) {
-					Template.Builder templateBuilder = new Template.Builder();
-					NodeList tiles = n.getChildNodes();
-					for (int j = 0; j < tiles.getLength(); ++j) {
-						Node tile = tiles.item(j);
-						// Some nodes are just #text nodes. Skip them if they have not attributes
-						NamedNodeMap attribs = tile.getAttributes();
-						if (attribs == null) continue;
-						
-						Node rowNode = attribs.getNamedItem("row");
-						Node colNode = attribs.getNamedItem("col");
-						Node idNode = attribs.getNamedItem("id");
-						Node typeNode = attribs.getNamedItem("type");
-						
-						if (rowNode == null || colNode == null || idNode == null || typeNode == null) {
-							badTemplateCallback.accept(new TemplateIssue(tile, IssueType.TILE_MISSING_REQUIRED_ATTRIBUTES) );
-							skipTemplate = true;
-							break;
-						}
-						
-						int row = Integer.parseInt(rowNode.getNodeValue() );
-						int col = Integer.parseInt(colNode.getNodeValue() );
-						int id = Integer.parseInt(idNode.getNodeValue() );
-						
-						TileType tileType = null;
-						switch (typeNode.getNodeValue() ) {
-						case SOLIDS:
-							tileType = TileTypes.solidFromId(id);
-							break;
-						case THRUS:
-							tileType = TileTypes.thruFromId(id);
-							break;
-						case SCENES:
-							tileType = TileTypes.sceneFromId(id);
-							break;
-						case HAZARDS:
-							if (!(TileTypes.canHazardFromId(id, world) ) ) {
-								badTemplateCallback.accept(new TemplateIssue(tile, IssueType.TILE_ID_NOT_AVAILABLE) );
-								skipTemplate = true;
-							} else {
-								tileType = TileTypes.hazardFromId(id, world);
+				
+				while (in.hasNext() ) {
+					switch (in.next() ) {
+					case XMLStreamConstants.START_ELEMENT:
+						++depth;
+						String name = in.getLocalName();
+						if (depth == 1) {
+							// Not an editor file; it has no templates for anything.
+							if (!(ROOT.equals(name) ) )  return;
+						} else if (depth == 2) {
+							inWorld =    WORLD.equals(name)
+									  && world.getWorldName().equals(in.getAttributeValue(null, "name") );
+						} else if (depth == 3) {
+							inTemplates = inWorld && TEMPLATES.equals(name);
+						} else if (depth == 4) {
+							if (inTemplates && TEMPLATE.equals(name) ) {
+								templateBuilder = new Template.Builder();
+								skipTemplate = false;
 							}
-							break;
-						case CONVEYER_CLOCKWISE:
-							if (!(TileTypes.canConveyerFromId(id, world) ) ) {
-								badTemplateCallback.accept(new TemplateIssue(tile, IssueType.TILE_ID_NOT_AVAILABLE) );
+						} else if (depth == 5 && templateBuilder != null && !(skipTemplate) ) {
+							IssueType issue = readTile(in, world, templateBuilder);
+							if (issue != null) {
+								badTemplateCallback.accept(new TemplateIssue(in.getLocation().getLineNumber(), issue) );
+								// Skips this template due to an issue with a specific tile. Does not skip all templates.
 								skipTemplate = true;
-							} else {
-								tileType = TileTypes.clockwiseConveyerFromId(id, world);
 							}
-							break;
-						case CONVEYER_ANTI_CLOCKWISE:
-							if (!(TileTypes.canConveyerFromId(id, world) ) ) {
-								badTemplateCallback.accept(new TemplateIssue(tile, IssueType.TILE_ID_NOT_AVAILABLE) );
-								skipTemplate = true;
-							} else {
-								tileType = TileTypes.anticlockwiseConveyerFromId(id, world);
-							}
-							break;
-						case COLLAPSIBLE:
-							tileType = TileTypes.collapsibleFromId(id);
-							break;
-						case EMPTY:
-							tileType = CommonTile.NONE;
-							break;
-						default:
-							badTemplateCallback.accept(new TemplateIssue(tile, IssueType.TILE_TYPE_UNKNOWN) );
-							skipTemplate = true;
-							break;
 						}
-						
-						// Breaks in switch statement are normal... check for template skipping to break from
-						// for loop
-						if (skipTemplate)  break;
-						
-						assert tile != null;
-						
-						templateBuilder.addTile(row, col, tileType);
+						break;
+					case XMLStreamConstants.END_ELEMENT:
+						if (depth == 4 && templateBuilder != null) {
+							// We didn't skip the template? Good, we have a valid template.
+							if (!(skipTemplate) )  templateCallback.accept(templateBuilder.build() );
+							templateBuilder = null;
+						} else if (depth == 3) {
+							inTemplates = false;
+						} else if (depth == 2) {
+							inWorld = false;
+						}
+						--depth;
+						break;
+					default:
+						// Text, whitespace and comments carry nothing for templates.
+						break;
 					}
-					
-					// Skips this template due to an issue with a specific tile. Does not skip all templates.
-					if (skipTemplate)  continue;
-					
-					// We didn't skip the template? Good, we have a valid template. Create and add to the list.
-					returnList.add(templateBuilder.build() );
 				}
-
+			} finally {
+				// Does not close the underlying stream
+				in.close();
 			}
-			
-			return returnList;
-		
-		} catch (IOException | ParserConfigurationException | SAXException | XPathExpressionException e) {
+		} catch (XMLStreamException e) {
 			throw new BadEditorPersistantFormatException(e);
 		}
 	}
 	
 	/**
 	 * 
-	 * Represents an issue when parsing the xml. Wraps together both the node that failed along with the reason the node failed.
+	 * Adds the tile described by the {@code <tile> } element the reader is currently on to the given builder.
+	 * 
+	 * @return
+	 * 		{@code null} if the tile was added, otherwise the reason it could not be, in which case the whole template
+	 * 		should be skipped
+	 * 
+	 */
+	private static IssueType readTile(XMLStreamReader in, World world, Template.Builder templateBuilder) {
+		String rowAttr = in.getAttributeValue(null, "row");
+		String colAttr = in.getAttributeValue(null, "col");
+		String idAttr = in.getAttributeValue(null, "id");
+		String typeAttr = in.getAttributeValue(null, "type");
+		
+		if (rowAttr == null || colAttr == null || idAttr == null || typeAttr == null) {
+			return IssueType.TILE_MISSING_REQUIRED_ATTRIBUTES;
+		}
+		
+		int row = Integer.parseInt(rowAttr);
+		int col = Integer.parseInt(colAttr);
+		int id = Integer.parseInt(idAttr);
+		
+		TileType tileType = null;
+		switch (typeAttr) {
+		case SOLIDS:
+			tileType = TileTypes.solidFromId(id);
+			break;
+		case THRUS:
+			tileType = TileTypes.thruFromId(id);
+			break;
+		case SCENES:
+			tileType = TileTypes.sceneFromId(id);
+			break;
+		case HAZARDS:
+			if (!(TileTypes.canHazardFromId(id, world) ) )  return IssueType.TILE_ID_NOT_AVAILABLE;
+			tileType = TileTypes.hazardFromId(id, world);
+			break;
+		case CONVEYER_CLOCKWISE:
+			if (!(TileTypes.canConveyerFromId(id, world) ) )  return IssueType.TILE_ID_NOT_AVAILABLE;
+			tileType = TileTypes.clockwiseConveyerFromId(id, world);
+			break;
+		case CONVEYER_ANTI_CLOCKWISE:
+			if (!(TileTypes.canConveyerFromId(id, world) ) )  return IssueType.TILE_ID_NOT_AVAILABLE;
+			tileType = TileTypes.anticlockwiseConveyerFromId(id, world);
+			break;
+		case COLLAPSIBLE:
+			tileType = TileTypes.collapsibleFromId(id);
+			break;
+		case EMPTY:
+			tileType = CommonTile.NONE;
+			break;
+		default:
+			return IssueType.TILE_TYPE_UNKNOWN;
+		}
+		
+		assert tileType != null;
+		
+		templateBuilder.addTile(row, col, tileType);
+		return null;
+	}
+	
+	/**
+	 * 
+	 * Represents an issue when parsing the xml. Wraps together both the line of the element that failed along with the reason it failed.
 	 * 
 	 * @author Erika Redmark
 	 *
 	 */
 	public static class TemplateIssue {
 		public IssueType issue;
-		public Node issueNode;
+		// -1 if the parser could not tell
+		public int issueLine;
 		
-		private TemplateIssue(final Node issueNode, final IssueType issue) {
+		private TemplateIssue(final int issueLine, final IssueType issue) {
 			this.issue = issue;
-			this.issueNode = issueNode;
+			this.issueLine = issueLine;
 		}
 
 	}
@@ -218,6 +258,12 @@ public final class TemplateXmlReader {
 		private final String msg;
 	}
 	
+	// Element names
+	private static final String ROOT = "msleveleditor";
+	private static final String WORLD = "world";
+	private static final String TEMPLATES = "templates";
+	private static final String TEMPLATE = "template";
+	
 	// Tiletypes are they are named in the XML form
 	private static final String SOLIDS = "solid";
 	private static final String THRUS = "thru";
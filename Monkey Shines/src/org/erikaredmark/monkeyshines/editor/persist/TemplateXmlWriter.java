@@ -5,22 +5,21 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.List;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpression;
-import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.Characters;
+import javax.xml.stream.events.Comment;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
 
 import org.erikaredmark.monkeyshines.Conveyer.Rotation;
 import org.erikaredmark.monkeyshines.editor.exception.BadEditorPersistantFormatException;
@@ -31,14 +30,15 @@ import org.erikaredmark.monkeyshines.tiles.CommonTile;
 import org.erikaredmark.monkeyshines.tiles.ConveyerTile;
 import org.erikaredmark.monkeyshines.tiles.HazardTile;
 import org.erikaredmark.monkeyshines.tiles.TileType;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.xml.sax.SAXException;
+import org.erikaredmark.util.AtomicFiles;
 
 /**
  * 
  * Writes out the templates in memory to an xml stream. The xml file will be created if one does not exist.
+ * <p/>
+ * An existing file is streamed through element by element, replacing only the templates of the world being saved, so
+ * the templates of other worlds are never all held in memory at once. The output is likewise streamed straight to a
+ * temporary file beside the original, which then replaces it. Output is always re-indented by four spaces.
  * 
  * @author Erika Redmark
  *
@@ -54,6 +54,8 @@ public final class TemplateXmlWriter {
 	 * <p/>
 	 * Writing out templates for a world will REPLACE the existing templates defined for that world (so the template
 	 * list that is extracted originally must be maintained). This will NOT replace templates from OTHER worlds, however.
+	 * <p/>
+	 * The file is replaced atomically; if writing fails part way the old file is left as it was.
 	 * 
 	 * @param xmlFile
 	 * 		the xmlFile to write to
@@ -67,80 +69,150 @@ public final class TemplateXmlWriter {
 	 * 
 	 */
 	public static void writeOutTemplatesForWorld(Path xmlFile, String worldName, List<Template> templates) throws BadEditorPersistantFormatException {
-		DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
-		if (!(Files.exists(xmlFile) ) )  createEditorXmlFile(docFactory, xmlFile);
-		// Document is required outside of initial parse
-		Document doc = null;
-		try (InputStream in = Files.newInputStream(xmlFile) ) {
-			DocumentBuilder docBuilder = docFactory.newDocumentBuilder();
-			doc = docBuilder.parse(in);
-			
-			// We will use XPath to query for all Template nodes that are nested under the given world name
-			XPath worldTemplateQuery = XPathFactory.newInstance().newXPath();
-			
-			XPathExpression worldTemplates = worldTemplateQuery.compile("/msleveleditor/world[@name='" + worldName + "']/templates");
-			XPathExpression worldEntry = worldTemplateQuery.compile("/msleveleditor/world[@name='" + worldName + "']");
-			
-			Node templatesNode = (Node) worldTemplates.evaluate(doc, XPathConstants.NODE);
-			// <world> .... </world> will always be an element
-			Element worldNode = (Element) worldEntry.evaluate(doc, XPathConstants.NODE);
-			
-			// if worldNode doesn't exist, create it.
-			if (worldNode == null) {
-				Element root = doc.getDocumentElement();
-				worldNode = doc.createElement("world");
-				worldNode.setAttribute("name", worldName);
-				root.appendChild(worldNode);
-			}
-			
-			// If the node list is not empty, remove and replace.
-			if (templatesNode != null ) {
-				worldNode.removeChild(templatesNode);
-				templatesNode = null;
-			}
-
-			// If a templates node existed, it's gone now. Create a new one.
-			Element newTemplatesNode = doc.createElement("templates");
-			addTemplatesToNode(doc, newTemplatesNode, templates);
-			worldNode.appendChild(newTemplatesNode);
-
-
-		} catch (IOException | ParserConfigurationException | SAXException | XPathExpressionException e) {
+		try {
+			AtomicFiles.write(xmlFile, stream -> {
+				try {
+					writeDocument(stream, xmlFile, worldName, templates);
+				} catch (XMLStreamException e) {
+					throw new IOException(e);
+				}
+			});
+		} catch (IOException e) {
 			throw new BadEditorPersistantFormatException(e);
 		}
+	}
+	
+	/**
+	 * 
+	 * Writes the complete new editor document to the given stream, reading the templates of other worlds from the
+	 * existing file, if any, as it goes. Does not close the stream.
+	 * 
+	 */
+	private static void writeDocument(OutputStream stream, Path xmlFile, String worldName, List<Template> templates) throws IOException, XMLStreamException {
+		IndentingWriter out = new IndentingWriter(XMLOutputFactory.newInstance().createXMLStreamWriter(stream, "UTF-8") );
+		out.writer.writeStartDocument("UTF-8", "1.0");
 		
+		if (Files.exists(xmlFile) ) {
+			try (InputStream in = Files.newInputStream(xmlFile) ) {
+				copyReplacingTemplates(in, out, worldName, templates);
+			}
+		} else {
+			out.start(ROOT, 0);
+			writeWorld(out, worldName, templates, 1);
+			out.end(0);
+		}
 		
-		// The DOM has been properly modified. Rewrite out to the file.
-		assert (doc != null);
-		saveDocToFile(doc, xmlFile);
-
+		out.writer.writeEndDocument();
+		// Flushes to the stream without closing it
+		out.writer.close();
 	}
 	
-	private static void saveDocToFile(Document doc, Path xmlFile) throws BadEditorPersistantFormatException {
-		try (OutputStream os = Files.newOutputStream(xmlFile) ) {
-			Transformer transformer = TransformerFactory.newInstance().newTransformer();
-			DOMSource source = new DOMSource(doc);
-			StreamResult result = new StreamResult(os);
-			transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-			transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "4");
-			transformer.transform(source, result);
+	/**
+	 * 
+	 * Copies the editor xml from the given stream to the writer, with the {@code <templates> } of the given world
+	 * replaced by the given templates. If the world has no templates element one is added, and if the world does not
+	 * exist at all it is added to the end of the root element.
+	 * 
+	 */
+	private static void copyReplacingTemplates(InputStream s, IndentingWriter out, String worldName, List<Template> templates) throws XMLStreamException {
+		XMLEventReader in = XMLInputFactory.newInstance().createXMLEventReader(s);
+		try {
+			// Number of elements currently open. The root element starts at depth 0.
+			int depth = 0;
+			// Depth of the world being written, or -1 if not inside it
+			int worldDepth = -1;
+			boolean written = false;
 			
-		} catch (IOException | TransformerException e) {
-			throw new BadEditorPersistantFormatException(e);
+			while (in.hasNext() ) {
+				XMLEvent event = in.nextEvent();
+				switch (event.getEventType() ) {
+				case XMLStreamConstants.START_ELEMENT:
+					StartElement start = event.asStartElement();
+					String name = start.getName().getLocalPart();
+					
+					if (worldDepth != -1 && depth == worldDepth + 1 && TEMPLATES.equals(name) ) {
+						skipElement(in);
+						writeTemplates(out, templates, depth);
+						written = true;
+						break;
+					}
+					
+					boolean isWorld = false;
+					if (depth == 1 && WORLD.equals(name) && !(written) ) {
+						Attribute worldAttr = start.getAttributeByName(new QName("name") );
+						isWorld = worldAttr != null && worldName.equals(worldAttr.getValue() );
+					}
+					
+					// Leaf elements, such as every <tile>, are kept self closing. The root and the world being written
+					// will always have something added to them.
+					if (depth > 0 && !(isWorld) && in.peek() != null && in.peek().isEndElement() ) {
+						in.nextEvent();
+						out.empty(name, depth);
+						copyAttributes(start, out);
+						break;
+					}
+					
+					out.start(name, depth);
+					copyAttributes(start, out);
+					if (isWorld)  worldDepth = depth;
+					++depth;
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					--depth;
+					if (depth == worldDepth) {
+						if (!(written) )  writeTemplates(out, templates, depth + 1);
+						written = true;
+						worldDepth = -1;
+					} else if (depth == 0 && !(written) ) {
+						writeWorld(out, worldName, templates, 1);
+						written = true;
+					}
+					out.end(depth);
+					break;
+				case XMLStreamConstants.CHARACTERS:
+				case XMLStreamConstants.CDATA:
+					Characters text = event.asCharacters();
+					// Whitespace is thrown away; the output is indented anew.
+					if (!(text.isWhiteSpace() ) )  out.text(text.getData() );
+					break;
+				case XMLStreamConstants.COMMENT:
+					out.comment(((Comment) event).getText(), depth);
+					break;
+				default:
+					// Document start/end is written by the caller. Nothing else is expected in an editor file.
+					break;
+				}
+			}
+		} finally {
+			in.close();
 		}
 	}
 	
-	private static void createEditorXmlFile(DocumentBuilderFactory docFactory, Path xmlFile) throws BadEditorPersistantFormatException {
-		try {
-			Document doc = docFactory.newDocumentBuilder().newDocument();
-			Element root = doc.createElement("msleveleditor");
-			doc.appendChild(root);
-			saveDocToFile(doc, xmlFile);
-		} catch (ParserConfigurationException e) {
-			throw new RuntimeException("Cannot create editor xml file due to " + e.getMessage(), e);
+	// Call after reading the start of an element to skip to just after its end.
+	private static void skipElement(XMLEventReader in) throws XMLStreamException {
+		int nested = 1;
+		while (nested > 0) {
+			XMLEvent event = in.nextEvent();
+			if (event.isStartElement() )  ++nested;
+			else if (event.isEndElement() )  --nested;
 		}
 	}
 	
+	private static void copyAttributes(StartElement start, IndentingWriter out) throws XMLStreamException {
+		@SuppressWarnings("unchecked") Iterator<Attribute> attributes = start.getAttributes();
+		while (attributes.hasNext() ) {
+			Attribute attr = attributes.next();
+			out.writer.writeAttribute(attr.getName().getLocalPart(), attr.getValue() );
+		}
+	}
+	
+	private static void writeWorld(IndentingWriter out, String worldName, List<Template> templates, int depth) throws XMLStreamException {
+		out.start(WORLD, depth);
+		out.writer.writeAttribute("name", worldName);
+		writeTemplates(out, templates, depth + 1);
+		out.end(depth);
+	}
+	
 	private static String tileTypeToXml(TileType tile) {
 		if (tile instanceof CommonTile) {
 			switch ( ((CommonTile)tile).getUnderlyingType() ) {
@@ -165,23 +237,81 @@ public final class TemplateXmlWriter {
 		throw new RuntimeException("Xml decoding for templates cannot handle tiles of type " + tile.getClass().getName() );
 	}
 	
-	// Call on a node of name "templates"
-	private static void addTemplatesToNode(Document doc, Node node, List<Template> templates) {
-		assert "templates".equals(node.getNodeName() );
-		// Now add the template nodes.
+	private static void writeTemplates(IndentingWriter out, List<Template> templates, int depth) throws XMLStreamException {
+		out.start(TEMPLATES, depth);
 		for (Template t : templates) {
-			Element templateNode = doc.createElement("template");
+			out.start(TEMPLATE, depth + 1);
 			for (TemplateTile tempTile : t.getTilesInTemplate() ) {
-				Element tileNode = doc.createElement("tile");
-				tileNode.setAttribute("id", String.valueOf(tempTile.tile.getId() ) );
-				tileNode.setAttribute("row", String.valueOf(tempTile.row) );
-				tileNode.setAttribute("col", String.valueOf(tempTile.col) );
-				tileNode.setAttribute("type", tileTypeToXml(tempTile.tile) );
-				templateNode.appendChild(tileNode);
+				out.empty(TILE, depth + 2);
+				out.writer.writeAttribute("id", String.valueOf(tempTile.tile.getId() ) );
+				out.writer.writeAttribute("row", String.valueOf(tempTile.row) );
+				out.writer.writeAttribute("col", String.valueOf(tempTile.col) );
+				out.writer.writeAttribute("type", tileTypeToXml(tempTile.tile) );
 			}
-			
-			node.appendChild(templateNode);
+			out.end(depth + 1);
 		}
+		out.end(depth);
 	}
 	
+	/**
+	 * 
+	 * Wraps a stream writer to put each element on its own line, indented four spaces per level. An element with no
+	 * child elements has its end tag on the same line as its start.
+	 * 
+	 */
+	private static final class IndentingWriter {
+		private final XMLStreamWriter writer;
+		// True if the last thing written was an element start tag that has had no content written since.
+		private boolean openStart;
+		
+		private IndentingWriter(final XMLStreamWriter writer) {
+			this.writer = writer;
+		}
+		
+		private void start(String name, int depth) throws XMLStreamException {
+			indent(depth);
+			writer.writeStartElement(name);
+			openStart = true;
+		}
+		
+		private void empty(String name, int depth) throws XMLStreamException {
+			indent(depth);
+			writer.writeEmptyElement(name);
+			openStart = false;
+		}
+		
+		private void end(int depth) throws XMLStreamException {
+			if (!(openStart) )  indent(depth);
+			writer.writeEndElement();
+			openStart = false;
+		}
+		
+		private void text(String text) throws XMLStreamException {
+			// Text alone does not count as content; the end tag still stays on the same line.
+			writer.writeCharacters(text);
+		}
+		
+		private void comment(String comment, int depth) throws XMLStreamException {
+			indent(depth);
+			writer.writeComment(comment);
+			openStart = false;
+		}
+		
+		private void indent(int depth) throws XMLStreamException {
+			writer.writeCharacters("\n");
+			for (int i = 0; i < depth; ++i) {
+				writer.writeCharacters(INDENT);
+			}
+		}
+	}
+	
+	private static final String INDENT = "    ";
+	
+	// Element names
+	private static final String ROOT = "msleveleditor";
+	private static final String WORLD = "world";
+	private static final String TEMPLATES = "templates";
+	private static final String TEMPLATE = "template";
+	private static final String TILE = "tile";
+	
 }
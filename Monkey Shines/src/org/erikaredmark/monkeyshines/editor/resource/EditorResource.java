@@ -1,13 +1,18 @@
 package org.erikaredmark.monkeyshines.editor.resource;
 
 import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import javax.imageio.ImageIO;
 
 import org.erikaredmark.monkeyshines.LevelScreen;
+import org.erikaredmark.monkeyshines.TileMap;
 import org.erikaredmark.monkeyshines.World;
+import org.erikaredmark.monkeyshines.background.Background;
 import org.erikaredmark.monkeyshines.background.FullBackground;
 import org.erikaredmark.monkeyshines.resource.AwtWorldGraphics;
 
@@ -26,6 +31,18 @@ public final class EditorResource {
 	private static final BufferedImage newScreenThumbnail;
 	private static final BufferedImage noScreenHereThumbnail;
 	
+	private static final int THUMBNAIL_WIDTH = 160;
+	private static final int THUMBNAIL_HEIGHT = 100;
+	private static final double THUMBNAIL_SCALE = 0.25;
+	
+	// Thumbnails are cached per screen instance. Weak keys so screens removed from a world (or entire worlds
+	// closed in the editor) do not keep their thumbnails alive. Entries validate themselves against the current
+	// state of the screen, so edits to a screen automatically cause a regeneration on next request.
+	// Only accessed from the EDT.
+	private static final Map<LevelScreen, CachedThumbnail> screenThumbnails = new WeakHashMap<>();
+	// Backgrounds never change once loaded, so the source image alone is enough of a key.
+	private static final Map<BufferedImage, BufferedImage> backgroundThumbnails = new WeakHashMap<>();
+	
 	static {
 		try {
 			newScreenThumbnail = ImageIO.read(EditorResource.class.getResourceAsStream("/resources/graphics/editor/newScreen.png") );
@@ -75,6 +92,9 @@ public final class EditorResource {
 	 * <p/>
 	 * If the screen id does not exist, this method fails. It is up to the client to determine what,
 	 * if anything, they wish to display for non-existent screens.
+	 * <p/>
+	 * Thumbnails are cached per screen and only regenerated when the screen's tiles or background
+	 * have changed since the last call. The returned image is shared and must not be modified.
 	 * 
 	 * @param world
 	 * 		the actual world that stores the levels
@@ -95,28 +115,24 @@ public final class EditorResource {
 		}
 		
 		LevelScreen screen = world.getScreenByID(selectedScreenId);
-		// Make full size temp
-		BufferedImage tempLevel = new BufferedImage(640, 400, BufferedImage.TYPE_INT_ARGB);
-		Graphics2D tempLevelGraphics = tempLevel.createGraphics();
-		screen.paintForThumbnail(tempLevelGraphics);
-		
-		BufferedImage thumbnail = new BufferedImage(160, 100, BufferedImage.TYPE_INT_ARGB);
-		// Iterate over each pixel of the temp image. Only use every fourth pixel from every fourth row.
-		for (int i = 0; i < 160; i++) {
-			for (int j = 0; j < 100; j++) {
-				int srcPixel = tempLevel.getRGB(i * 4, j * 4);
-				thumbnail.setRGB(i, j, srcPixel);
-			}
+		CachedThumbnail cached = screenThumbnails.get(screen);
+		if (cached != null && cached.isValidFor(screen) ) {
+			return cached.thumbnail;
 		}
 		
-		tempLevelGraphics.dispose();
+		BufferedImage thumbnail = new BufferedImage(THUMBNAIL_WIDTH, THUMBNAIL_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D thumbnailGraphics = createThumbnailGraphics(thumbnail);
+		screen.paintForThumbnail(thumbnailGraphics);
+		thumbnailGraphics.dispose();
 		
+		screenThumbnails.put(screen, new CachedThumbnail(screen, thumbnail) );
 		return thumbnail;
 	}
 	
 	/**
 	 * 
-	 * Generates a 160x100 thumbail of the given background only.
+	 * Generates a 160x100 thumbail of the given background only. Background thumbnails are cached
+	 * for as long as the backing background image is alive; the returned image must not be modified.
 	 * 
 	 * @param b
 	 * 
@@ -124,18 +140,60 @@ public final class EditorResource {
 	 * 		160x100 thumbnail
 	 */
 	public static BufferedImage generateThumbnailForBackground(FullBackground b, AwtWorldGraphics awtGraphics) {
-		BufferedImage thumbnail = new BufferedImage(160, 100, BufferedImage.TYPE_INT_ARGB);
 		BufferedImage rawImage = 
 			b.isPattern() ? awtGraphics.patternedBackgrounds[b.getId()] : awtGraphics.backgrounds[b.getId()];
 		
-		for (int i = 0; i < 160; i++) {
-			for (int j = 0; j < 100; j++) {
-				int srcPixel = rawImage.getRGB(i * 4, j * 4);
-				thumbnail.setRGB(i, j, srcPixel);
-			}
-		}
+		BufferedImage thumbnail = backgroundThumbnails.get(rawImage);
+		if (thumbnail != null)  return thumbnail;
+		
+		thumbnail = new BufferedImage(THUMBNAIL_WIDTH, THUMBNAIL_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D thumbnailGraphics = createThumbnailGraphics(thumbnail);
+		thumbnailGraphics.drawImage(rawImage, 0, 0, null);
+		thumbnailGraphics.dispose();
 		
+		backgroundThumbnails.put(rawImage, thumbnail);
 		return thumbnail;
 	}
 	
+	/**
+	 * 
+	 * Creates a graphics context for the given thumbnail that is pre-scaled so that painting code written for
+	 * the full 640x400 playfield draws directly at thumbnail size. Nearest neighbour sampling keeps the same
+	 * crisp look as picking every fourth pixel did.
+	 * 
+	 */
+	private static Graphics2D createThumbnailGraphics(BufferedImage thumbnail) {
+		Graphics2D g2d = thumbnail.createGraphics();
+		g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+		g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
+		g2d.scale(THUMBNAIL_SCALE, THUMBNAIL_SCALE);
+		return g2d;
+	}
+	
+	/**
+	 * 
+	 * A generated thumbnail along with enough information about the screen at the time of generation
+	 * to know if the screen has since been edited.
+	 * 
+	 */
+	private static final class CachedThumbnail {
+		private final Background background;
+		private final TileMap map;
+		private final int mapModificationCount;
+		private final BufferedImage thumbnail;
+		
+		private CachedThumbnail(LevelScreen screen, BufferedImage thumbnail) {
+			this.background = screen.getBackground();
+			this.map = screen.getMap();
+			this.mapModificationCount = map.getModificationCount();
+			this.thumbnail = thumbnail;
+		}
+		
+		private boolean isValidFor(LevelScreen screen) {
+			return    background == screen.getBackground()
+				   && map == screen.getMap()
+				   && mapModificationCount == map.getModificationCount();
+		}
+	}
+	
 }
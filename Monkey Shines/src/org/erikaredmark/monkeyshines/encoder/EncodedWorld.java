@@ -570,12 +570,14 @@ public final class EncodedWorld {
 	// NOTICE: This is intended as part of LevelScreen. Only tilemaps of 20 rows by 32 columns are supported.
 	static TileMap protoToTiles(List<WorldFormatProtos.World.Tile> protoTiles, WorldResource rsrc, List<Hazard> hazards, List<Conveyer> conveyers) {
 		TileMap map = new TileMap(GameConstants.LEVEL_ROWS, GameConstants.LEVEL_COLS);
-		TileType[] internalMap = map.internalMap();
 		Iterator<WorldFormatProtos.World.Tile> it = protoTiles.iterator();
 		for (int i = 0; i < GameConstants.TOTAL_TILES; ++i) {
 			assert it.hasNext();
 			WorldFormatProtos.World.Tile encodedTile = it.next();
-			internalMap[i] = protoToTileType(encodedTile.getType(), encodedTile, rsrc, hazards, conveyers);
+			map.setTileRowCol(
+				i / GameConstants.LEVEL_COLS,
+				i % GameConstants.LEVEL_COLS,
+				protoToTileType(encodedTile.getType(), encodedTile, rsrc, hazards, conveyers) );
 		}
 		return map;
 	}
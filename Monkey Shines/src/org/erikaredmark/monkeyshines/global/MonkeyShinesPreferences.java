@@ -1,17 +1,23 @@
 package org.erikaredmark.monkeyshines.global;
 
 import java.awt.event.KeyEvent;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.erikaredmark.monkeyshines.KeyBindingsAwt;
+import org.erikaredmark.monkeyshines.video.FramePacing;
 import org.erikaredmark.monkeyshines.video.ScreenSize;
+import org.erikaredmark.util.AtomicFiles;
 import org.erikaredmark.util.BinaryLocation;
 
 /**
@@ -20,8 +26,9 @@ import org.erikaredmark.util.BinaryLocation;
  * to a file in the same folder as the binary, in addition to loading the preferences file for setting the initial
  * values for the global static *Settings objects.
  * <p/>
- * This class is automatically initialised when a global preference object requests it's default preferences
- * on its initialisation.
+ * The preferences file is read the first time a preference is requested. Persisting only updates the preferences in
+ * memory; the file is rewritten shortly afterwards on a background thread, once for any number of changes made in the
+ * meantime, and always by replacing it whole so a crash cannot leave it half written.
  * <p/>
  * Preferences include all persistent data and may not be contained within the same file, but multiple files according
  * to use.
@@ -34,9 +41,9 @@ public final class MonkeyShinesPreferences {
 	private static final Logger LOGGER = Logger.getLogger(CLASS_NAME);
 
 	private static final Path PREFERENCES_EXPECTED = BinaryLocation.BINARY_LOCATION.getParent().resolve("monkeyshines.pref");
-	private static final Path HIGH_SCORES_EXPECTED = BinaryLocation.BINARY_LOCATION.getParent().resolve("ms_high_scores.txt");
-
-	private static final Properties PREF_INTERNAL = new Properties();
+	private static final Path HIGH_SCORES_EXPECTED = BinaryLocation.BINARY_LOCATION.getParent().resolve("ms_high_scores.dat");
+	// Plain-text high scores from before the binary format. Only read, when no binary file exists yet.
+	private static final Path LEGACY_HIGH_SCORES = BinaryLocation.BINARY_LOCATION.getParent().resolve("ms_high_scores.txt");
 
 	// Preference defaults if a new preferences file must be created.
 	private static final KeyBindingsAwt DEFAULT_BINDINGS = new KeyBindingsAwt(
@@ -45,6 +52,7 @@ public final class MonkeyShinesPreferences {
 	private static final int DEFAULT_MUSIC_VOLUME = 60;
 	private static final int DEFAULT_SOUND_VOLUME = 100;
 	private static final boolean DEFAULT_FULLSCREEN_MODE = false;
+	private static final FramePacing DEFAULT_FRAME_PACING = FramePacing.VSYNC;
 	
 	// Names for each binding. 
 	private static final String KEY_BINDING_LEFT = "keyleft";
@@ -56,69 +64,74 @@ public final class MonkeyShinesPreferences {
 	private static final String PLAYTEST = "thunderbird";
 	private static final String RESOLUTION_WIDTH = "res-width";
 	private static final String RESOLUTION_HEIGHT = "res-height";
+	private static final String FRAME_PACING = "frame-pacing";
 	
 	
-	static {
-		boolean preferencesFileAvailable = true;
-		if (!(Files.exists(PREFERENCES_EXPECTED) ) ) {
-			try {
-				Files.createFile(PREFERENCES_EXPECTED);
-			} catch (IOException e) {
-				LOGGER.log(Level.WARNING,
-						   "Preferences cannot be saved for this game session, nor can high scores! Unable to create preferences file: " + e.getMessage(),
-						   e);
-				preferencesFileAvailable = false;
-			}
-		}
+	// Pending changes are written this long after the first of them, so a burst of changes is one write.
+	private static final long SAVE_DELAY_MILLIS = 500;
+	
+	// Set when changes are waiting to be written, cleared by the write that takes them.
+	private static final AtomicBoolean SAVE_PENDING = new AtomicBoolean();
+	// Failure of the most recent write, if it failed; reported to the next caller to persist anything.
+	private static volatile IOException lastSaveFailure;
+	
+	/**
+	 * Preferences are read on first use rather than when this class is initialised, so that startup does not wait on
+	 * the disk for preferences nothing has asked for yet.
+	 */
+	private static final class Loaded {
+		private static final Properties PREF_INTERNAL = load();
+	}
+	
+	/**
+	 * Writes are done by one background thread so that neither the menus nor the game wait on the disk.
+	 */
+	private static final class Saver {
+		private static final ScheduledExecutorService SAVER = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "Preferences Saver");
+			t.setDaemon(true);
+			return t;
+		});
 		
-		if (preferencesFileAvailable) {
+		static {
+			// The saver is a daemon; anything still waiting for it when the game quits is written on the way out.
+			Runtime.getRuntime().addShutdownHook(new Thread(MonkeyShinesPreferences::flush, "Preferences Flush") );
+		}
+	}
+	
+	private static Properties prefs() { return Loaded.PREF_INTERNAL; }
+	
+	private static Properties load() {
+		Properties loaded = new Properties();
+		// A missing file is not an error; it is written with defaults the first time anything is persisted.
+		if (Files.exists(PREFERENCES_EXPECTED) ) {
 			try (InputStream inStream = Files.newInputStream(PREFERENCES_EXPECTED) ) {
-				PREF_INTERNAL.load(inStream);
-				// If the file was just created or the game program logic has changed and added more values,
-				// put defaults in for them now.
-				if (!(PREF_INTERNAL.containsKey(KEY_BINDING_LEFT) ) ) {
-					PREF_INTERNAL.setProperty(KEY_BINDING_LEFT, String.valueOf(DEFAULT_BINDINGS.left) );
-				}
-				
-				if (!(PREF_INTERNAL.containsKey(KEY_BINDING_RIGHT) ) ) {
-					PREF_INTERNAL.setProperty(KEY_BINDING_RIGHT, String.valueOf(DEFAULT_BINDINGS.right) );
-				}
-				
-				if (!(PREF_INTERNAL.containsKey(KEY_BINDING_JUMP) ) ) {
-					PREF_INTERNAL.setProperty(KEY_BINDING_JUMP, String.valueOf(DEFAULT_BINDINGS.jump) );
-				}
-				
-				if (!(PREF_INTERNAL.containsKey(SOUND_VOLUME) ) ) {
-					PREF_INTERNAL.setProperty(SOUND_VOLUME, String.valueOf(DEFAULT_SOUND_VOLUME) );
-				}
-				
-				if (!(PREF_INTERNAL.containsKey(MUSIC_VOLUME) ) ) {
-					PREF_INTERNAL.setProperty(MUSIC_VOLUME, String.valueOf(DEFAULT_MUSIC_VOLUME) );
-				}
-				
-				if (!(PREF_INTERNAL.containsKey(FULLSCREEN) ) ) {
-					PREF_INTERNAL.setProperty(FULLSCREEN, String.valueOf(DEFAULT_FULLSCREEN_MODE) );
-				}
-				
-				if (!(PREF_INTERNAL.containsKey(PLAYTEST) ) ) {
-					PREF_INTERNAL.setProperty(PLAYTEST, "false");
-				}
-				
-				if (!(PREF_INTERNAL.containsKey(RESOLUTION_WIDTH) ) ) {
-					PREF_INTERNAL.setProperty(RESOLUTION_WIDTH, String.valueOf(ScreenSize.getDefaultResolutionWidth()));
-				}
-				
-				if (!(PREF_INTERNAL.containsKey(RESOLUTION_HEIGHT) ) ) {
-					PREF_INTERNAL.setProperty(RESOLUTION_HEIGHT, String.valueOf(ScreenSize.getDefaultResolutionHeight()));
-				}
-				
+				loaded.load(inStream);
 			} catch (IOException e) {
 				LOGGER.log(Level.WARNING,
-						   "Preferences cannot be saved for this game session, nor can high scores! Unable to load preferences file: possible preference corruption: " + e.getMessage(),
+						   "Unable to load preferences file: possible preference corruption. Defaults will be used: " + e.getMessage(),
 						   e);
 			}
 		}
 		
+		// If the file was just created or the game program logic has changed and added more values,
+		// put defaults in for them now.
+		setIfAbsent(loaded, KEY_BINDING_LEFT, String.valueOf(DEFAULT_BINDINGS.left) );
+		setIfAbsent(loaded, KEY_BINDING_RIGHT, String.valueOf(DEFAULT_BINDINGS.right) );
+		setIfAbsent(loaded, KEY_BINDING_JUMP, String.valueOf(DEFAULT_BINDINGS.jump) );
+		setIfAbsent(loaded, SOUND_VOLUME, String.valueOf(DEFAULT_SOUND_VOLUME) );
+		setIfAbsent(loaded, MUSIC_VOLUME, String.valueOf(DEFAULT_MUSIC_VOLUME) );
+		setIfAbsent(loaded, FULLSCREEN, String.valueOf(DEFAULT_FULLSCREEN_MODE) );
+		setIfAbsent(loaded, PLAYTEST, "false");
+		setIfAbsent(loaded, RESOLUTION_WIDTH, String.valueOf(ScreenSize.getDefaultResolutionWidth()));
+		setIfAbsent(loaded, RESOLUTION_HEIGHT, String.valueOf(ScreenSize.getDefaultResolutionHeight()));
+		setIfAbsent(loaded, FRAME_PACING, DEFAULT_FRAME_PACING.name() );
+		
+		return loaded;
+	}
+	
+	private static void setIfAbsent(Properties props, String key, String value) {
+		if (!(props.containsKey(key) ) )  props.setProperty(key, value);
 	}
 	
 	/**
@@ -141,6 +154,15 @@ public final class MonkeyShinesPreferences {
 	 */
 	public static Path getHighScoresPath() { return HIGH_SCORES_EXPECTED; }
 	
+	/**
+	 * 
+	 * Returns the path to the plain-text high scores file written by older versions. The file is not guaranteed to exist.
+	 * 
+	 * @return
+	 * 
+	 */
+	public static Path getLegacyHighScoresPath() { return LEGACY_HIGH_SCORES; }
+	
 	/**
 	 * 
 	 * In order for other objects to store (such as highscores) if they have a reference to a properties file
@@ -153,58 +175,93 @@ public final class MonkeyShinesPreferences {
 	public static String getPreferencesComments() { return "Monkey Shines Preferences File"; }
 
 
-	public static int defaultSoundVolume() { return Integer.valueOf(PREF_INTERNAL.getProperty(SOUND_VOLUME) ); }
-	public static int defaultMusicVolume() { return Integer.valueOf(PREF_INTERNAL.getProperty(MUSIC_VOLUME) ); }
-	public static boolean defaultFullscreen() { return Boolean.valueOf(PREF_INTERNAL.getProperty(FULLSCREEN) ); }
-	public static boolean defaultThunderbird() { return Boolean.valueOf(PREF_INTERNAL.getProperty(PLAYTEST) ); }
+	public static int defaultSoundVolume() { return Integer.valueOf(prefs().getProperty(SOUND_VOLUME) ); }
+	public static int defaultMusicVolume() { return Integer.valueOf(prefs().getProperty(MUSIC_VOLUME) ); }
+	public static boolean defaultFullscreen() { return Boolean.valueOf(prefs().getProperty(FULLSCREEN) ); }
+	public static boolean defaultThunderbird() { return Boolean.valueOf(prefs().getProperty(PLAYTEST) ); }
 	
 	// Key bindings are stored as java awt key codes. 
 	public static KeyBindingsAwt defaultKeyBindings() { 
-		return new KeyBindingsAwt(Integer.valueOf(PREF_INTERNAL.getProperty(KEY_BINDING_LEFT) ), 
-							   Integer.valueOf(PREF_INTERNAL.getProperty(KEY_BINDING_RIGHT) ), 
-							   Integer.valueOf(PREF_INTERNAL.getProperty(KEY_BINDING_JUMP) ) ); 
+		return new KeyBindingsAwt(Integer.valueOf(prefs().getProperty(KEY_BINDING_LEFT) ), 
+							   Integer.valueOf(prefs().getProperty(KEY_BINDING_RIGHT) ), 
+							   Integer.valueOf(prefs().getProperty(KEY_BINDING_JUMP) ) ); 
 	}
 	
 	public static ScreenSize defaultResolution() { 
 		return new ScreenSize(
-			Integer.valueOf(PREF_INTERNAL.getProperty(RESOLUTION_WIDTH)),
-			Integer.valueOf(PREF_INTERNAL.getProperty(RESOLUTION_HEIGHT)));
+			Integer.valueOf(prefs().getProperty(RESOLUTION_WIDTH)),
+			Integer.valueOf(prefs().getProperty(RESOLUTION_HEIGHT)));
 	}
 	
+	public static FramePacing defaultFramePacing() {
+		String pacing = prefs().getProperty(FRAME_PACING, DEFAULT_FRAME_PACING.name() );
+		try {
+			return FramePacing.valueOf(pacing);
+		} catch (IllegalArgumentException e) {
+			LOGGER.warning(CLASS_NAME + ": Unknown frame pacing " + pacing + " in preferences; using " + DEFAULT_FRAME_PACING);
+			return DEFAULT_FRAME_PACING;
+		}
+	}
+	
+	/**
+	 * Schedules the preferences to be written, unless a write is already waiting in which case that write will include
+	 * whatever has just changed. Throws if the previous write failed, so callers still hear of a file that cannot be saved;
+	 * the write is scheduled regardless.
+	 */
 	private static void save() throws PreferencePersistException {
-		try (OutputStream out = Files.newOutputStream(PREFERENCES_EXPECTED) ) {
-			PREF_INTERNAL.store(out, getPreferencesComments() );
+		if (SAVE_PENDING.compareAndSet(false, true) ) {
+			Saver.SAVER.schedule(MonkeyShinesPreferences::flush, SAVE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+		}
+		
+		IOException failure = lastSaveFailure;
+		if (failure != null)  throw new PreferencePersistException(failure.getMessage(), failure);
+	}
+	
+	// Synchronized so the shutdown hook and the saver never write at the same time.
+	private static synchronized void flush() {
+		// Claim the pending changes first; anything changed whilst writing schedules another write.
+		if (!(SAVE_PENDING.getAndSet(false) ) )  return;
+		
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			prefs().store(out, getPreferencesComments() );
+			AtomicFiles.write(PREFERENCES_EXPECTED, out.toByteArray() );
+			lastSaveFailure = null;
 		} catch (IOException e) {
-			throw new PreferencePersistException(e.getMessage(), e);
+			lastSaveFailure = e;
+			LOGGER.log(Level.WARNING,
+					   "Preferences cannot be saved: " + e.getMessage(),
+					   e);
 		}
 	}
 
 	static void persistKeyBindings() throws PreferencePersistException {
-		PREF_INTERNAL.setProperty(KEY_BINDING_LEFT, String.valueOf(KeySettings.getBindings().left) );
-		PREF_INTERNAL.setProperty(KEY_BINDING_RIGHT, String.valueOf(KeySettings.getBindings().right) );
-		PREF_INTERNAL.setProperty(KEY_BINDING_JUMP, String.valueOf(KeySettings.getBindings().jump) );
+		prefs().setProperty(KEY_BINDING_LEFT, String.valueOf(KeySettings.getBindings().left) );
+		prefs().setProperty(KEY_BINDING_RIGHT, String.valueOf(KeySettings.getBindings().right) );
+		prefs().setProperty(KEY_BINDING_JUMP, String.valueOf(KeySettings.getBindings().jump) );
 		
 		save();
 	}
 	
 	static void persistSound() throws PreferencePersistException {
-		PREF_INTERNAL.setProperty(SOUND_VOLUME, String.valueOf(SoundSettings.getSoundVolumePercent() ) );
-		PREF_INTERNAL.setProperty(MUSIC_VOLUME, String.valueOf(SoundSettings.getMusicVolumePercent() ) );
+		prefs().setProperty(SOUND_VOLUME, String.valueOf(SoundSettings.getSoundVolumePercent() ) );
+		prefs().setProperty(MUSIC_VOLUME, String.valueOf(SoundSettings.getMusicVolumePercent() ) );
 		
 		save();
 	}
 	
 	static void persistVideo() throws PreferencePersistException {
-		PREF_INTERNAL.setProperty(FULLSCREEN, String.valueOf(VideoSettings.isFullscreen() ) );
+		prefs().setProperty(FULLSCREEN, String.valueOf(VideoSettings.isFullscreen() ) );
 		ScreenSize resolution = VideoSettings.getResolution();
-		PREF_INTERNAL.setProperty(RESOLUTION_WIDTH, String.valueOf(resolution.getWidth()));
-		PREF_INTERNAL.setProperty(RESOLUTION_HEIGHT, String.valueOf(resolution.getHeight()));
+		prefs().setProperty(RESOLUTION_WIDTH, String.valueOf(resolution.getWidth()));
+		prefs().setProperty(RESOLUTION_HEIGHT, String.valueOf(resolution.getHeight()));
+		prefs().setProperty(FRAME_PACING, VideoSettings.getFramePacing().name() );
 		
 		save();
 	}
 	
 	static void persistThunderbird() throws PreferencePersistException {
-		PREF_INTERNAL.setProperty(PLAYTEST, String.valueOf(SpecialSettings.isThunderbird() ) );
+		prefs().setProperty(PLAYTEST, String.valueOf(SpecialSettings.isThunderbird() ) );
 		
 		save();
 	}
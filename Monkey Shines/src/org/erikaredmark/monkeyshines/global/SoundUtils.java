@@ -2,6 +2,8 @@ package org.erikaredmark.monkeyshines.global;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.sound.sampled.AudioFormat;
 import javax.sound.sampled.AudioInputStream;
@@ -19,6 +21,9 @@ import javax.sound.sampled.UnsupportedAudioFileException;
  *
  */
 public final class SoundUtils {
+	private static final String CLASS_NAME = "org.erikaredmark.monkeyshines.global.SoundUtils";
+	private static final Logger LOGGER = Logger.getLogger(CLASS_NAME);
+	
 	/**
 	 * 
 	 * Treats the contents of the stream as ogg encoded and loads the stream into memory, returning a
@@ -71,7 +76,7 @@ public final class SoundUtils {
 			Clip clip = AudioSystem.getClip();
 			clip.open(decodedInputStream);
 			if (clip.getFrameLength() == 0) {
-				System.err.println("Clip " + name + " has no loaded frames. There is an unknown issue decoding .ogg files of sizes less than or equal to around 6K. Please add inaudible noise to sound file to increase size");
+				LOGGER.warning(CLASS_NAME + ": Clip " + name + " has no loaded frames. There is an unknown issue decoding .ogg files of sizes less than or equal to around 6K. Please add inaudible noise to sound file to increase size");
 			}
 
 			return clip;
@@ -112,7 +117,9 @@ public final class SoundUtils {
 		// Larger values mean MORE sound, not less, so converting to negative directly won't work. We pick a 'MIN'
 		// sound on offset from that.
 		gain = MIN_SOUND + gain;
-		System.out.println("Calculation of " + value + " got a gain of " + gain);
+		if (LOGGER.isLoggable(Level.FINE) ) {
+			LOGGER.fine(CLASS_NAME + ": Calculation of " + value + " got a gain of " + gain);
+		}
 		return (float) gain;
 	}
 }
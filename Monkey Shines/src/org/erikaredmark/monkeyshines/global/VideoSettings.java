@@ -1,6 +1,7 @@
 package org.erikaredmark.monkeyshines.global;
 
 import org.erikaredmark.monkeyshines.global.PreferencePersistException;
+import org.erikaredmark.monkeyshines.video.FramePacing;
 import org.erikaredmark.monkeyshines.video.ScreenSize;
 
 /**
@@ -15,6 +16,9 @@ public class VideoSettings {
 	private static boolean fullScreen = MonkeyShinesPreferences.defaultFullscreen();
 	
 	private static ScreenSize selectedResolution = MonkeyShinesPreferences.defaultResolution();
+	
+	private static FramePacing framePacing = MonkeyShinesPreferences.defaultFramePacing();
+	
 	/**
 	 * 
 	 * Determines if the user asked for a fullscreen mode. Fullscreen mode affects ONLY the actual
@@ -51,6 +55,18 @@ public class VideoSettings {
 		return selectedResolution;
 	}
 	
+	/**
+	 * Sets how the game paces drawing frames, which will be used next launch of the game. (make sure to
+	 * persist video settings after calling this method)
+	 */
+	public static void setFramePacing(FramePacing pacing) {
+		framePacing = pacing;
+	}
+	
+	public static FramePacing getFramePacing() {
+		return framePacing;
+	}
+	
 	/**
 	 * Updates preferences file (if possible) with changes. This is called manually so that playing around with
 	 * preferences doesn't cause excessive disk usage. Only call when the preference is okayed or saved by the user.
@@ -0,0 +1,146 @@
+package org.erikaredmark.monkeyshines.logging;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ *
+ * Handler that queues log records and hands them to other handlers from a background thread, so that logging from the
+ * game loop or audio code never waits on a console or log file.
+ * <p/>
+ * The queue is bounded and lock free. Should it ever fill, further records are dropped and a single warning saying how
+ * many were lost is written once there is room again. The writer thread wakes every so often to drain the queue in a
+ * batch, flushing the target handlers once per batch; warnings, or a queue filling up, wake it early.
+ * <p/>
+ * Closing this handler writes out everything still queued and then closes the target handlers. The logging system
+ * closes all handlers when the virtual machine shuts down, so nothing logged before then is lost.
+ *
+ * @author Erika Redmark
+ *
+ */
+final class AsyncLogHandler extends Handler {
+	private static final int CAPACITY = 4096;
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+	private final List<Handler> targets;
+	private final ConcurrentLinkedQueue<LogRecord> queue = new ConcurrentLinkedQueue<>();
+	// Records in the queue. Counted separately as asking the queue for its size is not constant time.
+	private final AtomicInteger queued = new AtomicInteger();
+	private final AtomicInteger dropped = new AtomicInteger();
+	private final AtomicBoolean closed = new AtomicBoolean();
+	private final Thread writer;
+
+	/**
+	 *
+	 * Creates a new handler publishing to the given handlers, and starts its writer thread.
+	 *
+	 * @param targets
+	 * 		handlers that actually write the records. From now on they must only be used through this handler
+	 *
+	 */
+	AsyncLogHandler(final List<Handler> targets) {
+		this.targets = ImmutableList.copyOf(targets);
+		setLevel(Level.ALL);
+
+		writer = new Thread(this::writeLoop, "Log Writer");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	@Override public void publish(LogRecord record) {
+		if (closed.get() || !(isLoggable(record) ) )  return;
+
+		// The caller is found by walking the stack, which has to happen here; on the writer thread it would be wrong.
+		record.getSourceClassName();
+
+		if (queued.incrementAndGet() > CAPACITY) {
+			queued.decrementAndGet();
+			dropped.incrementAndGet();
+			return;
+		}
+
+		queue.offer(record);
+		if (   record.getLevel().intValue() >= Level.WARNING.intValue()
+			|| queued.get() > CAPACITY / 2) {
+
+			LockSupport.unpark(writer);
+		}
+	}
+
+	private void writeLoop() {
+		boolean unflushed = false;
+		while (true) {
+			LogRecord record = queue.poll();
+			if (record != null) {
+				queued.decrementAndGet();
+				write(record);
+				unflushed = true;
+				continue;
+			}
+
+			int lost = dropped.getAndSet(0);
+			if (lost > 0) {
+				write(new LogRecord(Level.WARNING, lost + " log records were dropped because the log queue was full") );
+				unflushed = true;
+			}
+
+			if (unflushed) {
+				for (Handler h : targets)  h.flush();
+				unflushed = false;
+			}
+
+			// Only stop once closing and fully drained; records may still have arrived since the last poll.
+			if (closed.get() && queue.isEmpty() )  return;
+
+			LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+		}
+	}
+
+	private void write(LogRecord record) {
+		for (Handler h : targets) {
+			try {
+				h.publish(record);
+			} catch (RuntimeException e) {
+				reportError(null, e, ErrorManager.WRITE_FAILURE);
+			}
+		}
+	}
+
+	/**
+	 *
+	 * Wakes the writer so anything queued is written soon. Does not wait for it to be written.
+	 *
+	 */
+	@Override public void flush() {
+		LockSupport.unpark(writer);
+	}
+
+	/**
+	 *
+	 * Writes out everything queued so far, waiting up to a couple of seconds for that to happen, then closes the target
+	 * handlers. Records published after this are ignored.
+	 *
+	 */
+	@Override public void close() {
+		if (!(closed.compareAndSet(false, true) ) )  return;
+
+		LockSupport.unpark(writer);
+		try {
+			writer.join(TimeUnit.SECONDS.toMillis(2) );
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		for (Handler h : targets)  h.close();
+	}
+}
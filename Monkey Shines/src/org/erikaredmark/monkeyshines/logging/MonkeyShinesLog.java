@@ -3,7 +3,9 @@ package org.erikaredmark.monkeyshines.logging;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.logging.FileHandler;
+import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.LogManager;
 import java.util.logging.Logger;
@@ -18,6 +20,9 @@ import org.erikaredmark.util.BinaryLocation;
  * be found.
  * <p/>
  * Provides easy access to logging facilities throughout the game code base.
+ * <p/>
+ * Whatever handlers are configured are moved behind an {@code AsyncLogHandler}, so code logging from the game loop or audio
+ * threads only ever queues records; the writing happens on a background thread.
  * 
  * @author Erika Redmark
  *
@@ -40,6 +45,7 @@ public final class MonkeyShinesLog {
 
 		try (InputStream configStream = Files.newInputStream(BinaryLocation.BINARY_LOCATION.resolve("logging.properties") ) ){
 		    LogManager.getLogManager().readConfiguration(configStream);
+		    LOG = Logger.getLogger("org.erikaredmark.monkeyshines");
 		} catch (IOException ex) {
 			// Do it ourselves
 			System.err.println("WARNING: Could not open configuration file. Dropping to defaults.");
@@ -61,7 +67,22 @@ public final class MonkeyShinesLog {
 		    System.err.println("Log level for system is INFO");
 		}
 		
+		makeAsynchronous(Logger.getLogger("") );
+		makeAsynchronous(LOG);
+		
 		LOG.info("Monkey Shines Java Port Log File Initialised");
 	}
 	
+	// Replaces the handlers of the given logger with one asynchronous handler writing to them. Does nothing for a logger
+	// without handlers.
+	private static void makeAsynchronous(Logger logger) {
+		Handler[] handlers = logger.getHandlers();
+		if (handlers.length == 0)  return;
+		
+		for (Handler h : handlers) {
+			logger.removeHandler(h);
+		}
+		logger.addHandler(new AsyncLogHandler(Arrays.asList(handlers) ) );
+	}
+	
 }
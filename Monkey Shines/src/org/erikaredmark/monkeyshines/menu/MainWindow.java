@@ -5,11 +5,13 @@ import java.awt.event.ActionListener;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.swing.ButtonGroup;
 import javax.swing.JCheckBoxMenuItem;
 import javax.swing.JFrame;
 import javax.swing.JMenu;
 import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
+import javax.swing.JRadioButtonMenuItem;
 
 import org.erikaredmark.monkeyshines.HighScores;
 import org.erikaredmark.monkeyshines.KeyBindingsSlick;
@@ -22,6 +24,7 @@ import org.newdawn.slick.SlickException;
 import org.erikaredmark.monkeyshines.menu.SelectAWorld.WorldSelectionCallback;
 import org.erikaredmark.monkeyshines.play.FrozenWorld;
 import org.erikaredmark.monkeyshines.play.SlickMonkeyShinesStart;
+import org.erikaredmark.monkeyshines.video.FramePacing;
 
 /**
  * 
@@ -59,6 +62,7 @@ public final class MainWindow extends JFrame {
 	// Menu: Options
 	private JMenu options = new JMenu("Options");
 
+	private final JMenu framePacing = new JMenu("Frame Pacing");
 	private final JMenuItem changeFullscreen = new JCheckBoxMenuItem("Fullscreen", null, VideoSettings.isFullscreen() );
 	private final JMenuItem playtestMode = new JCheckBoxMenuItem("Playtesting", null, SpecialSettings.isThunderbird() );
 	
@@ -99,6 +103,27 @@ public final class MainWindow extends JFrame {
 		
 		options.add(changeFullscreen);
 		
+		ButtonGroup framePacingGroup = new ButtonGroup();
+		for (final FramePacing pacing : FramePacing.values() ) {
+			JMenuItem pacingItem = new JRadioButtonMenuItem(pacing.getDisplayName(), VideoSettings.getFramePacing() == pacing);
+			pacingItem.addActionListener(new ActionListener() {
+				@Override public void actionPerformed(ActionEvent arg0) {
+					VideoSettings.setFramePacing(pacing);
+					try {
+						VideoSettings.persist();
+					} catch (PreferencePersistException e) {
+						LOGGER.log(Level.WARNING,
+								   CLASS_NAME + ": cannot persist preferences: " + e.getMessage(),
+								   e);
+					}
+				}
+			});
+			framePacingGroup.add(pacingItem);
+			framePacing.add(pacingItem);
+		}
+		
+		options.add(framePacing);
+		
 		playtestMode.addActionListener(new ActionListener() {
 			@Override public void actionPerformed(ActionEvent arg0) {
 				SpecialSettings.setThunderbird(playtestMode.isSelected() );
@@ -235,7 +260,9 @@ public final class MainWindow extends JFrame {
 				mainWindow.state.transitionFrom(mainWindow);
 				mainWindow.highScores = 
 					new ViewHighScores(
-						HighScores.fromFile(MonkeyShinesPreferences.getHighScoresPath() ),
+						HighScores.fromFile(
+							MonkeyShinesPreferences.getHighScoresPath(),
+							MonkeyShinesPreferences.getLegacyHighScoresPath() ),
 						new ViewHighScores.BackButtonCallback() {
 							@Override public void backButtonPressed() { mainWindow.setGameState(GameState.MENU); }
 						});
@@ -0,0 +1,90 @@
+package org.erikaredmark.monkeyshines.play;
+
+import org.newdawn.slick.Color;
+import org.newdawn.slick.GameContainer;
+import org.newdawn.slick.Graphics;
+import org.newdawn.slick.state.GameState;
+import org.newdawn.slick.state.StateBasedGame;
+import org.newdawn.slick.state.transition.Transition;
+
+/**
+ *
+ * Fades the screen to or from a solid colour, exactly as Slick's {@code FadeOutTransition} and {@code FadeInTransition}
+ * do, except that the fade restarts whenever the transition is initialised. Slick's versions only fade once and so must
+ * be constructed anew for every state change; one instance of this can be kept and passed to every {@code enterState}.
+ * <p/>
+ * An instance must not be used for two state changes at the same time.
+ *
+ * @author Erika Redmark
+ *
+ */
+final class FadeTransition implements Transition {
+	private final Color color;
+	private final int fadeTime;
+	private final boolean fadeIn;
+
+	private FadeTransition(final Color color, final int fadeTime, final boolean fadeIn) {
+		this.color = new Color(color);
+		this.fadeTime = fadeTime;
+		this.fadeIn = fadeIn;
+		init(null, null);
+	}
+
+	/**
+	 *
+	 * Creates a transition that fades from the current state to the given colour.
+	 *
+	 * @param color
+	 * 		colour to fade to
+	 *
+	 * @param fadeTime
+	 * 		length of the fade, in milliseconds
+	 *
+	 */
+	static FadeTransition fadeOut(Color color, int fadeTime) {
+		return new FadeTransition(color, fadeTime, false);
+	}
+
+	/**
+	 *
+	 * Creates a transition that fades from the given colour into the new state.
+	 *
+	 * @param color
+	 * 		colour to fade from
+	 *
+	 * @param fadeTime
+	 * 		length of the fade, in milliseconds
+	 *
+	 */
+	static FadeTransition fadeIn(Color color, int fadeTime) {
+		return new FadeTransition(color, fadeTime, true);
+	}
+
+	@Override public void init(GameState firstState, GameState secondState) {
+		color.a = fadeIn ? 1f : 0f;
+	}
+
+	@Override public void update(StateBasedGame game, GameContainer container, int delta) {
+		float step = delta * (1.0f / fadeTime);
+		if (fadeIn) {
+			color.a -= step;
+			if (color.a < 0)  color.a = 0;
+		} else {
+			color.a += step;
+			if (color.a > 1)  color.a = 1;
+		}
+	}
+
+	@Override public void preRender(StateBasedGame game, GameContainer container, Graphics g) { /* No op */ }
+
+	@Override public void postRender(StateBasedGame game, GameContainer container, Graphics g) {
+		Color old = g.getColor();
+		g.setColor(color);
+		g.fillRect(0, 0, container.getWidth() * 2, container.getHeight() * 2);
+		g.setColor(old);
+	}
+
+	@Override public boolean isComplete() {
+		return fadeIn ? color.a <= 0 : color.a >= 1;
+	}
+}
@@ -0,0 +1,264 @@
+package org.erikaredmark.monkeyshines.play;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.erikaredmark.util.collection.LongRingHistogram;
+import org.newdawn.slick.Color;
+import org.newdawn.slick.Font;
+import org.newdawn.slick.Graphics;
+
+/**
+ *
+ * Measures how long each logic update and each rendered frame take, how much memory the game thread allocates per
+ * frame, and how much time the garbage collector spends per frame. The most recent samples of each are kept in
+ * fixed size rings so that measuring costs the same no matter how long the game runs.
+ * <p/>
+ * The numbers can be shown over the game as an overlay, and can be written out as a text report when the game ends
+ * so that players reporting stutter can attach something concrete. Nothing is measured until either the overlay is
+ * first shown or the report is requested with the {@value #REPORT_PROPERTY} system property, so normal play pays
+ * nothing for this.
+ * <p/>
+ * Allocation tracking relies on the HotSpot extension to {@code ThreadMXBean}; on virtual machines without it
+ * allocations are simply not reported.
+ * <p/>
+ * Not thread safe; intended to be used only from the game loop.
+ *
+ * @author Erika Redmark
+ *
+ */
+public final class FrameMetrics {
+	// When this system property is true, metrics are collected from the start and a report is written when the
+	// game ends.
+	public static final String REPORT_PROPERTY = "monkeyshines.metrics";
+
+	// About 12 seconds of frames at 42 frames per second; more at higher frame rates.
+	private static final int SAMPLES = 512;
+
+	// Overlay text is only rebuilt this often, so drawing the overlay doesn't skew the allocation numbers it shows.
+	private static final int OVERLAY_REFRESH_FRAMES = 20;
+
+	private static final Color OVERLAY_BACKGROUND = new Color(0, 0, 0, 170);
+
+	private final LongRingHistogram updateNanos = new LongRingHistogram(SAMPLES);
+	private final LongRingHistogram renderNanos = new LongRingHistogram(SAMPLES);
+	private final LongRingHistogram allocatedBytes = new LongRingHistogram(SAMPLES);
+	private final LongRingHistogram gcMillis = new LongRingHistogram(SAMPLES);
+
+	private com.sun.management.ThreadMXBean allocationBean;
+	private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+	private final long gameThreadId = Thread.currentThread().getId();
+
+	private long updateStart;
+	private long renderStart;
+	private long lastAllocated;
+	private long lastGcMillis;
+	private boolean collecting;
+
+	private boolean overlayVisible;
+	private int framesUntilOverlayRefresh;
+	private String[] overlayLines = new String[0];
+
+	/**
+	 *
+	 * Creates a new metrics collector for the calling thread, which must be the thread running the game loop.
+	 * Collection starts straight away only if a report was requested.
+	 *
+	 */
+	public FrameMetrics() {
+		if (isReportRequested() )  startCollecting();
+	}
+
+	/**
+	 *
+	 * Returns whether the {@value #REPORT_PROPERTY} system property asks for a report to be written when the game ends.
+	 *
+	 */
+	public static boolean isReportRequested() {
+		return Boolean.getBoolean(REPORT_PROPERTY);
+	}
+
+	private void startCollecting() {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (   threads instanceof com.sun.management.ThreadMXBean
+			&& ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported() ) {
+			allocationBean = (com.sun.management.ThreadMXBean) threads;
+			allocationBean.setThreadAllocatedMemoryEnabled(true);
+			lastAllocated = allocationBean.getThreadAllocatedBytes(gameThreadId);
+		} else {
+			allocationBean = null;
+		}
+
+		lastGcMillis = totalGcMillis();
+		collecting = true;
+	}
+
+	public void beginUpdate() {
+		if (!(collecting) )  return;
+		updateStart = System.nanoTime();
+	}
+
+	public void endUpdate() {
+		if (!(collecting) )  return;
+		updateNanos.add(System.nanoTime() - updateStart);
+	}
+
+	public void beginRender() {
+		if (!(collecting) )  return;
+		renderStart = System.nanoTime();
+	}
+
+	/**
+	 *
+	 * Ends timing the frame render. Allocations and garbage collection time are also sampled here, once per frame,
+	 * covering everything since the previous frame (updates included).
+	 *
+	 */
+	public void endRender() {
+		if (!(collecting) )  return;
+		renderNanos.add(System.nanoTime() - renderStart);
+
+		if (allocationBean != null) {
+			long allocated = allocationBean.getThreadAllocatedBytes(gameThreadId);
+			allocatedBytes.add(allocated - lastAllocated);
+			lastAllocated = allocated;
+		}
+
+		long gc = totalGcMillis();
+		gcMillis.add(gc - lastGcMillis);
+		lastGcMillis = gc;
+	}
+
+	private long totalGcMillis() {
+		long total = 0;
+		for (GarbageCollectorMXBean collector : collectors) {
+			// -1 if a collector doesn't support it.
+			total += Math.max(collector.getCollectionTime(), 0);
+		}
+		return total;
+	}
+
+	public void toggleOverlay() {
+		if (!(collecting) )  startCollecting();
+		overlayVisible = !(overlayVisible);
+		framesUntilOverlayRefresh = 0;
+	}
+
+	/**
+	 *
+	 * Draws the metrics overlay in the top left of the current transform, if it is visible.
+	 *
+	 * @param g
+	 * 		graphics to draw to
+	 *
+	 * @param font
+	 * 		font to draw with
+	 *
+	 */
+	public void paintOverlay(Graphics g, Font font) {
+		if (!(overlayVisible) )  return;
+
+		if (framesUntilOverlayRefresh <= 0) {
+			overlayLines = summaryLines();
+			framesUntilOverlayRefresh = OVERLAY_REFRESH_FRAMES;
+		}
+		--framesUntilOverlayRefresh;
+
+		final int lineHeight = font.getLineHeight();
+		g.setColor(OVERLAY_BACKGROUND);
+		g.fillRect(0, 0, 330, (lineHeight * overlayLines.length) + 8);
+		g.setColor(Color.white);
+		g.setFont(font);
+		for (int i = 0; i < overlayLines.length; ++i) {
+			g.drawString(overlayLines[i], 4, 4 + (lineHeight * i) );
+		}
+	}
+
+	private String[] summaryLines() {
+		return new String[] {
+			timeLine("Update", updateNanos),
+			timeLine("Render", renderNanos),
+			allocationBean != null
+				? sizeLine("Alloc", allocatedBytes)
+				: "Alloc   unavailable on this JVM",
+			"GC      " + sum(gcMillis) + "ms over last " + gcMillis.size() + " frames, worst frame "
+				+ LongRingHistogram.percentile(gcMillis.sorted(), 100) + "ms",
+		};
+	}
+
+	private static String timeLine(String name, LongRingHistogram nanos) {
+		long[] sorted = nanos.sorted();
+		return String.format("%-7s p50 %.2f  p95 %.2f  p99 %.2f  max %.2f ms",
+			name,
+			millis(LongRingHistogram.percentile(sorted, 50) ),
+			millis(LongRingHistogram.percentile(sorted, 95) ),
+			millis(LongRingHistogram.percentile(sorted, 99) ),
+			millis(LongRingHistogram.percentile(sorted, 100) ) );
+	}
+
+	private static String sizeLine(String name, LongRingHistogram bytes) {
+		long[] sorted = bytes.sorted();
+		return String.format("%-7s p50 %d  p95 %d  max %d KB/frame",
+			name,
+			LongRingHistogram.percentile(sorted, 50) / 1024,
+			LongRingHistogram.percentile(sorted, 95) / 1024,
+			LongRingHistogram.percentile(sorted, 100) / 1024);
+	}
+
+	private static long sum(LongRingHistogram ring) {
+		return Math.round(ring.mean() * ring.size() );
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1000000.0;
+	}
+
+	/**
+	 *
+	 * Writes a report of the metrics collected so far to the given file, replacing it if it exists. Includes the
+	 * same summaries as the overlay plus a per millisecond histogram of update and render times.
+	 *
+	 * @param file
+	 * 		file to write to
+	 *
+	 * @throws IOException
+	 * 		if the file cannot be written
+	 *
+	 */
+	public void dump(Path file) throws IOException {
+		try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8) ) {
+			out.write("Monkey Shines frame metrics. Most recent " + SAMPLES + " samples of each measurement.");
+			out.newLine();
+			out.write("Total updates: " + updateNanos.totalCount() + ", total frames: " + renderNanos.totalCount() );
+			out.newLine();
+			out.newLine();
+			for (String line : summaryLines() ) {
+				out.write(line);
+				out.newLine();
+			}
+			out.newLine();
+			writeHistogram(out, "Update", updateNanos);
+			writeHistogram(out, "Render", renderNanos);
+		}
+	}
+
+	// One bucket per millisecond up to 50ms; anything slower lands in the last bucket.
+	private static void writeHistogram(BufferedWriter out, String name, LongRingHistogram nanos) throws IOException {
+		out.write(name + " time histogram (ms: count)");
+		out.newLine();
+		int[] buckets = nanos.buckets(1000000L, 51);
+		for (int i = 0; i < buckets.length; ++i) {
+			if (buckets[i] == 0)  continue;
+			out.write( (i == buckets.length - 1 ? i + "+" : String.valueOf(i) ) + ": " + buckets[i]);
+			out.newLine();
+		}
+		out.newLine();
+	}
+}
@@ -0,0 +1,181 @@
+package org.erikaredmark.monkeyshines.play;
+
+import java.util.Arrays;
+
+import org.erikaredmark.monkeyshines.GameConstants;
+import org.erikaredmark.monkeyshines.video.FramePacing;
+
+/**
+ *
+ * Decouples how often frames are drawn from how often game logic runs, and keeps measurements on how evenly
+ * frames are being delivered.
+ * <p/>
+ * Slick only knows one clock, so logic ticks are handed to it through the container's delta: {@code logicDelta}
+ * converts real elapsed time into a whole number of {@code GameConstants.GAME_SPEED} ticks, carrying the remainder
+ * in nanoseconds. With the minimum and maximum logic intervals both set to {@code GAME_SPEED}, Slick then runs
+ * exactly that many updates, so gameplay stays at {@code GameConstants.FRAMES_PER_SECOND} no matter how fast frames
+ * are drawn.
+ * <p/>
+ * When capped, {@code frameFinished} waits out the remainder of each frame by sleeping while there is plenty of
+ * time left, then spinning for the last stretch, since {@code Thread.sleep} alone routinely overshoots by a
+ * millisecond or more.
+ * <p/>
+ * Not thread safe; intended to be used only from the game loop.
+ *
+ * @author Erika Redmark
+ *
+ */
+public final class FramePacer {
+	// Exact length of a logic tick. GAME_SPEED is this rounded to milliseconds.
+	private static final long NANOS_PER_TICK = 1000000000L / GameConstants.FRAMES_PER_SECOND;
+
+	// Remaining time under which a capped frame stops sleeping and spins instead.
+	private static final long SPIN_THRESHOLD_NANOS = 2000000L;
+
+	// After a long stall (window dragged, system busy) do not try to run every missed tick; it would just
+	// fast forward the game. Time beyond this many ticks is dropped.
+	private static final int MAX_CATCH_UP_TICKS = 5;
+
+	// Frame times kept for percentile calculations. Older frames still count towards the totals.
+	private static final int SAMPLE_COUNT = 1024;
+
+	private final FramePacing pacing;
+	private final long frameNanos;
+
+	private long lastLogicTime;
+	private long logicRemainderNanos;
+
+	private long nextFrameDeadline;
+	private long lastFrameEnd;
+
+	private final long[] samples = new long[SAMPLE_COUNT];
+	private long frameCount;
+	private long totalFrameNanos;
+	private long minFrameNanos = Long.MAX_VALUE;
+	private long maxFrameNanos;
+
+	/**
+	 *
+	 * Creates a new pacer. No timing starts until the first call to either {@code logicDelta} or
+	 * {@code frameFinished}.
+	 *
+	 * @param pacing
+	 * 		how frames should be paced
+	 *
+	 * @param refreshRate
+	 * 		refresh rate of the display, in hertz. Only used for {@code FramePacing.CAPPED}
+	 *
+	 */
+	public FramePacer(final FramePacing pacing, final int refreshRate) {
+		this.pacing = pacing;
+		this.frameNanos = 1000000000L / refreshRate;
+	}
+
+	/**
+	 *
+	 * Returns the number of milliseconds of game logic that should run this frame. This is always a multiple of
+	 * {@code GameConstants.GAME_SPEED}, and is zero if a full tick has not yet elapsed since the last tick ran.
+	 *
+	 * @return
+	 * 		logic delta to hand to Slick
+	 *
+	 */
+	public int logicDelta() {
+		long now = System.nanoTime();
+		if (lastLogicTime == 0) {
+			lastLogicTime = now;
+			return 0;
+		}
+
+		logicRemainderNanos += now - lastLogicTime;
+		lastLogicTime = now;
+
+		long ticks = logicRemainderNanos / NANOS_PER_TICK;
+		if (ticks > MAX_CATCH_UP_TICKS) {
+			ticks = MAX_CATCH_UP_TICKS;
+			logicRemainderNanos = 0;
+		} else {
+			logicRemainderNanos -= ticks * NANOS_PER_TICK;
+		}
+
+		return (int) ticks * GameConstants.GAME_SPEED;
+	}
+
+	/**
+	 *
+	 * Called after each frame has been presented. Waits until the next frame is due if capped, then records the
+	 * time taken for the frame.
+	 *
+	 */
+	public void frameFinished() {
+		if (pacing == FramePacing.CAPPED)  waitForNextFrame();
+
+		long now = System.nanoTime();
+		if (lastFrameEnd != 0)  record(now - lastFrameEnd);
+		lastFrameEnd = now;
+	}
+
+	private void waitForNextFrame() {
+		long now = System.nanoTime();
+		if (nextFrameDeadline == 0) {
+			nextFrameDeadline = now + frameNanos;
+			return;
+		}
+
+		try {
+			while (nextFrameDeadline - now > SPIN_THRESHOLD_NANOS) {
+				Thread.sleep(1);
+				now = System.nanoTime();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		while (nextFrameDeadline - now > 0) {
+			Thread.yield();
+			now = System.nanoTime();
+		}
+
+		// Keep a steady cadence, unless this frame ran so long the next deadline is already gone; then start
+		// counting from now instead of rushing to catch up.
+		nextFrameDeadline += frameNanos;
+		if (nextFrameDeadline - now < 0)  nextFrameDeadline = now + frameNanos;
+	}
+
+	private void record(long frameTime) {
+		samples[(int) (frameCount % SAMPLE_COUNT)] = frameTime;
+		++frameCount;
+		totalFrameNanos += frameTime;
+		if (frameTime < minFrameNanos)  minFrameNanos = frameTime;
+		if (frameTime > maxFrameNanos)  maxFrameNanos = frameTime;
+	}
+
+	/**
+	 *
+	 * Returns a one line summary of frame times so far: count, average, minimum, maximum, and the 99th percentile
+	 * of the most recent frames, all in milliseconds.
+	 *
+	 * @return
+	 * 		frame statistics, intended for logging
+	 *
+	 */
+	public String describeStatistics() {
+		if (frameCount == 0)  return pacing + ": no frames recorded";
+
+		long[] recent = Arrays.copyOf(samples, (int) Math.min(frameCount, SAMPLE_COUNT) );
+		Arrays.sort(recent);
+		long percentile99 = recent[(int) ((recent.length - 1) * 0.99)];
+
+		return String.format("%s: %d frames, avg %.2fms, min %.2fms, max %.2fms, p99 %.2fms",
+			pacing,
+			frameCount,
+			millis(totalFrameNanos / frameCount),
+			millis(minFrameNanos),
+			millis(maxFrameNanos),
+			millis(percentile99) );
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1000000.0;
+	}
+}
@@ -8,9 +8,10 @@ import java.util.logging.Logger;
 
 import org.erikaredmark.monkeyshines.encoder.EncodedWorld;
 import org.erikaredmark.monkeyshines.graphics.exception.ResourcePackException;
+import org.erikaredmark.monkeyshines.resource.DecodedSlickPack;
 import org.erikaredmark.monkeyshines.resource.InitResource;
+import org.erikaredmark.monkeyshines.resource.LoadProgress;
 import org.erikaredmark.monkeyshines.resource.PackReader;
-import org.erikaredmark.monkeyshines.resource.WorldResource;
 
 /**
  * Represents the parts needed to load the world, but has not loaded the world yet. Graphics
@@ -34,18 +35,15 @@ public class FrozenWorld {
 	}
 	
 	/**
-	 * Actually performs the loading of the world. Do not call this until the GL Context
-	 * is available or the image loading will fail.
-	 * <p/>
-	 * The returned resource may not be initialised if LoadingList is set to deferred loading. Make sure
-	 * to call finishInitialisation on the slick graphics at the appropriate time.
+	 * Reads and decodes the world's resource pack without touching the GL context, so it may be called from
+	 * a worker thread. The result must be uploaded on the GL thread before use.
 	 * @throws IllegalStateException
 	 * 		if temporary files were already cleaned up before the load was executed.
 	 */
-	public WorldResource load() throws ResourcePackException {
+	public DecodedSlickPack decode(LoadProgress progress) throws ResourcePackException {
 		if (deletedOnLoad)
 			{ throw new IllegalStateException("Temporary files already deleted: pack cannot be loaded"); }
-		return PackReader.fromPackSlick(rsrcPack);
+		return PackReader.decodePackSlick(rsrcPack, progress);
 	}
 	
 	/**
@@ -1,6 +1,8 @@
 package org.erikaredmark.monkeyshines.play;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -14,6 +16,7 @@ import javax.sound.sampled.UnsupportedAudioFileException;
 
 import org.erikaredmark.monkeyshines.Bonzo;
 import org.erikaredmark.monkeyshines.GameConstants;
+import org.erikaredmark.monkeyshines.GameInput;
 import org.erikaredmark.monkeyshines.GameSoundEffect;
 import org.erikaredmark.monkeyshines.GameWorldLogic;
 import org.erikaredmark.monkeyshines.HighScores;
@@ -22,6 +25,7 @@ import org.erikaredmark.monkeyshines.World;
 import org.erikaredmark.monkeyshines.WorldStatistics;
 import org.erikaredmark.monkeyshines.HighScores.HighScore;
 import org.erikaredmark.monkeyshines.animation.GracePeriodAnimation;
+import org.erikaredmark.monkeyshines.encoder.exception.WorldSaveException;
 import org.erikaredmark.monkeyshines.global.MonkeyShinesPreferences;
 import org.erikaredmark.monkeyshines.global.SoundSettings;
 import org.erikaredmark.monkeyshines.global.SoundUtils;
@@ -29,6 +33,8 @@ import org.erikaredmark.monkeyshines.global.SpecialSettings;
 import org.erikaredmark.monkeyshines.graphics.exception.ResourcePackException;
 import org.erikaredmark.monkeyshines.menu.MenuUtils;
 import org.erikaredmark.monkeyshines.menu.slick.EnterHighScoreName;
+import org.erikaredmark.monkeyshines.replay.Replay;
+import org.erikaredmark.monkeyshines.replay.ReplayRecorder;
 import org.erikaredmark.monkeyshines.resource.InitResource;
 import org.erikaredmark.monkeyshines.resource.SlickRenderer;
 import org.erikaredmark.monkeyshines.resource.SlickWorldGraphics;
@@ -40,14 +46,13 @@ import org.newdawn.slick.Color;
 import org.newdawn.slick.Font;
 import org.newdawn.slick.GameContainer;
 import org.newdawn.slick.Graphics;
+import org.newdawn.slick.Image;
 import org.newdawn.slick.Input;
+import org.newdawn.slick.KeyListener;
 import org.newdawn.slick.SlickException;
-import org.newdawn.slick.loading.DeferredResource;
 import org.newdawn.slick.loading.LoadingList;
 import org.newdawn.slick.state.BasicGameState;
 import org.newdawn.slick.state.StateBasedGame;
-import org.newdawn.slick.state.transition.FadeInTransition;
-import org.newdawn.slick.state.transition.FadeOutTransition;
 /**
  * Begins running the actual game. This is typically started from the main menu, 
  * and takes control away from the Swing-based menu system.
@@ -61,6 +66,10 @@ public class SlickMonkeyShines extends StateBasedGame {
 	private static final String CLASS_NAME = "org.erikaredmark.monkeyshines.SlickMonkeyShines";
 	private static final Logger LOGGER = Logger.getLogger(CLASS_NAME);
 	
+	// When this system property names a directory, every world played to a win or loss is recorded and saved
+	// there as a replay. See ReplayPlayer for playing them back.
+	private static final String REPLAY_DIRECTORY_PROPERTY = "monkeyshines.replays";
+	
 	/* ------------------- Runnability ---------------------- */
 	// Forces the app container for this game to exit, since the rest of the game (main menus and such)
 	// still operate under AWT And Swing.
@@ -98,10 +107,21 @@ public class SlickMonkeyShines extends StateBasedGame {
 	private SlickWorldGraphics slickGraphics;
 	private Bonzo bonzo;
 	private GameOverHandler gameOverHandler;
+	// Only set when recording replays.
+	private ReplayRecorder recorder;
 	
 	/* ----------------- Global Drawing Data ----------------- */
 	private Font defaultFont;
 	
+	// Fades restart each time they are used, so one of each serves every state change.
+	private final FadeTransition fadeOut = FadeTransition.fadeOut(Color.black, 500);
+	private final FadeTransition fadeIn = FadeTransition.fadeIn(Color.black, 500);
+	private final FadeTransition slowFadeOut = FadeTransition.fadeOut(Color.black, 1000);
+	private final FadeTransition slowFadeIn = FadeTransition.fadeIn(Color.black, 1000);
+	
+	// Created with the game so it is bound to the thread running the game loop. F3 toggles the overlay.
+	private final FrameMetrics metrics = new FrameMetrics();
+	
 	/* ---------------- Global Mutable Data ! --------------- */
 	// mutable variable to make sure a game isn't already running.
 	// Only this class and SlickMonkeyShinesStart should even touch this.
@@ -148,6 +168,8 @@ public class SlickMonkeyShines extends StateBasedGame {
 		return true;
 	}
 	
+	public FrameMetrics getMetrics() { return metrics; }
+	
 	// Called when game exits, and should be called by anyone starting up
 	// game after control returns.
 	public void destroySounds() {
@@ -157,6 +179,56 @@ public class SlickMonkeyShines extends StateBasedGame {
 		SoundSettings.unregisterSoundManager(soundControl);
 	}
 	
+	/**
+	 * Releases all world resources: textures, the splash screen, and the clips owned by the game states. Must be
+	 * called after the game loop has ended but before the GL context is destroyed, so the textures can still
+	 * be freed. Afterwards this object holds no references to the world, so a long session playing many worlds
+	 * does not keep accumulating memory for worlds already finished.
+	 */
+	public void releaseWorldResources() {
+		// States may not exist if the container failed before the game was initialised.
+		try {
+			if (rsrc != null)  rsrc.dispose();
+			
+			if (getState(SPLASHSCREEN) instanceof SplashScreen) {
+				InitResource initRsrc = ((SplashScreen)getState(SPLASHSCREEN)).initRsrc;
+				if (initRsrc != null && initRsrc.splashScreen != null)  initRsrc.splashScreen.destroy();
+			}
+		} catch (SlickException e) {
+			LOGGER.log(Level.WARNING, "Could not release world textures: " + e.getMessage(), e);
+		}
+		
+		if (getState(WIN) instanceof Win) {
+			((Win)getState(WIN)).tallySwoosh.ifPresent(Clip::close);
+		}
+		
+		universe = null;
+		world = null;
+		rsrc = null;
+		slickGraphics = null;
+		bonzo = null;
+		recorder = null;
+	}
+	
+	// Finishes the replay recording, if there is one, and saves it off the game thread.
+	private void saveReplay(Replay.Ending ending) {
+		if (recorder == null)  return;
+		
+		final Replay replay = recorder.finish(ending, world);
+		final Path file = Paths.get(System.getProperty(REPLAY_DIRECTORY_PROPERTY) )
+							   .resolve(world.getWorldName() + "-" + System.currentTimeMillis() + ".msreplay");
+		recorder = null;
+		// Don't do file operations on a tight update loop
+		CompletableFuture.runAsync( () -> {
+			try {
+				replay.save(file);
+				LOGGER.info(CLASS_NAME + ": Saved replay " + file);
+			} catch (IOException e) {
+				LOGGER.log(Level.WARNING, "Could not save replay to " + file + ": " + e.getMessage(), e);
+			}
+		});
+	}
+	
 	// Called from state transition from splash screen to let this state know that the
 	// world resource has finished internally loading, and the actual world can be constructed.
 	public void worldIsReady(StateBasedGame sbg) throws SlickException {
@@ -169,6 +241,16 @@ public class SlickMonkeyShines extends StateBasedGame {
 			this.gameOverHandler, 
 			SpecialSettings.isThunderbird());
 		this.bonzo = this.universe.getBonzo();
+		
+		if (System.getProperty(REPLAY_DIRECTORY_PROPERTY) != null) {
+			try {
+				this.recorder = ReplayRecorder.forWorld(frozenUniverse.encodedWorld, SpecialSettings.isThunderbird() );
+				this.universe.setRecorder(recorder);
+			} catch (WorldSaveException e) {
+				LOGGER.log(Level.WARNING, "Could not capture world for replay recording; this session will not be recorded: " + e.getMessage(), e);
+			}
+		}
+		
 		// The init will be called after splash init; all states after this will not be
 		// able to access resources.
 		frozenUniverse.removeTemporaryFiles();
@@ -200,40 +282,35 @@ public class SlickMonkeyShines extends StateBasedGame {
 			SoundSettings.registerSoundManager(soundControl);
 			soundControl.setBgm(initRsrc.backgroundMusic);
 			soundControl.playMusic();
+			
+			// Everything but creating the textures happens on other threads whilst the splash is up.
+			loader = WorldLoader.start(frozenUniverse);
 		}
 
 		@Override public void render(GameContainer container, StateBasedGame game, Graphics g) throws SlickException {
 			g.drawImage(initRsrc.splashScreen, 0, 0);
+			
+			final Image splash = initRsrc.splashScreen;
+			g.setColor(Color.white);
+			g.fillRect(0, splash.getHeight() - PROGRESS_HEIGHT, splash.getWidth() * loader.progress(), PROGRESS_HEIGHT);
 		}
 
 		@Override public void update(GameContainer container, StateBasedGame game, int delta) throws SlickException {
-			 
-			// load three at a time.
-			for (int i = 0; i < LoadingList.get().getRemainingResources(); ++i) {
-				DeferredResource asset = LoadingList.get().getNext();
-				if (asset != null) {
-					try {
-						asset.load();
-					} catch (IOException e) {
-						throw new SlickException("Issue asynchronously loading world resources: " + e.getMessage(), e);
-					}
-				} else {
-					break;
+			if (loader.isDecoded() && timeInSplash > MIN_FRAMES_IN_SPLASH) {
+				try {
+					rsrc = loader.finish();
+				} catch (ResourcePackException e) {
+					throw new SlickException("Issue with world resource pack: " + e.getMessage(), e);
 				}
 				
-				if (i > 2)
-					{ break; }
-			}
-			
-			if (LoadingList.get().getRemainingResources() == 0 && timeInSplash > MIN_FRAMES_IN_SPLASH) {
 				// Tell next state to actually build the world now that the graphics are in place; remember,
 				// certain calculations require the actual graphics, such as determining the number of hazards.
 				
 				worldIsReady(game);
 				game.enterState(
 					Game.ID, 
-					new FadeOutTransition(Color.black), 
-					new FadeInTransition(Color.black));
+					fadeOut, 
+					fadeIn);
 			}
 			
 			++timeInSplash;
@@ -244,6 +321,7 @@ public class SlickMonkeyShines extends StateBasedGame {
 		}
 		
 		private InitResource initRsrc;
+		private WorldLoader loader;
 		
 		// Incremented each update. If loading the world takes less time than MIN_TIME_IN_SPLASH_SECONDS,
 		// then update ticks will continue waiting to pass this value before
@@ -252,6 +330,9 @@ public class SlickMonkeyShines extends StateBasedGame {
 		private static final long MIN_TIME_IN_SPLASH_SECONDS = 3;
 		private static final long MIN_FRAMES_IN_SPLASH = MIN_TIME_IN_SPLASH_SECONDS * GameConstants.FRAMES_PER_SECOND;
 		
+		// Height of the loading bar along the bottom of the splash screen, in pixels
+		private static final int PROGRESS_HEIGHT = 4;
+		
 	}
 	
 	/* -------------------- Main Game State ------------------- */
@@ -260,21 +341,24 @@ public class SlickMonkeyShines extends StateBasedGame {
 		
 		@Override public void init(GameContainer gc, StateBasedGame sbg) throws SlickException {
 			gc.setShowFPS(false);
-			try {
-				LoadingList.setDeferredLoading(true);
-				rsrc = frozenUniverse.load();
-			} catch (ResourcePackException e) {
-				LoadingList.setDeferredLoading(false);
-				throw new SlickException("Issue with world resource pack: " + e.getMessage(), e);
-			}
-			
+			// Resources are loaded by the splash screen, which runs before this state is entered.
+			gc.getInput().addKeyListener(new GameKeyListener() );
+		}
+		
+		// Ticks did not run while in other states. Anything pressed or released in the meantime is
+		// replaced by what is actually held down now.
+		@Override public void enter(GameContainer gc, StateBasedGame sbg) throws SlickException {
+			final Input input = gc.getInput();
+			universe.getInput().resync(action -> input.isKeyDown(keyBindings.keyFor(action) ) );
 		}
 	
 		@Override public void update(GameContainer gc, StateBasedGame sbg, int delta) throws SlickException {
 			// delta is ignored for Monkey Shines. The underlying game logic was never designed
 			// with it in mind.
+			metrics.beginUpdate();
 			handleKeys(gc.getInput(), sbg);
 			universe.update(soundControl);
+			metrics.endUpdate();
 			
 			if (universe.isGrace()) {
 				((Grace)sbg.getState(GRACE)).initGrace();
@@ -282,35 +366,53 @@ public class SlickMonkeyShines extends StateBasedGame {
 			}
 		}
 		
+		// Keys for moving bonzo arrive as events through GameKeyListener; only the hardcoded
+		// keys that control the game itself are polled here.
 		private void handleKeys(Input input, StateBasedGame sbg) {
-			// Technically, checking left or right should be mutually exclusive. But pressing both
-			// causes bonzo to dance, and that's funny.
-			if (input.isKeyDown(keyBindings.left)) 
-				{ bonzo.move(-1); }
-			if (input.isKeyDown(keyBindings.right)) 
-				{ bonzo.move(1); }
-			if (input.isKeyDown(keyBindings.jump)) 
-				{ bonzo.jump(4); }
 			// hardcoded
 			if (input.isKeyDown(Input.KEY_ESCAPE))
 				{ gameOverHandler.gameOverEscape(world); }
 			else if (input.isKeyPressed(Input.KEY_P)) { 
 				sbg.enterState(PAUSE); 
 			}
+			
+			if (input.isKeyPressed(Input.KEY_F3) )  metrics.toggleOverlay();
 		}
 	
 		@Override public void render(GameContainer gc, StateBasedGame sbg, Graphics g) throws SlickException {
 			renderLevel(g);
+			// Frame is drawn; use what is left of it to ready the next screen transition.
+			universe.prewarm();
 		}
 		
 		@Override public int getID() 
 			{ return ID; }
 	}
 	
+	// Forwards presses and releases of bound keys to the game world as they are polled, so that
+	// every press reaches a tick even if the key is released again before that tick runs.
+	private class GameKeyListener implements KeyListener {
+		@Override public void keyPressed(int key, char c) {
+			GameInput.Action action = keyBindings.actionFor(key);
+			if (action != null && universe != null)  universe.getInput().pressed(action);
+		}
+		
+		@Override public void keyReleased(int key, char c) {
+			GameInput.Action action = keyBindings.actionFor(key);
+			if (action != null && universe != null)  universe.getInput().released(action);
+		}
+		
+		@Override public void setInput(Input input) { /* No op */ }
+		@Override public boolean isAcceptingInput() { return true; }
+		@Override public void inputEnded() { /* No op */ }
+		@Override public void inputStarted() { /* No op */ }
+	}
+	
 	// Renders the level to the graphics. This should only be called after the splash
 	// state is over. Multiple states (gameplay, pause, grace) use level rendering in one
 	// form or another.
 	private void renderLevel(Graphics g) {
+		metrics.beginRender();
 		SlickRenderer.paintUI(g, universe, slickGraphics);
 		
 		g.translate(0, 80);
@@ -318,6 +420,9 @@ public class SlickMonkeyShines extends StateBasedGame {
 		SlickRenderer.paintWorld(g, world);
 		SlickRenderer.paintBonzo(g, universe.getBonzo(), slickGraphics);
 		g.popTransform();
+		metrics.endRender();
+		
+		metrics.paintOverlay(g, defaultFont);
 	}
 	
 	/* ----------------- Grace State ------------------- */
@@ -347,7 +452,8 @@ public class SlickMonkeyShines extends StateBasedGame {
 		// Called when graphics resources are ready and when grace is being reset. Must be called be state
 		// that is making transition to get bonzo's position correct!!!
 		void initGrace() {
-			grace = new GracePeriodAnimation(bonzo, slickGraphics, GameConstants.GRACE_PERIOD_FRAMES, 0, 0);
+			if (grace == null)  grace = new GracePeriodAnimation(bonzo, slickGraphics, GameConstants.GRACE_PERIOD_FRAMES, 0, 0);
+			else				grace.restart(bonzo);
 		}
 		
 		// set from worldIsReady to initial animation, and reset before state
@@ -432,52 +538,36 @@ public class SlickMonkeyShines extends StateBasedGame {
 			}
 		}
 
+		// Statistics are final by the time this state is entered, so every tally line is built and
+		// measured once here rather than on every frame.
+		@Override public void enter(GameContainer container, StateBasedGame game) throws SlickException {
+			tallyText[0] = String.valueOf(stats.getFuritCollectedPercent()) + "%";
+			tallyText[1] = String.valueOf(stats.getFruitBonus() );
+			tallyText[2] = String.valueOf(stats.getTimeBonus() );
+			tallyText[3] = String.valueOf(stats.getRawScore() );
+			tallyText[4] = String.valueOf(stats.getTotalScore() );
+			for (int i = 0; i < TALLY_LINES; ++i) {
+				// Right aligned
+				tallyX[i] = ALL_FIELDS_X - defaultFont.getWidth(tallyText[i]);
+			}
+		}
+		
 		@Override public void render(GameContainer container, StateBasedGame game, Graphics g) throws SlickException {
 			g.drawImage(slickGraphics.tallyScoresBackground, 0, 0);
 			g.setColor(Color.green);
 			g.setFont(defaultFont);
-			switch(step) {
-			// brackets intentional to reuse local variable names in each case.
-			// Fallthrough is INTENDED. We don't just draw the current tally, we draw ALL
-			// the tallys up to that point.
-			default: {
-				// anything higher than 0 hits every case.
+			
+			// We don't just draw the current tally, we draw ALL the tallys up to that point.
+			final int linesShown = Math.min(step, TALLY_LINES);
+			for (int i = 0; i < linesShown; ++i) {
+				g.drawString(tallyText[i], tallyX[i], tallyY[i]);
 			}
-			case 5: {
+			
+			if (step >= TALLY_LINES) {
 				g.setColor(Color.black);
 				g.fillRect(246, 402, 218, 16);
 				g.setColor(Color.green);
 				g.drawString("Press Enter to continue", 250, 400);
-				
-				String toDraw = String.valueOf(stats.getTotalScore() );
-				int rightAlign = ALL_FIELDS_X - g.getFont().getWidth(toDraw);
-				g.drawString(toDraw, rightAlign, TOTAL_SCORE_Y);
-			} // fallthrough intended
-			case 4: {
-				String toDraw = String.valueOf(stats.getRawScore() );
-				int rightAlign = ALL_FIELDS_X - g.getFont().getWidth(toDraw);
-				g.drawString(toDraw, rightAlign, SCORE_Y);
-			} // fallthrough intended
-			case 3: {
-				String toDraw = String.valueOf(stats.getTimeBonus() );
-				int rightAlign = ALL_FIELDS_X - g.getFont().getWidth(toDraw);
-				g.drawString(toDraw, rightAlign, TIME_BONUS_Y);
-			} // fallthrough intended
-			case 2: {
-				String toDraw = String.valueOf(stats.getFruitBonus() );
-				int rightAlign = ALL_FIELDS_X - g.getFont().getWidth(toDraw);
-				g.drawString(toDraw, rightAlign, FRUIT_BONUS_Y);
-			} // fallthrough intended
-			case 1: {
-				String toDraw = String.valueOf(stats.getFuritCollectedPercent()) + "%";
-				int rightAlign = ALL_FIELDS_X - g.getFont().getWidth(toDraw);
-				g.drawString(toDraw, rightAlign, FRUIT_COLLECTED_Y);
-			}
-			// Nothing happens for case zero, but it must appear here or the default case
-			// will get hit
-			case 0: {
-				
-			}
 			}
 		}
 
@@ -534,6 +624,12 @@ public class SlickMonkeyShines extends StateBasedGame {
 		private static final int TIME_BONUS_Y = 266;
 		private static final int SCORE_Y = 306;
 		private static final int TOTAL_SCORE_Y = 356;
+		
+		// One line per step, in the order they appear
+		private static final int TALLY_LINES = 5;
+		private final int[] tallyY = { FRUIT_COLLECTED_Y, FRUIT_BONUS_Y, TIME_BONUS_Y, SCORE_Y, TOTAL_SCORE_Y };
+		private final String[] tallyText = new String[TALLY_LINES];
+		private final int[] tallyX = new int[TALLY_LINES];
 	}
 	
 	/* ------------------ High Scores ------------------- */
@@ -551,7 +647,8 @@ public class SlickMonkeyShines extends StateBasedGame {
 		// but the game is effectively over anyway.
 		void setupHighScores(Input input) {
 			int score = stats.getTotalScore();
-			highScores = HighScores.fromFile(MonkeyShinesPreferences.getHighScoresPath());
+			highScores = HighScores.fromFile(MonkeyShinesPreferences.getHighScoresPath(), MonkeyShinesPreferences.getLegacyHighScoresPath() );
+			cacheScoreText();
 			if (highScores.isScoreHigh(score)) {
 				soundControl.playOnce(GameSoundEffect.YES);
 				askForPlayerName = new EnterHighScoreName(200, 200, input, defaultFont);
@@ -562,23 +659,29 @@ public class SlickMonkeyShines extends StateBasedGame {
 		@Override public void init(GameContainer container, StateBasedGame game) throws SlickException {
 		}
 
+		// Builds the text for each row of the high scores list. Must be called whenever the
+		// high scores change.
+		private void cacheScoreText() {
+			List<HighScore> scores = highScores.getHighScores();
+			scoreNames = new String[scores.size()];
+			scoreValues = new String[scores.size()];
+			for (int i = 0; i < scores.size(); ++i) {
+				HighScore score = scores.get(i);
+				scoreNames[i] = MenuUtils.cutString(score.getName(), 50);
+				scoreValues[i] = String.valueOf(score.getScore() );
+			}
+		}
+
 		@Override public void render(GameContainer container, StateBasedGame game, Graphics g) throws SlickException {
 			g.drawImage(slickGraphics.highScoresBackground, 0, 0);
 			
-			List<HighScore> scores = highScores.getHighScores();
-
 			g.setColor(Color.green);
 			g.setFont(defaultFont);
 			
-			{
-				// Keep index number; we need it for drawing purposes.
-				int index = 0;
-				for (HighScore score : scores) {
-					int yPos =  (index * 24) + 128;
-					g.drawString(MenuUtils.cutString(score.getName(), 50), 40, yPos);
-					g.drawString(String.valueOf(score.getScore() ), 500, yPos);
-					++index;
-				}
+			for (int index = 0; index < scoreNames.length; ++index) {
+				int yPos =  (index * 24) + 128;
+				g.drawString(scoreNames[index], 40, yPos);
+				g.drawString(scoreValues[index], 500, yPos);
 			}
 			
 			if (askForPlayerName != null && !(askForPlayerName.isDone())) {
@@ -599,6 +702,7 @@ public class SlickMonkeyShines extends StateBasedGame {
 					String playerName = askForPlayerName.getEnteredText();
 					askForPlayerName = null;
 					highScores.addScore(playerName, stats.getTotalScore());
+					cacheScoreText();
 					// Don't do file operations on a tight update loop
 					CompletableFuture.runAsync( () -> {
 						highScores.persistScores(MonkeyShinesPreferences.getHighScoresPath());
@@ -626,6 +730,9 @@ public class SlickMonkeyShines extends StateBasedGame {
 		private static final long DELAY_FRAMES = 60;
 		
 		HighScores highScores;
+		// Text of each high score row, rebuilt only when the scores change.
+		private String[] scoreNames = new String[0];
+		private String[] scoreValues = new String[0];
 		// If set to non null in state change because of high score being... a high score, will render
 		// the name-entry asking thing before passing input control to escape from the high scores list
 		// and will have the effect of updating the high scores chart after the name is entered.
@@ -635,9 +742,10 @@ public class SlickMonkeyShines extends StateBasedGame {
 	
 	public class GameOverHandler implements GameEndCallback {
 		@Override public void gameOverFail(World w) {
+			saveReplay(Replay.Ending.FAIL);
 			soundControl.stopPlayingMusic();
 			soundControl.playOnceDelayed(GameSoundEffect.APPLAUSE, 1, TimeUnit.SECONDS);
-			enterState(LOSE, new FadeOutTransition(Color.black), new FadeInTransition(Color.black));
+			enterState(LOSE, fadeOut, fadeIn);
 		}
 
 		@Override public void gameOverEscape(World w) {
@@ -646,9 +754,10 @@ public class SlickMonkeyShines extends StateBasedGame {
 		}
 
 		@Override public void gameOverWin(World w) {
+			saveReplay(Replay.Ending.WIN);
 			soundControl.stopPlayingMusic();
 			stats = world.getStatistics();
-			enterState(WIN, new FadeOutTransition(Color.black, 1000), new FadeInTransition(Color.black, 1000));
+			enterState(WIN, slowFadeOut, slowFadeIn);
 		}
 		
 	}
@@ -1,9 +1,16 @@
 package org.erikaredmark.monkeyshines.play;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
 import org.erikaredmark.monkeyshines.GameConstants;
 import org.erikaredmark.monkeyshines.KeyBindingsSlick;
 import org.erikaredmark.monkeyshines.global.VideoSettings;
+import org.erikaredmark.monkeyshines.video.FramePacing;
 import org.erikaredmark.monkeyshines.video.ScreenSize;
+import org.erikaredmark.util.BinaryLocation;
 import org.newdawn.slick.AppGameContainer;
 import org.newdawn.slick.ScalableGame;
 import org.newdawn.slick.SlickException;
@@ -14,6 +21,9 @@ import org.newdawn.slick.opengl.InternalTextureLoader;
  * Only exists because otherwise SlickMonkeyShines is already a complex class.
  */
 public class SlickMonkeyShinesStart {
+	private static final String CLASS_NAME = "org.erikaredmark.monkeyshines.play.SlickMonkeyShinesStart";
+	private static final Logger LOGGER = Logger.getLogger(CLASS_NAME);
+	
 	/**
 	 * Starts the actual game either in fullscreen or not. Game always runs in 640x480 resolution
 	 * internally, whether or not it is scaled visually.
@@ -42,11 +52,32 @@ public class SlickMonkeyShinesStart {
 		SlickMonkeyShines.running = true;
 		SlickMonkeyShines monkeyShines = new SlickMonkeyShines(world,  keyBindings);
 		
+		final FramePacing pacing = VideoSettings.getFramePacing();
+		final FramePacer pacer = new FramePacer(pacing, ScreenSize.getRefreshRate() );
+		
 		AppGameContainer bonzoContainer = new AppGameContainer(
 			new ScalableGame(
 				monkeyShines,
 				GameConstants.SCREEN_WIDTH, 
-				GameConstants.SCREEN_HEIGHT + GameConstants.UI_HEIGHT));
+				GameConstants.SCREEN_HEIGHT + GameConstants.UI_HEIGHT)) {
+			// Logic time is metered out by the pacer in whole ticks so that drawing faster than the logic
+			// rate does not change the speed of the game.
+			@Override protected int getDelta() {
+				return pacer.logicDelta();
+			}
+			
+			@Override protected void gameLoop() throws SlickException {
+				super.gameLoop();
+				pacer.frameFinished();
+			}
+			
+			// The only point where the game loop has finished but the GL context still exists. Textures
+			// must be released here or they are simply lost with the context.
+			@Override public void destroy() {
+				monkeyShines.releaseWorldResources();
+				super.destroy();
+			}
+		};
 		monkeyShines.setQuitAction(() -> {
 			monkeyShines.closeRequested();
 			bonzoContainer.exit();
@@ -67,8 +98,13 @@ public class SlickMonkeyShinesStart {
 		// This game was never set up with the ability to calculate things using a delta of time between
 		// updating game logic. Easiest solution currently is to just clamp the speed to the exact speed it
 		// should run, which shouldn't have a problem on modern systems given how simple the game is.
+		// The pacer only ever hands out whole ticks, so with both intervals the same, Slick runs one update
+		// per tick regardless of how many frames are drawn in between.
 		bonzoContainer.setMinimumLogicUpdateInterval(GameConstants.GAME_SPEED);
-		bonzoContainer.setTargetFrameRate(GameConstants.FRAMES_PER_SECOND);
+		bonzoContainer.setMaximumLogicUpdateInterval(GameConstants.GAME_SPEED);
+		// Frame rate is left to the pacer; Slick's own limiter is millisecond granular and sleep only.
+		bonzoContainer.setTargetFrameRate(-1);
+		bonzoContainer.setVSync(pacing == FramePacing.VSYNC);
 		bonzoContainer.setForceExit(false);
 	
 		try {
@@ -77,6 +113,16 @@ public class SlickMonkeyShinesStart {
 		} finally {
 			monkeyShines.destroySounds();
 			SlickMonkeyShines.running = false;
+			LOGGER.info(CLASS_NAME + ": Frame times " + pacer.describeStatistics() );
+			
+			if (FrameMetrics.isReportRequested() ) {
+				Path metricsFile = BinaryLocation.BINARY_LOCATION.getParent().resolve("ms_performance.txt");
+				try {
+					monkeyShines.getMetrics().dump(metricsFile);
+				} catch (IOException e) {
+					LOGGER.log(Level.WARNING, CLASS_NAME + ": Could not write performance metrics to " + metricsFile, e);
+				}
+			}
 		}
 		
 		bonzoContainer.destroy();
@@ -85,6 +131,8 @@ public class SlickMonkeyShinesStart {
 		// starts another game the textures from the previous game will collide with the textures
 		// from the... it's basically a fucking mess. Comment this out to see something cool when
 		// choosing another world but otherwise keep this in.
+		// World textures were already released when the container was destroyed; this just drops
+		// the now-stale cache entries.
 		InternalTextureLoader.get().clear();
 		
 		return true;
@@ -0,0 +1,105 @@
+package org.erikaredmark.monkeyshines.play;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.erikaredmark.monkeyshines.graphics.exception.ResourcePackException;
+import org.erikaredmark.monkeyshines.resource.DecodedSlickPack;
+import org.erikaredmark.monkeyshines.resource.LoadProgress;
+import org.erikaredmark.monkeyshines.resource.WorldResource;
+
+/**
+ *
+ * Loads a world's resource pack in the background while the splash screen is showing. Reading the pack, validating
+ * it, and decoding its images and sounds all happen off the render thread; the render thread only polls for
+ * completion and then uploads the decoded images as textures, which must happen on the thread owning the GL context.
+ * <p/>
+ * Instances are single use.
+ *
+ * @author Erika Redmark
+ *
+ */
+final class WorldLoader {
+	private final LoadProgress progress;
+	private final CompletableFuture<DecodedSlickPack> decoding;
+
+	private WorldLoader(final LoadProgress progress, final CompletableFuture<DecodedSlickPack> decoding) {
+		this.progress = progress;
+		this.decoding = decoding;
+	}
+
+	/**
+	 *
+	 * Starts decoding the given world's resource pack on a background thread.
+	 *
+	 * @param world
+	 * 		world whose pack should be loaded
+	 *
+	 * @return
+	 * 		loader to poll for completion
+	 *
+	 */
+	static WorldLoader start(FrozenWorld world) {
+		final LoadProgress progress = new LoadProgress();
+		// Daemon, so closing the game during the splash screen does not wait for loading to finish.
+		ExecutorService thread = Executors.newSingleThreadExecutor(r -> {
+			Thread t = new Thread(r, "World Loader");
+			t.setDaemon(true);
+			return t;
+		});
+
+		CompletableFuture<DecodedSlickPack> decoding = CompletableFuture.supplyAsync(() -> {
+			try {
+				return world.decode(progress);
+			} catch (ResourcePackException e) {
+				throw new CompletionException(e);
+			}
+		}, thread);
+		thread.shutdown();
+
+		return new WorldLoader(progress, decoding);
+	}
+
+	/**
+	 *
+	 * Returns the fraction of the pack decoded so far, from {@code 0} to {@code 1}.
+	 *
+	 */
+	float progress() {
+		return decoding.isDone() ? 1f : progress.fraction();
+	}
+
+	/**
+	 *
+	 * Returns {@code true} once decoding has finished, successfully or not, and {@code finish} will no longer block.
+	 *
+	 */
+	boolean isDecoded() {
+		return decoding.isDone();
+	}
+
+	/**
+	 *
+	 * Uploads the decoded pack and returns the resulting resource. Must be called from the GL thread, and should only
+	 * be called once {@code isDecoded} returns {@code true}; otherwise it blocks until decoding is done.
+	 *
+	 * @return
+	 * 		world resource. {@code finishInitialisation} must still be called on its graphics before use
+	 *
+	 * @throws ResourcePackException
+	 * 		if the pack could not be read, is invalid, or its images could not be uploaded
+	 *
+	 */
+	WorldResource finish() throws ResourcePackException {
+		final DecodedSlickPack pack;
+		try {
+			pack = decoding.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof ResourcePackException)  throw (ResourcePackException) e.getCause();
+			throw new ResourcePackException(e.getCause() );
+		}
+		return pack.upload();
+	}
+}
@@ -0,0 +1,251 @@
+package org.erikaredmark.monkeyshines.replay;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.erikaredmark.monkeyshines.World;
+import org.erikaredmark.monkeyshines.WorldStatistics;
+
+/**
+ *
+ * A recorded play session: the world exactly as it was when the session started, the input applied on every tick
+ * of game logic, and how the session ended. Since the game logic is fully deterministic, feeding the same input into
+ * the same world through {@link ReplayPlayer} must end the same way.
+ * <p/>
+ * Replays are stored gzipped in a small binary format of their own. The world is embedded in its saved .world form
+ * so a replay does not depend on the world file staying unchanged; it does however still need the same resource
+ * pack, as hazard and conveyer counts are taken from the pack when the world is loaded.
+ * <p/>
+ * Instances of this class are immutable.
+ *
+ * @author Erika Redmark
+ *
+ */
+public final class Replay {
+	// 'MSRP'
+	private static final int MAGIC = 0x4D535250;
+	private static final short VERSION = 1;
+
+	/**
+	 *
+	 * How a recorded session ended. Only endings decided by the game itself are recorded; a player quitting out
+	 * of a world has nothing to verify.
+	 *
+	 */
+	public enum Ending {
+		WIN,
+		FAIL;
+	}
+
+	/**
+	 *
+	 * Everything about the end of a session that a replay must reproduce exactly.
+	 *
+	 */
+	public static final class Outcome {
+		public final Ending ending;
+		public final int goodiesCollected;
+		public final int rawScore;
+		public final int totalScore;
+		public final int fruitCollectedPercent;
+		public final int fruitBonus;
+		public final int timeBonus;
+
+		private Outcome(Ending ending, int goodiesCollected, int rawScore, int totalScore, int fruitCollectedPercent, int fruitBonus, int timeBonus) {
+			this.ending = ending;
+			this.goodiesCollected = goodiesCollected;
+			this.rawScore = rawScore;
+			this.totalScore = totalScore;
+			this.fruitCollectedPercent = fruitCollectedPercent;
+			this.fruitBonus = fruitBonus;
+			this.timeBonus = timeBonus;
+		}
+
+		/**
+		 *
+		 * Captures the outcome of the given world, which must be finished.
+		 *
+		 * @param ending
+		 * 		how the world ended
+		 *
+		 * @param world
+		 * 		the finished world
+		 *
+		 * @return
+		 * 		outcome of the world
+		 *
+		 * @throws IllegalStateException
+		 * 		if the world is not yet finished
+		 *
+		 */
+		static Outcome of(Ending ending, World world) {
+			WorldStatistics stats = world.getStatistics();
+			return new Outcome(
+				ending,
+				world.getGoodiesCollected(),
+				stats.getRawScore(),
+				stats.getTotalScore(),
+				stats.getFuritCollectedPercent(),
+				stats.getFruitBonus(),
+				stats.getTimeBonus() );
+		}
+
+		@Override public boolean equals(Object o) {
+			if (o == this)  return true;
+			if (!(o instanceof Outcome) )  return false;
+
+			Outcome other = (Outcome) o;
+			return    ending == other.ending
+				   && goodiesCollected == other.goodiesCollected
+				   && rawScore == other.rawScore
+				   && totalScore == other.totalScore
+				   && fruitCollectedPercent == other.fruitCollectedPercent
+				   && fruitBonus == other.fruitBonus
+				   && timeBonus == other.timeBonus;
+		}
+
+		@Override public int hashCode() {
+			int result = 17;
+			result += result * 31 + ending.hashCode();
+			result += result * 31 + goodiesCollected;
+			result += result * 31 + rawScore;
+			result += result * 31 + totalScore;
+			result += result * 31 + fruitCollectedPercent;
+			result += result * 31 + fruitBonus;
+			result += result * 31 + timeBonus;
+			return result;
+		}
+
+		@Override public String toString() {
+			return ending + ": " + goodiesCollected + " goodies, raw score " + rawScore + ", total score " + totalScore
+				 + " (fruit " + fruitCollectedPercent + "%, fruit bonus " + fruitBonus + ", time bonus " + timeBonus + ")";
+		}
+	}
+
+	private final byte[] worldData;
+	private final boolean playtesting;
+	private final byte[] ticks;
+	private final Outcome outcome;
+
+	Replay(final byte[] worldData, final boolean playtesting, final byte[] ticks, final Outcome outcome) {
+		this.worldData = worldData;
+		this.playtesting = playtesting;
+		this.ticks = ticks;
+		this.outcome = outcome;
+	}
+
+	/**
+	 *
+	 * Returns the number of ticks of game logic recorded.
+	 *
+	 */
+	public int getTickCount() { return ticks.length; }
+
+	/**
+	 *
+	 * Returns the outcome the session being replayed ended with.
+	 *
+	 */
+	public Outcome getOutcome() { return outcome; }
+
+	public boolean isPlaytesting() { return playtesting; }
+
+	// Package access only; arrays are returned by reference.
+	byte[] worldData() { return worldData; }
+	byte[] ticks() { return ticks; }
+
+	/**
+	 *
+	 * Writes this replay to the given file, replacing it if it exists.
+	 *
+	 * @param file
+	 * 		file to save to
+	 *
+	 * @throws IOException
+	 * 		if the file cannot be written
+	 *
+	 */
+	public void save(Path file) throws IOException {
+		try (OutputStream fileOut = Files.newOutputStream(file);
+			 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(fileOut) ) ) ) {
+			out.writeInt(MAGIC);
+			out.writeShort(VERSION);
+			out.writeBoolean(playtesting);
+			out.writeInt(worldData.length);
+			out.write(worldData);
+			out.writeInt(ticks.length);
+			out.write(ticks);
+			out.writeByte(outcome.ending.ordinal() );
+			out.writeInt(outcome.goodiesCollected);
+			out.writeInt(outcome.rawScore);
+			out.writeInt(outcome.totalScore);
+			out.writeInt(outcome.fruitCollectedPercent);
+			out.writeInt(outcome.fruitBonus);
+			out.writeInt(outcome.timeBonus);
+		}
+	}
+
+	/**
+	 *
+	 * Reads a replay previously written with {@code save}.
+	 *
+	 * @param file
+	 * 		file to read
+	 *
+	 * @return
+	 * 		the replay
+	 *
+	 * @throws IOException
+	 * 		if the file cannot be read, or is not a replay this version of the game understands
+	 *
+	 */
+	public static Replay load(Path file) throws IOException {
+		try (InputStream fileIn = Files.newInputStream(file);
+			 DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(fileIn) ) ) ) {
+			if (in.readInt() != MAGIC)  throw new IOException(file + " is not a replay file");
+			short version = in.readShort();
+			if (version != VERSION)  throw new IOException(file + " is replay version " + version + "; only version " + VERSION + " is supported");
+
+			boolean playtesting = in.readBoolean();
+			byte[] worldData = new byte[readLength(in, file)];
+			in.readFully(worldData);
+			byte[] ticks = new byte[readLength(in, file)];
+			in.readFully(ticks);
+
+			int endingIndex = in.readUnsignedByte();
+			if (endingIndex >= Ending.values().length)  throw new IOException(file + " has unknown ending " + endingIndex);
+
+			Outcome outcome = new Outcome(
+				Ending.values()[endingIndex],
+				in.readInt(),
+				in.readInt(),
+				in.readInt(),
+				in.readInt(),
+				in.readInt(),
+				in.readInt() );
+
+			return new Replay(worldData, playtesting, ticks, outcome);
+		}
+	}
+
+	private static int readLength(DataInputStream in, Path file) throws IOException {
+		int length = in.readInt();
+		if (length < 0)  throw new IOException(file + " is corrupt: negative length " + length);
+		return length;
+	}
+
+	@Override public String toString() {
+		return "Replay of " + ticks.length + " ticks, " + outcome + (playtesting ? " (playtesting)" : "")
+			 + ", world data " + worldData.length + " bytes, input hash " + Arrays.hashCode(ticks);
+	}
+}
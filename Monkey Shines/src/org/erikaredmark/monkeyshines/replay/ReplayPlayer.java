@@ -0,0 +1,172 @@
+package org.erikaredmark.monkeyshines.replay;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.erikaredmark.monkeyshines.GameWorldLogic;
+import org.erikaredmark.monkeyshines.World;
+import org.erikaredmark.monkeyshines.encoder.EncodedWorld;
+import org.erikaredmark.monkeyshines.encoder.exception.WorldRestoreException;
+import org.erikaredmark.monkeyshines.graphics.exception.ResourcePackException;
+import org.erikaredmark.monkeyshines.replay.Replay.Ending;
+import org.erikaredmark.monkeyshines.replay.Replay.Outcome;
+import org.erikaredmark.monkeyshines.resource.AbsentSoundManager;
+import org.erikaredmark.monkeyshines.resource.PackReader;
+import org.erikaredmark.monkeyshines.resource.SoundManager;
+import org.erikaredmark.monkeyshines.resource.WorldResource;
+import org.erikaredmark.monkeyshines.util.GameEndCallback;
+import org.lwjgl.LWJGLException;
+import org.lwjgl.opengl.Pbuffer;
+import org.lwjgl.opengl.PixelFormat;
+import org.newdawn.slick.SlickException;
+import org.newdawn.slick.loading.LoadingList;
+
+/**
+ *
+ * Plays a {@link Replay} back through {@code GameWorldLogic.update} with nothing drawn and no frame pacing, so
+ * ticks run as fast as the machine allows, then checks the session ends exactly as it did when recorded.
+ * <p/>
+ * The world resource must use Slick graphics: collisions with sprites are pixel perfect and read sprite alpha
+ * from the textures, so a GL context is needed even though nothing is ever shown. {@code main} creates an
+ * offscreen one for running replays outside of the game.
+ *
+ * @author Erika Redmark
+ *
+ */
+public final class ReplayPlayer {
+
+	private ReplayPlayer() { }
+
+	/**
+	 *
+	 * Result of playing back a replay.
+	 *
+	 */
+	public static final class Result {
+		/** Outcome reached by playback, or {@code null} if the input ran out before the game ended */
+		public final Outcome outcome;
+		public final int ticksRun;
+		public final long elapsedNanos;
+
+		private final Outcome expected;
+
+		private Result(Outcome outcome, Outcome expected, int ticksRun, long elapsedNanos) {
+			this.outcome = outcome;
+			this.expected = expected;
+			this.ticksRun = ticksRun;
+			this.elapsedNanos = elapsedNanos;
+		}
+
+		/**
+		 * Determines if playback ended exactly the same way the recorded session did.
+		 */
+		public boolean matches() { return expected.equals(outcome); }
+
+		@Override public String toString() {
+			double seconds = elapsedNanos / 1000000000.0;
+			return (matches() ? "MATCH " : "MISMATCH ") + "after " + ticksRun + " ticks in " + String.format("%.3f", seconds) + "s ("
+				 + String.format("%.0f", ticksRun / seconds) + " ticks/s). Expected " + expected + "; got " + outcome;
+		}
+	}
+
+	/**
+	 *
+	 * Plays the given replay on a fresh copy of its world, skinned with the given resource.
+	 *
+	 * @param replay
+	 * 		the replay to play
+	 *
+	 * @param rsrc
+	 * 		resource to skin the world with. Must be the same pack the replay was recorded with, and use Slick
+	 * 		graphics
+	 *
+	 * @return
+	 * 		how playback ended, and how long it took
+	 *
+	 * @throws WorldRestoreException
+	 * 		if the world stored in the replay cannot be restored
+	 *
+	 */
+	public static Result play(final Replay replay, final WorldResource rsrc) throws WorldRestoreException {
+		final World world = EncodedWorld.fromStream(new ByteArrayInputStream(replay.worldData() ) ).newWorldInstance(rsrc);
+		final Ending[] ending = new Ending[1];
+
+		GameWorldLogic universe = new GameWorldLogic(world, new GameEndCallback() {
+			@Override public void gameOverWin(World w) { ending[0] = Ending.WIN; }
+			@Override public void gameOverFail(World w) { ending[0] = Ending.FAIL; }
+			@Override public void gameOverEscape(World w) { /* Not recorded; see Replay.Ending */ }
+		}, replay.isPlaytesting() );
+
+		final SoundManager sound = new AbsentSoundManager();
+		final byte[] ticks = replay.ticks();
+
+		long start = System.nanoTime();
+		int tick = 0;
+		while (tick < ticks.length && ending[0] == null) {
+			final int actions = ticks[tick];
+			universe.getInput().resync(action -> (actions & (1 << action.ordinal() ) ) != 0);
+			universe.update(sound);
+			++tick;
+		}
+		long elapsed = System.nanoTime() - start;
+
+		Outcome outcome =   ending[0] != null
+						  ? Outcome.of(ending[0], world)
+						  : null;
+
+		return new Result(outcome, replay.getOutcome(), tick, elapsed);
+	}
+
+	/**
+	 *
+	 * Plays a replay outside of the game, in an offscreen GL context, and prints the result. Exits with a non zero
+	 * status if playback did not match the recording, so this can be used in scripts.
+	 *
+	 * @param args
+	 * 		path to the replay, path to the resource pack it was recorded with, and optionally how many times to
+	 * 		play it (for profiling)
+	 *
+	 */
+	public static void main(String args[]) throws IOException, WorldRestoreException, ResourcePackException, LWJGLException, SlickException {
+		if (args.length < 2 || args.length > 3) {
+			System.err.println("Usage: ReplayPlayer <replay file> <resource pack> [times to play]");
+			return;
+		}
+
+		final Path replayFile = Paths.get(args[0]);
+		final Path packFile = Paths.get(args[1]);
+		final int times = args.length == 3 ? Integer.parseInt(args[2]) : 1;
+		if (!(Files.isRegularFile(replayFile) ) || !(Files.isRegularFile(packFile) ) ) {
+			System.err.println("Replay and resource pack must both be existing files");
+			return;
+		}
+
+		final Replay replay = Replay.load(replayFile);
+		System.out.println(replay);
+
+		Pbuffer context = new Pbuffer(1, 1, new PixelFormat(), null);
+		boolean allMatched = true;
+		try {
+			context.makeCurrent();
+			LoadingList.setDeferredLoading(false);
+			WorldResource rsrc = PackReader.fromPackSlick(packFile);
+			try {
+				rsrc.getSlickGraphics().finishInitialisation();
+				for (int i = 0; i < times; ++i) {
+					Result result = play(replay, rsrc);
+					System.out.println(result);
+					allMatched &= result.matches();
+				}
+			} finally {
+				rsrc.dispose();
+			}
+		} finally {
+			context.destroy();
+		}
+
+		if (!(allMatched) )  System.exit(1);
+	}
+}
@@ -0,0 +1,100 @@
+package org.erikaredmark.monkeyshines.replay;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import org.erikaredmark.monkeyshines.GameInput;
+import org.erikaredmark.monkeyshines.World;
+import org.erikaredmark.monkeyshines.encoder.EncodedWorld;
+import org.erikaredmark.monkeyshines.encoder.exception.WorldSaveException;
+import org.erikaredmark.monkeyshines.replay.Replay.Ending;
+import org.erikaredmark.monkeyshines.replay.Replay.Outcome;
+
+/**
+ *
+ * Records a play session as it happens so it can be saved as a {@link Replay}. Attach to the game with
+ * {@code GameWorldLogic.setRecorder} before the first tick, then call {@code finish} once the game ends.
+ * <p/>
+ * Input is stored as one byte per tick, so even an hour of play is well under 200 kilobytes before compression.
+ * <p/>
+ * Not thread safe; intended to be used only from the game loop.
+ *
+ * @author Erika Redmark
+ *
+ */
+public final class ReplayRecorder {
+	private final byte[] worldData;
+	private final boolean playtesting;
+
+	private byte[] ticks = new byte[4096];
+	private int tickCount;
+	private boolean finished;
+
+	private ReplayRecorder(final byte[] worldData, final boolean playtesting) {
+		this.worldData = worldData;
+		this.playtesting = playtesting;
+	}
+
+	/**
+	 *
+	 * Creates a recorder for a session about to be played on the given world. The world is captured now, so this
+	 * must be called before any of the encoded world is used to play.
+	 *
+	 * @param world
+	 * 		the world that will be played
+	 *
+	 * @param playtesting
+	 * 		{@code true} if the session is played with infinite lives
+	 *
+	 * @return
+	 * 		new recorder
+	 *
+	 * @throws WorldSaveException
+	 * 		if the world cannot be captured in its saved form
+	 *
+	 */
+	public static ReplayRecorder forWorld(final EncodedWorld world, final boolean playtesting) throws WorldSaveException {
+		ByteArrayOutputStream worldOut = new ByteArrayOutputStream();
+		world.save(worldOut);
+		return new ReplayRecorder(worldOut.toByteArray(), playtesting);
+	}
+
+	/**
+	 *
+	 * Records the input for the tick about to run. Called by {@code GameWorldLogic} only. Does nothing once the
+	 * recording is finished.
+	 *
+	 * @param input
+	 * 		input for this tick
+	 *
+	 */
+	public void recordTick(GameInput input) {
+		if (finished)  return;
+
+		if (tickCount == ticks.length)  ticks = Arrays.copyOf(ticks, ticks.length * 2);
+		ticks[tickCount++] = (byte) input.activeActions();
+	}
+
+	/**
+	 *
+	 * Ends the recording and returns the completed replay.
+	 *
+	 * @param ending
+	 * 		how the game ended
+	 *
+	 * @param world
+	 * 		the world that was played. It must be finished, so the final statistics are available
+	 *
+	 * @return
+	 * 		the replay of the session
+	 *
+	 * @throws IllegalStateException
+	 * 		if the world is not finished yet, or this recorder was already finished
+	 *
+	 */
+	public Replay finish(Ending ending, World world) {
+		if (finished)  throw new IllegalStateException("Recording already finished");
+		finished = true;
+		return new Replay(worldData, playtesting, Arrays.copyOf(ticks, tickCount), Outcome.of(ending, world) );
+	}
+}
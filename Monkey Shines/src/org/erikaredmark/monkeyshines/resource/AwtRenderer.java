@@ -178,9 +178,11 @@ public class AwtRenderer
 			StatelessTileType underlyingType = common.getUnderlyingType();
 			if (underlyingType == StatelessTileType.NONE)  return;
 			
-			int tileDrawCol = common.getTileDrawCol();
-			int tileDrawRow = common.getTileDrawRow();
-			g2d.drawImage(awtGraphics.getStatelessTileTypeSheet(underlyingType), 
+			BufferedImage sheet = awtGraphics.getStatelessTileTypeSheet(underlyingType);
+			int sheetCols = sheet.getWidth() / GameConstants.TILE_SIZE_X;
+			int tileDrawCol = common.getTileDrawCol(sheetCols);
+			int tileDrawRow = common.getTileDrawRow(sheetCols);
+			g2d.drawImage(sheet, 
 						  drawToX, drawToY, 																// Dest 1
 						  drawToX + GameConstants.TILE_SIZE_X, drawToY + GameConstants.TILE_SIZE_Y,			// Dest 2
 						  tileDrawCol, tileDrawRow, 														// Src 1
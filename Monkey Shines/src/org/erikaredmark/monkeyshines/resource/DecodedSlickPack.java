@@ -0,0 +1,184 @@
+package org.erikaredmark.monkeyshines.resource;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import javax.sound.sampled.Clip;
+
+import org.erikaredmark.monkeyshines.GameSoundEffect;
+import org.erikaredmark.monkeyshines.graphics.exception.ResourcePackException;
+import org.newdawn.slick.Image;
+import org.newdawn.slick.SlickException;
+import org.newdawn.slick.opengl.LoadableImageData;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ *
+ * A resource pack that has been read, validated and decoded, but whose graphics have not yet been uploaded to the
+ * graphics card. Everything up to this point can happen on any thread; only {@code upload} needs the GL context.
+ * <p/>
+ * Created from {@code PackReader.decodePackSlick}.
+ *
+ * @author Erika Redmark
+ *
+ */
+public final class DecodedSlickPack {
+
+	/**
+	 *
+	 * Pixel data for one image, possibly still being decoded on another thread, along with the filter the texture
+	 * should be created with.
+	 *
+	 */
+	static final class PendingImage {
+		private final CompletableFuture<LoadableImageData> data;
+		private final int filter;
+
+		PendingImage(final CompletableFuture<LoadableImageData> data, final int filter) {
+			this.data = data;
+			this.filter = filter;
+		}
+
+		// Blocks until decoded. Failures are reported as they would have been from loading the image directly.
+		private LoadableImageData await() throws ResourcePackException {
+			try {
+				return data.join();
+			} catch (CompletionException e) {
+				throw new ResourcePackException(e.getCause() );
+			}
+		}
+
+		private Image upload() throws ResourcePackException {
+			return new Image(await(), filter);
+		}
+	}
+
+	private final PendingImage solidTiles;
+	private final PendingImage thruTiles;
+	private final PendingImage sceneTiles;
+	private final PendingImage hazardTiles;
+	private final PendingImage conveyerTiles;
+	private final PendingImage collapsingTiles;
+	private final PendingImage[] backgrounds;
+	private final PendingImage[] patterns;
+	private final PendingImage[] sprites;
+	private final PendingImage goodieSheet;
+	private final PendingImage yumSheet;
+	private final PendingImage bannerSheet;
+	private final PendingImage scoreNumbersSheet;
+	private final PendingImage bonusNumbersSheet;
+	private final PendingImage explosionSheet;
+	private final PendingImage energyBar;
+	private final ImmutableMap<GameSoundEffect, Optional<Clip>> gameSounds;
+
+	DecodedSlickPack(
+		final PendingImage solidTiles,
+		final PendingImage thruTiles,
+		final PendingImage sceneTiles,
+		final PendingImage hazardTiles,
+		final PendingImage conveyerTiles,
+		final PendingImage collapsingTiles,
+		final PendingImage[] backgrounds,
+		final PendingImage[] patterns,
+		final PendingImage[] sprites,
+		final PendingImage goodieSheet,
+		final PendingImage yumSheet,
+		final PendingImage bannerSheet,
+		final PendingImage scoreNumbersSheet,
+		final PendingImage bonusNumbersSheet,
+		final PendingImage explosionSheet,
+		final PendingImage energyBar,
+		final Map<GameSoundEffect, Optional<Clip>> gameSounds)
+	{
+		this.solidTiles = solidTiles;
+		this.thruTiles = thruTiles;
+		this.sceneTiles = sceneTiles;
+		this.hazardTiles = hazardTiles;
+		this.conveyerTiles = conveyerTiles;
+		this.collapsingTiles = collapsingTiles;
+		this.backgrounds = backgrounds;
+		this.patterns = patterns;
+		this.sprites = sprites;
+		this.goodieSheet = goodieSheet;
+		this.yumSheet = yumSheet;
+		this.bannerSheet = bannerSheet;
+		this.scoreNumbersSheet = scoreNumbersSheet;
+		this.bonusNumbersSheet = bonusNumbersSheet;
+		this.explosionSheet = explosionSheet;
+		this.energyBar = energyBar;
+		this.gameSounds = ImmutableMap.copyOf(gameSounds);
+	}
+
+	/**
+	 *
+	 * Waits for every image to finish decoding, so that any decoding errors surface on the calling thread.
+	 *
+	 */
+	void awaitDecoding() throws ResourcePackException {
+		for (PendingImage image : new PendingImage[] {
+				solidTiles, thruTiles, sceneTiles, hazardTiles, conveyerTiles, collapsingTiles, goodieSheet, yumSheet,
+				bannerSheet, scoreNumbersSheet, bonusNumbersSheet, explosionSheet, energyBar} ) {
+			image.await();
+		}
+		awaitAll(backgrounds);
+		awaitAll(patterns);
+		awaitAll(sprites);
+	}
+
+	private static void awaitAll(PendingImage[] images) throws ResourcePackException {
+		for (PendingImage image : images) {
+			if (image != null)  image.await();
+		}
+	}
+
+	/**
+	 *
+	 * Creates textures for all the decoded images and returns the complete resource. Must be called from the thread
+	 * owning the GL context. As with {@code PackReader.fromPackSlick}, {@code finishInitialisation} must still be called
+	 * on the resulting graphics before use.
+	 *
+	 * @return
+	 * 		world resource ready to be initialised
+	 *
+	 * @throws ResourcePackException
+	 * 		if any image could not be decoded or turned into a texture
+	 *
+	 */
+	public WorldResource upload() throws ResourcePackException {
+		try {
+			SlickWorldGraphics slickGraphics = new SlickWorldGraphics(
+				solidTiles.upload(),
+				thruTiles.upload(),
+				sceneTiles.upload(),
+				hazardTiles.upload(),
+				conveyerTiles.upload(),
+				collapsingTiles.upload(),
+				uploadAll(backgrounds),
+				uploadAll(patterns),
+				uploadAll(sprites),
+				goodieSheet.upload(),
+				yumSheet.upload(),
+				bannerSheet.upload(),
+				scoreNumbersSheet.upload(),
+				bonusNumbersSheet.upload(),
+				explosionSheet.upload(),
+				energyBar.upload() );
+
+			return WorldResource.createSlickResource(slickGraphics, gameSounds);
+		} catch (SlickException e) {
+			throw new ResourcePackException(e);
+		}
+	}
+
+	// Keeps nulls (and thus array length) as is, since some clients rely on the array being oversized.
+	private static Image[] uploadAll(PendingImage[] images) throws ResourcePackException {
+		Image[] uploaded = new Image[images.length];
+		for (int i = 0; i < images.length; ++i) {
+			if (images[i] != null)  uploaded[i] = images[i].upload();
+		}
+		return uploaded;
+	}
+}
@@ -7,6 +7,8 @@ import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.sound.sampled.Clip;
 import javax.sound.sampled.FloatControl;
@@ -37,6 +39,8 @@ import com.google.common.collect.ImmutableMap;
  *
  */
 public final class JavaDefaultSoundManager implements SoundManager {
+	private static final String CLASS_NAME = "org.erikaredmark.monkeyshines.resource.JavaDefaultSoundManager";
+	private static final Logger LOGGER = Logger.getLogger(CLASS_NAME);
 
 	// Use as source of sounds
 	private Optional<Clip> bgm = Optional.empty();
@@ -173,7 +177,9 @@ public final class JavaDefaultSoundManager implements SoundManager {
 				float decibelLevelOffset = SoundUtils.resolveDecibelOffsetFromPercentage(value);
 				// Music seems to be naturally louder than sound effects, so give it a negative nudge.
 				decibelLevelOffset -= 10;
-				System.out.println("Decibel offset for music: " + decibelLevelOffset);
+				if (LOGGER.isLoggable(Level.FINE) ) {
+					LOGGER.fine(CLASS_NAME + ": Decibel offset for music: " + decibelLevelOffset);
+				}
 				gainControl.setValue(decibelLevelOffset);
 			} else {
 				musicOff = true;
@@ -199,7 +205,9 @@ public final class JavaDefaultSoundManager implements SoundManager {
 		soundOff = false;
 		
 		float decibelLevelOffset = SoundUtils.resolveDecibelOffsetFromPercentage(value);
-		System.out.println("Decibel offset for sound: " + decibelLevelOffset);
+		if (LOGGER.isLoggable(Level.FINE) ) {
+			LOGGER.fine(CLASS_NAME + ": Decibel offset for sound: " + decibelLevelOffset);
+		}
 		for (GameSoundEffect effect : GameSoundEffect.values() ) {
 			Optional<Clip> clip = sounds.get(effect);
 			if (clip.isPresent() ) {
@@ -292,6 +300,12 @@ public final class JavaDefaultSoundManager implements SoundManager {
 			}
 		}
 		
+		// Music is typically the largest clip by far; holding onto it after the world ends leaks
+		// both the decoded audio and the line.
+		if (bgm.isPresent() ) {
+			bgm.get().close();
+		}
+		
 		// Intended for anything that requires late disposal.
 		isDisposed = true;
 	}
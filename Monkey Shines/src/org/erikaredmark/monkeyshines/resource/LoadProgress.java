@@ -0,0 +1,42 @@
+package org.erikaredmark.monkeyshines.resource;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *
+ * Counts how many entries of a resource pack have finished decoding, so that a loading screen can show progress while
+ * the pack is decoded on other threads.
+ * <p/>
+ * The total is not known until the pack has been opened; until then, progress is reported as zero. Both counts may be
+ * read from any thread.
+ *
+ * @author Erika Redmark
+ *
+ */
+public final class LoadProgress {
+	private final AtomicInteger total = new AtomicInteger();
+	private final AtomicInteger completed = new AtomicInteger();
+
+	void setTotal(int entries) {
+		total.set(entries);
+	}
+
+	void entryDone() {
+		completed.incrementAndGet();
+	}
+
+	public int getTotal() { return total.get(); }
+
+	public int getCompleted() { return completed.get(); }
+
+	/**
+	 *
+	 * Returns the fraction of entries decoded, from {@code 0} to {@code 1}.
+	 *
+	 */
+	public float fraction() {
+		final int entries = total.get();
+		if (entries == 0)  return 0f;
+		return Math.min(completed.get() / (float) entries, 1f);
+	}
+}
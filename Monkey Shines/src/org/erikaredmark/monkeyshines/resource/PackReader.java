@@ -10,6 +10,8 @@ import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -26,10 +28,12 @@ import org.erikaredmark.monkeyshines.GameSoundEffect;
 import org.erikaredmark.monkeyshines.global.SoundUtils;
 import org.erikaredmark.monkeyshines.graphics.exception.ResourcePackException;
 import org.erikaredmark.monkeyshines.graphics.exception.ResourcePackException.Type;
+import org.erikaredmark.monkeyshines.resource.DecodedSlickPack.PendingImage;
 import org.newdawn.slick.Image;
 import org.newdawn.slick.SlickException;
+import org.newdawn.slick.opengl.ImageDataFactory;
+import org.newdawn.slick.opengl.LoadableImageData;
 
-import com.google.common.collect.ImmutableMap;
 import com.google.common.io.ByteStreams;
 
 /**
@@ -280,14 +284,30 @@ public class PackReader {
 	 * init method
 	 * or when it is otherwise available
 	 * <p/>
-	 * This does not load the splash/background music. This also may not be a complete load if LoadingList is set
-	 * to deferred loading. Make sure to call finishInitialisation on the resulting resource before using, either
-	 * immediately after this method call or after deferred loading is finished.
+	 * This does not load the splash/background music. Make sure to call finishInitialisation on the resulting resource
+	 * before using.
 	 * @param packFile
 	 * @return
 	 * @throws ResourcePackException
 	 */
 	public static WorldResource fromPackSlick(final Path packFile) throws ResourcePackException {
+		return decodePackSlick(packFile, new LoadProgress() ).upload();
+	}
+	
+	/**
+	 * Reads, validates and decodes the pack at the given location, without creating any textures. Unlike
+	 * {@code fromPackSlick} this does not need a GL context and may be called from any thread; images are decoded
+	 * in parallel on the common fork join pool, and sounds on the calling thread. Call {@code upload} on the result
+	 * from the GL thread to get the actual resource.
+	 * <p/>
+	 * This blocks until everything is decoded. The given progress is updated as entries finish, so another thread
+	 * may watch it.
+	 * @param packFile
+	 * @param progress
+	 * @return
+	 * @throws ResourcePackException
+	 */
+	public static DecodedSlickPack decodePackSlick(final Path packFile, final LoadProgress progress) throws ResourcePackException {
 		// TODO visitor pattern would help a great deal given that the same process is used
 		// for both types of resource packs... but the split in resource packs is
 		// only temporary so the level editor isn't broken whilst moving to Slick2D. Hopefully
@@ -296,31 +316,31 @@ public class PackReader {
 		// Declare non final versions of instance data. However, we enforce only replacing null in other ways in the below code.
 		// Once they are added to the world resource object they will become final.
 		// We de
-		Image solidTiles 	= null;
-		Image thruTiles		= null;
-		Image sceneTiles	= null;
-		Image hazardTiles   = null;
-		Image conveyerTiles = null;
-		Image collapsingTiles = null;
+		PendingImage solidTiles 	= null;
+		PendingImage thruTiles		= null;
+		PendingImage sceneTiles	= null;
+		PendingImage hazardTiles   = null;
+		PendingImage conveyerTiles = null;
+		PendingImage collapsingTiles = null;
 		// Max index will be used to tell the validator how far to count to in the array list to confirm 
 		// contiguous entries. (as in, if 'background4' exists, then 'background0, background1, etc' MUST exist.
 		// Initially -1. That means no elements. The max index is NOT size, so 0 still would mean at least 1, which
 		// we don't know yet.
 		// TODO we assume no more than 256 backgrounds, 256 patterns, and 256 sprites. This is simply because we might
 		// hit a later indexed item out of order and List implementations don't allow adding at specific future indexes.
-		Image[] backgrounds = new Image[256];
+		PendingImage[] backgrounds = new PendingImage[256];
 		int maxBackgroundIndex = -1;
-		Image[] patterns = new Image[256];
+		PendingImage[] patterns = new PendingImage[256];
 		int maxPatternIndex = -1;
-		Image[] sprites = new Image[256];
+		PendingImage[] sprites = new PendingImage[256];
 		int maxSpriteIndex = -1;
-		Image goodieSheet = null;
-		Image yumSheet = null;
-		Image bannerSheet = null;
-		Image scoreNumbersSheet = null;
-		Image bonusNumbersSheet = null;
-		Image explosionSheet = null;
-		Image energyBar = null;
+		PendingImage goodieSheet = null;
+		PendingImage yumSheet = null;
+		PendingImage bannerSheet = null;
+		PendingImage scoreNumbersSheet = null;
+		PendingImage bonusNumbersSheet = null;
+		PendingImage explosionSheet = null;
+		PendingImage energyBar = null;
 		
 		// Sound clips
 		// Unlike graphics, some sounds may not exist, and that is okay. The game just won't play
@@ -329,66 +349,71 @@ public class PackReader {
 		Map<GameSoundEffect, Optional<Clip>> gameSounds = new IdentityHashMap<>();
 		
 		try (ZipFile zipFile = new ZipFile(packFile.toFile() ) ) {
+			progress.setTotal(zipFile.size() );
 			// for (ZipEntry e : file.entries)
 			// Java Specialists newsletter: more efficient way to do this when I have time 
 			// TODO http://www.javaspecialists.eu/archive/Issue107.html
 			for (ZipEntry entry : Collections.list(zipFile.entries() ) ) {
-				if (entry.isDirectory() )  continue; // contents of directories will be iterated over anyway.
+				if (entry.isDirectory() ) {
+					// contents of directories will be iterated over anyway.
+					progress.entryDone();
+					continue;
+				}
 				final String entryName = getFilename(entry);
 				// FIRST: Handle hardcoded names that do not have continuations (numerical values from 0 to some number)
 				switch (entryName ) {
 				/* --------------------------------- Graphics Other Than Sprites --------------------------------- */
 				case "solids.png":
 					if (solidTiles != null) throw new ResourcePackException(Type.MULTIPLE_DEFINITION, "solids.png");
-					solidTiles = new Image(copyStream(zipFile.getInputStream(entry)), "solidTiles", false, Image.FILTER_NEAREST);
+					solidTiles = decodeImage(zipFile, entry, "solidTiles", Image.FILTER_NEAREST, progress);
 					break;
 				case "thrus.png":
 					if (thruTiles != null) throw new ResourcePackException(Type.MULTIPLE_DEFINITION, "thrus.png");
-					thruTiles = new Image(copyStream(zipFile.getInputStream(entry)), "thruTiles", false, Image.FILTER_NEAREST);
+					thruTiles = decodeImage(zipFile, entry, "thruTiles", Image.FILTER_NEAREST, progress);
 					break;
 				case "scenes.png":
 					if (sceneTiles != null) throw new ResourcePackException(Type.MULTIPLE_DEFINITION, "scenes.png");
-					sceneTiles = new Image(copyStream(zipFile.getInputStream(entry)), "scenes", false, Image.FILTER_NEAREST);
+					sceneTiles = decodeImage(zipFile, entry, "scenes", Image.FILTER_NEAREST, progress);
 					break;
 				case "conveyers.png":
 					if (conveyerTiles != null) throw new ResourcePackException(Type.MULTIPLE_DEFINITION, "conveyer.png");
-					conveyerTiles = new Image(copyStream(zipFile.getInputStream(entry)), "conveyers", false, Image.FILTER_NEAREST);
+					conveyerTiles = decodeImage(zipFile, entry, "conveyers", Image.FILTER_NEAREST, progress);
 					break;
 				case "collapsing.png":
 					if (collapsingTiles != null) throw new ResourcePackException(Type.MULTIPLE_DEFINITION, "collapsing.png");
-					collapsingTiles = new Image(copyStream(zipFile.getInputStream(entry)), "collapsing", false, Image.FILTER_NEAREST);
+					collapsingTiles = decodeImage(zipFile, entry, "collapsing", Image.FILTER_NEAREST, progress);
 					break;
 				case "goodies.png":
 					if (goodieSheet != null) throw new ResourcePackException(Type.MULTIPLE_DEFINITION, "goodies.png");
-					goodieSheet = new Image(copyStream(zipFile.getInputStream(entry)), "goodies", false, Image.FILTER_NEAREST);
+					goodieSheet = decodeImage(zipFile, entry, "goodies", Image.FILTER_NEAREST, progress);
 					break;
 				case "yums.png":
 					if (yumSheet != null) throw new ResourcePackException(Type.MULTIPLE_DEFINITION, "yums.png");
-					yumSheet = new Image(copyStream(zipFile.getInputStream(entry)), "yums", false, Image.FILTER_NEAREST);
+					yumSheet = decodeImage(zipFile, entry, "yums", Image.FILTER_NEAREST, progress);
 					break;
 				case "hazards.png":
 					if (hazardTiles != null) throw new ResourcePackException(Type.MULTIPLE_DEFINITION, "hazards.png");
-					hazardTiles = new Image(copyStream(zipFile.getInputStream(entry)), "hazards", false, Image.FILTER_NEAREST);
+					hazardTiles = decodeImage(zipFile, entry, "hazards", Image.FILTER_NEAREST, progress);
 					break;
 				case "uibanner.png":
 					if (bannerSheet != null) throw new ResourcePackException(Type.MULTIPLE_DEFINITION, "uibanner.png");
-					bannerSheet = new Image(copyStream(zipFile.getInputStream(entry)), "uibanner", false, Image.FILTER_NEAREST);
+					bannerSheet = decodeImage(zipFile, entry, "uibanner", Image.FILTER_NEAREST, progress);
 					break;
 				case "energy.png":
 					if (energyBar != null) throw new ResourcePackException(Type.MULTIPLE_DEFINITION, "energy.png");
-					energyBar = new Image(copyStream(zipFile.getInputStream(entry)), "energy", false, Image.FILTER_NEAREST);
+					energyBar = decodeImage(zipFile, entry, "energy", Image.FILTER_NEAREST, progress);
 					break;
 				case "bonusNumbers.png":
 					if (bonusNumbersSheet != null) throw new ResourcePackException(Type.MULTIPLE_DEFINITION, "bonusNumbers.png");
-					bonusNumbersSheet = new Image(copyStream(zipFile.getInputStream(entry)), "bonusNumbers", false, Image.FILTER_NEAREST);
+					bonusNumbersSheet = decodeImage(zipFile, entry, "bonusNumbers", Image.FILTER_NEAREST, progress);
 					break;
 				case "scoreNumbers.png":
 					if (scoreNumbersSheet != null) throw new ResourcePackException(Type.MULTIPLE_DEFINITION, "scoreNumbers.png");
-					scoreNumbersSheet = new Image(copyStream(zipFile.getInputStream(entry)), "scoreNumbers", false, Image.FILTER_NEAREST);
+					scoreNumbersSheet = decodeImage(zipFile, entry, "scoreNumbers", Image.FILTER_NEAREST, progress);
 					break;
 				case "explosion.png":
 					if (explosionSheet != null) throw new ResourcePackException(Type.MULTIPLE_DEFINITION, "explosion.png");
-					explosionSheet = new Image(copyStream(zipFile.getInputStream(entry)), "explosion", false, Image.FILTER_NEAREST);
+					explosionSheet = decodeImage(zipFile, entry, "explosion", Image.FILTER_NEAREST, progress);
 					break;
 				// All other types are handled in default, as many different names may belong to one 'class' of things.
 				default:
@@ -401,7 +426,7 @@ public class PackReader {
 							if (backgrounds[index] != null) throw new ResourcePackException(Type.MULTIPLE_DEFINITION, entry.getName() );
 						}
 						if (index > maxBackgroundIndex) maxBackgroundIndex = index;
-						Image tempBackground = new Image(copyStream(zipFile.getInputStream(entry)), "background", false);
+						PendingImage tempBackground = decodeImage(zipFile, entry, "background", Image.FILTER_LINEAR, progress);
 						backgrounds[index] = tempBackground;
 					/* ---------------------- Sprites ---------------------- */
 					} else if (entryName.matches("^sprite[0-9]+\\.png$") ) {
@@ -410,7 +435,7 @@ public class PackReader {
 							if (sprites[index] != null) throw new ResourcePackException(Type.MULTIPLE_DEFINITION, entry.getName() );
 						}
 						if (index > maxSpriteIndex) maxSpriteIndex = index;
-						Image tempSprite = new Image(copyStream(zipFile.getInputStream(entry)), "sprite" + index, false, Image.FILTER_NEAREST);
+						PendingImage tempSprite = decodeImage(zipFile, entry, "sprite" + index, Image.FILTER_NEAREST, progress);
 						sprites[index] = tempSprite;
 					} else if (entryName.matches("^pattern[0-9]+\\.png$") ) {
 						int index = indexFromName(entryName);
@@ -418,7 +443,7 @@ public class PackReader {
 							if (patterns[index] != null) throw new ResourcePackException(Type.MULTIPLE_DEFINITION, entry.getName() );
 						}
 						if (index > maxPatternIndex) maxPatternIndex = index;
-						Image tempPattern = new Image(copyStream(zipFile.getInputStream(entry)), "pattern" + index, false, Image.FILTER_NEAREST);
+						PendingImage tempPattern = decodeImage(zipFile, entry, "pattern" + index, Image.FILTER_NEAREST, progress);
 						patterns[index] = tempPattern;
 					/* ---------------------- Sounds ----------------------- */
 					// Due to the nature of graphics amounts being unknown,
@@ -430,16 +455,18 @@ public class PackReader {
 						GameSoundEffect sound = GameSoundEffect.filenameToEnum(entryName);
 						if (sound == null) {
 							System.out.println("Information: " + entry.getName() + " not a valid resource in resource pack. Skipping.");
+							progress.entryDone();
 							continue;
 						} else {
 							if (gameSounds.containsKey(sound) )  throw new ResourcePackException(Type.MULTIPLE_DEFINITION, entry.getName() );
 							gameSounds.put(sound, loadSoundClip(zipFile, entry) );
+							progress.entryDone();
 						}
 					}
 				}
 			}
 		
-		} catch (IOException | SlickException e) {
+		} catch (IOException e) {
 			throw new ResourcePackException(e);
 		}
 		
@@ -471,45 +498,53 @@ public class PackReader {
 		// No null checks
 		
 		// We need to construct an array of sprites that has identical references save for being a lot smaller
-		Image cutSprites[] = new Image[maxSpriteIndex + 1];
+		PendingImage cutSprites[] = new PendingImage[maxSpriteIndex + 1];
 		for (int i = 0; i <= maxSpriteIndex; i++) {
 			cutSprites[i] = sprites[i];
 		}
 		
-		try
-		{
-			SlickWorldGraphics slickGraphics = new SlickWorldGraphics(
-				solidTiles, 
-				thruTiles, 
-				sceneTiles,
-				hazardTiles,
-				conveyerTiles,
-				collapsingTiles,
-				backgrounds,
-				patterns,
-				cutSprites,
-				goodieSheet, 
-				yumSheet,
-				bannerSheet,
-				scoreNumbersSheet,
-				bonusNumbersSheet,
-				explosionSheet,
-				energyBar);
-			
-			WorldResource worldRsrc = WorldResource.createSlickResource(
-				slickGraphics, ImmutableMap.copyOf(gameSounds));
-			
-			return worldRsrc;
-		} catch (SlickException e) {
-			throw new ResourcePackException(e);
-		}
+		DecodedSlickPack pack = new DecodedSlickPack(
+			solidTiles, 
+			thruTiles, 
+			sceneTiles,
+			hazardTiles,
+			conveyerTiles,
+			collapsingTiles,
+			backgrounds,
+			patterns,
+			cutSprites,
+			goodieSheet, 
+			yumSheet,
+			bannerSheet,
+			scoreNumbersSheet,
+			bonusNumbersSheet,
+			explosionSheet,
+			energyBar,
+			gameSounds);
+		
+		pack.awaitDecoding();
+		return pack;
 	}
 	
-	
-	// Deferred loading will completely mess with the zip loading, as the streams are closed before the loading
-	// occurs. This reads the stream into a byte array and builds a new stream from that.
-	private static ByteArrayInputStream copyStream(InputStream fromZip) throws IOException {
-		return new ByteArrayInputStream(ByteStreams.toByteArray(fromZip));
+	/**
+	 * Reads the image from the zip entry on the calling thread, and decodes it to pixel data on the common pool.
+	 * The entry is counted as done in the progress once decoding finishes, successfully or not.
+	 */
+	private static PendingImage decodeImage(ZipFile zipFile, ZipEntry entry, String name, int filter, LoadProgress progress) throws IOException {
+		final byte[] encoded = ByteStreams.toByteArray(zipFile.getInputStream(entry) );
+		return new PendingImage(
+			CompletableFuture.supplyAsync(() -> {
+				try {
+					LoadableImageData data = ImageDataFactory.getImageDataFor(name);
+					data.loadImage(new BufferedInputStream(new ByteArrayInputStream(encoded) ), false, null);
+					return data;
+				} catch (IOException e) {
+					throw new CompletionException(e);
+				} finally {
+					progress.entryDone();
+				}
+			}),
+			filter);
 	}
 	
 	/**
@@ -0,0 +1,108 @@
+package org.erikaredmark.monkeyshines.resource;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.erikaredmark.monkeyshines.LevelScreen;
+import org.erikaredmark.monkeyshines.background.Background;
+import org.newdawn.slick.Graphics;
+import org.newdawn.slick.opengl.TextureImpl;
+import org.newdawn.slick.opengl.renderer.Renderer;
+import org.newdawn.slick.opengl.renderer.SGL;
+
+/**
+ *
+ * Caches the parts of a level screen that never change during play (its background and common tiles) as one GL display
+ * list per screen, so that drawing them each frame is a single call instead of several hundred immediate mode quads.
+ * Everything animated or stateful is still drawn normally on top.
+ * <p/>
+ * A screen's list is compiled the first time it is drawn, and recompiled if its tiles are modified or its background is
+ * replaced. Lists belong to the GL context they were compiled in; {@code release} must be called while that context is
+ * still active.
+ * <p/>
+ * Slick tracks the last bound texture to skip redundant binds. Since a list binds textures without Slick knowing, that
+ * tracking is cleared around both compiling and calling a list; otherwise Slick could skip a bind that is actually needed.
+ * <p/>
+ * This class is not thread safe; it must only be used from the thread owning the GL context.
+ *
+ * @author Erika Redmark
+ *
+ */
+final class ScreenDisplayLists {
+	private static final SGL GL = Renderer.get();
+
+	private static final class CompiledScreen {
+		private final int list;
+		private final int modificationCount;
+		private final Background background;
+
+		private CompiledScreen(final int list, final int modificationCount, final Background background) {
+			this.list = list;
+			this.modificationCount = modificationCount;
+			this.background = background;
+		}
+	}
+
+	// Screens are only ever compared by identity; a copy of a screen is a different screen as far as drawing is concerned.
+	private final Map<LevelScreen, CompiledScreen> compiled = new IdentityHashMap<>();
+
+	/**
+	 *
+	 * Paints the background and common tiles of the given screen, compiling them into a display list first if required.
+	 * If no display list can be allocated, the screen is simply drawn directly.
+	 *
+	 * @param g2d
+	 * 		graphics context to draw to
+	 *
+	 * @param screen
+	 * 		screen to draw the static parts of
+	 *
+	 * @param slickGraphics
+	 * 		graphics of the world the screen belongs to
+	 *
+	 */
+	void paintStatic(Graphics g2d, LevelScreen screen, SlickWorldGraphics slickGraphics) {
+		CompiledScreen cached = compiled.get(screen);
+		if (   cached != null
+			&& (   cached.modificationCount != screen.getMap().getModificationCount()
+				|| cached.background != screen.getBackground() ) ) {
+
+			GL.glDeleteLists(cached.list, 1);
+			compiled.remove(screen);
+			cached = null;
+		}
+
+		if (cached == null) {
+			int list = GL.glGenLists(1);
+			if (list == 0) {
+				SlickRenderer.paintStaticLevelScreen(g2d, screen, slickGraphics);
+				return;
+			}
+
+			TextureImpl.bindNone();
+			GL.glNewList(list, SGL.GL_COMPILE);
+			SlickRenderer.paintStaticLevelScreen(g2d, screen, slickGraphics);
+			GL.glEndList();
+
+			cached = new CompiledScreen(list, screen.getMap().getModificationCount(), screen.getBackground() );
+			compiled.put(screen, cached);
+		}
+
+		TextureImpl.bindNone();
+		GL.glCallList(cached.list);
+		TextureImpl.bindNone();
+	}
+
+	/**
+	 *
+	 * Deletes all compiled display lists. Must be called while the GL context they were compiled in is active. This object
+	 * remains usable afterwards; screens are simply compiled again when next drawn.
+	 *
+	 */
+	void release() {
+		for (CompiledScreen screen : compiled.values() ) {
+			GL.glDeleteLists(screen.list, 1);
+		}
+		compiled.clear();
+	}
+}
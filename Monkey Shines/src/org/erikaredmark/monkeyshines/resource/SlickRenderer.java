@@ -204,24 +204,31 @@ public class SlickRenderer {
 	 * it will not longer be painted.
 	 * <p/>
 	 * If the goodie is not in yum state, this is effectively a sprite based drawing.
+	 * <p/>
+	 * When drawing many goodies, prefer letting {@code paintWorld} batch them.
 	 * 
 	 * @param g2d
 	 */
 	public static void paintGoodie(Graphics g2d, Goodie goodie, SlickWorldGraphics rsrc) {
+		queueGoodie(rsrc.spriteBatch, goodie, rsrc);
+		rsrc.spriteBatch.flush();
+	}
+	
+	private static void queueGoodie(SpriteBatch batch, Goodie goodie, SlickWorldGraphics rsrc) {
 		int drawToX = goodie.getDrawToX();
 		int drawToY = goodie.getDrawToY();
 		int drawX = goodie.getDrawX();
 		int drawY = goodie.getDrawY();
 		if (!goodie.isTaken() && !goodie.isDead())
 		{
-			g2d.drawImage(rsrc.goodieSheet, drawToX , drawToY, // Destination 1
+			batch.add(rsrc.goodieSheet, drawToX , drawToY, // Destination 1
 				drawToX + GameConstants.GOODIE_SIZE_X, drawToY + GameConstants.GOODIE_SIZE_Y, // Destination 2
 				drawX, drawY, drawX + GameConstants.GOODIE_SIZE_X, drawY + GameConstants.GOODIE_SIZE_Y);
 		}
 		else if (goodie.isTaken() && !goodie.isDead()) 
 		{
 			int yumSprite = goodie.getYumSprite();
-			g2d.drawImage(rsrc.yumSheet, drawToX , drawToY, // Destination 1
+			batch.add(rsrc.yumSheet, drawToX , drawToY, // Destination 1
 				drawToX + GameConstants.GOODIE_SIZE_X, drawToY + GameConstants.GOODIE_SIZE_Y, // Destination 2
 				yumSprite * GameConstants.GOODIE_SIZE_X, 0, // Source 1
 				yumSprite * GameConstants.GOODIE_SIZE_X + GameConstants.GOODIE_SIZE_X, GameConstants.GOODIE_SIZE_Y);
@@ -230,6 +237,9 @@ public class SlickRenderer {
 
 	/**
 	 * Paints the world, including all tiles, goodies, hazards, and sprites.
+	 * <p/>
+	 * Sprites and goodies are batched and drawn together, one texture at a time. Goodie sheets are never
+	 * sprite sheets, so goodies still always end up drawn over sprites.
 	 * @param g2d
 	 * @param world
 	 */
@@ -237,26 +247,74 @@ public class SlickRenderer {
 		WorldResource rsrc = world.getResource();
 		SlickWorldGraphics slickGraphics = rsrc.getSlickGraphics();
 		LevelScreen curScreen = world.getCurrentScreen();
-		paintLevelScreen(g2d, curScreen, slickGraphics);
+		queueLevelScreen(g2d, curScreen, slickGraphics);
 		
 		// TODO group goodies into a better collection based on screen
 		Collection<Goodie> goodies = (Collection<Goodie>)world.getGoodies().values();
 		for (Goodie nextGoodie : goodies) {
 			if (nextGoodie.getScreenID() == curScreen.getId()) {
-				paintGoodie(g2d, nextGoodie, slickGraphics);
+				queueGoodie(slickGraphics.spriteBatch, nextGoodie, slickGraphics);
 			}
 		}
+		
+		slickGraphics.spriteBatch.flush();
 	}
 	
 	/**
 	 * Draw background, tiles, and sprites.
+	 * <p/>
+	 * The background and common tiles are replayed from a display list cached in the graphics object; only
+	 * tiles with state and the sprites are drawn fresh each frame.
 	 * @param g2d
 	 */
 	public static void paintLevelScreen(Graphics g2d, LevelScreen screen, SlickWorldGraphics slickGraphics) {
-		paintBackground(g2d, screen.getBackground(), slickGraphics);
-		paintTileMap(g2d, screen.getMap(), slickGraphics);
+		queueLevelScreen(g2d, screen, slickGraphics);
+		slickGraphics.spriteBatch.flush();
+	}
+	
+	// Draws the background and tiles, but only queues the sprites so that callers can add more to the batch.
+	private static void queueLevelScreen(Graphics g2d, LevelScreen screen, SlickWorldGraphics slickGraphics) {
+		slickGraphics.screenDisplayLists.paintStatic(g2d, screen, slickGraphics);
+		paintDynamicTiles(g2d, screen.getMap(), slickGraphics);
 		for (Monster s : screen.getMonstersOnScreen()) {
-			paintMonster(g2d, s, slickGraphics);
+			queueMonster(slickGraphics.spriteBatch, s, slickGraphics);
+		}
+	}
+	
+	/**
+	 * Draws the parts of a level screen that do not change during play: the background and all common
+	 * tiles. This is what gets compiled into a screen's display list.
+	 */
+	static void paintStaticLevelScreen(Graphics g2d, LevelScreen screen, SlickWorldGraphics slickGraphics) {
+		paintBackground(g2d, screen.getBackground(), slickGraphics);
+		
+		TileMap map = screen.getMap();
+		TileType[] internalMap = map.internalMap();
+		int cols = map.getColumnCount();
+		for (int i = 0; i < internalMap.length; ++i) {
+			if (!(internalMap[i] instanceof CommonTile) )  continue;
+			paintTileType(
+				g2d, 
+				internalMap[i],
+				(i % cols) * GameConstants.TILE_SIZE_X,
+				(i / cols) * GameConstants.TILE_SIZE_Y,
+				slickGraphics);
+		}
+	}
+	
+	// Every tile not drawn by paintStaticLevelScreen. Tiles never overlap, so drawing them in a
+	// separate pass looks the same as drawing the whole map in order.
+	private static void paintDynamicTiles(Graphics g2d, TileMap map, SlickWorldGraphics slickGraphics) {
+		TileType[] internalMap = map.internalMap();
+		int cols = map.getColumnCount();
+		for (int i = 0; i < internalMap.length; ++i) {
+			if (internalMap[i] instanceof CommonTile)  continue;
+			paintTileType(
+				g2d, 
+				internalMap[i],
+				(i % cols) * GameConstants.TILE_SIZE_X,
+				(i / cols) * GameConstants.TILE_SIZE_Y,
+				slickGraphics);
 		}
 	}
 	
@@ -318,9 +376,11 @@ public class SlickRenderer {
 			StatelessTileType underlyingType = common.getUnderlyingType();
 			if (underlyingType == StatelessTileType.NONE)  return;
 			
-			int tileDrawCol = common.getTileDrawCol();
-			int tileDrawRow = common.getTileDrawRow();
-			g2d.drawImage(slickGraphics.getStatelessTileTypeSheet(underlyingType), 
+			Image sheet = slickGraphics.getStatelessTileTypeSheet(underlyingType);
+			int sheetCols = sheet.getWidth() / GameConstants.TILE_SIZE_X;
+			int tileDrawCol = common.getTileDrawCol(sheetCols);
+			int tileDrawRow = common.getTileDrawRow(sheetCols);
+			g2d.drawImage(sheet, 
 						  drawToX, drawToY, 																// Dest 1
 						  drawToX + GameConstants.TILE_SIZE_X, drawToY + GameConstants.TILE_SIZE_Y,			// Dest 2
 						  tileDrawCol, tileDrawRow, 														// Src 1
@@ -387,10 +447,15 @@ public class SlickRenderer {
 	}
 	
 	public static void paintMonster(Graphics g2d, Monster sprite, SlickWorldGraphics rsrc) {
+		queueMonster(rsrc.spriteBatch, sprite, rsrc);
+		rsrc.spriteBatch.flush();
+	}
+	
+	private static void queueMonster(SpriteBatch batch, Monster sprite, SlickWorldGraphics rsrc) {
 		if (!(sprite.isVisible()) )  return;
 		Point2D currentLocation = sprite.internalCurrentLocation();
 		ClippingRectangle currentClip = sprite.internalCurrentClip();
-		g2d.drawImage(
+		batch.add(
 			rsrc.sprites[sprite.getId()], 
 			currentLocation.x(), currentLocation.y(), 
 			currentLocation.x() + GameConstants.SPRITE_SIZE_X, currentLocation.y() + GameConstants.SPRITE_SIZE_Y,
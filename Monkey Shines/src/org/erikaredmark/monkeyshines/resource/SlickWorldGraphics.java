@@ -1,5 +1,9 @@
 package org.erikaredmark.monkeyshines.resource;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
 import org.erikaredmark.monkeyshines.GameConstants;
 import org.erikaredmark.monkeyshines.tiles.CommonTile.StatelessTileType;
 import org.newdawn.slick.Color;
@@ -13,6 +17,9 @@ import org.newdawn.slick.SlickException;
  * This object is NOT immutable, as image data may have deferred loading, which will prevent the
  * object from being fully constructed until then. When deferred loading is over, finishInitialisation
  * must be called.
+ * <p/>
+ * Textures are owned by this object for the lifetime of one played world. When the world ends, {@code destroy}
+ * must be called whilst the GL context is still active to release them.
  * @author Goddess
  *
  */
@@ -80,6 +87,12 @@ public class SlickWorldGraphics {
 	public final Image loseBackground;
 	public final Image tallyScoresBackground;
 	
+	// Compiled backgrounds and common tiles of each screen drawn so far. Released with the textures.
+	final ScreenDisplayLists screenDisplayLists = new ScreenDisplayLists();
+	// Sprites and goodies queued for drawing this frame.
+	final SpriteBatch spriteBatch = new SpriteBatch();
+	
+	private boolean destroyed = false;
 	
 	/**
 	 * Partially constructs the initial world graphics. Because actual image loading may be
@@ -218,6 +231,52 @@ public class SlickWorldGraphics {
 		return energyBar;
 	}
 	
+	/**
+	 * Releases the textures of every image owned by this object. Must be called whilst the GL context the images
+	 * were created in is still active; once the context is gone, the textures are already lost. After this call
+	 * this object may not be used for rendering. Calling this more than once has no further effect.
+	 * 
+	 * @throws SlickException
+	 * 		if an image fails to release its texture. Remaining images will still be attempted
+	 */
+	public void destroy() throws SlickException {
+		if (destroyed)  return;
+		destroyed = true;
+		
+		screenDisplayLists.release();
+		
+		// Some images may be referenced from multiple fields; only destroy each once.
+		Set<Image> images = Collections.newSetFromMap(new IdentityHashMap<Image, Boolean>() );
+		Collections.addAll(images, 
+			solidTiles, thruTiles, sceneTiles, hazardTiles, conveyerTiles, collapsingTiles,
+			goodieSheet, yumSheet, explosionSheet, banner, scoreNumbers, bonusNumbers, energySegment, energyBar,
+			infinity, bonzo, getReady, pause, highScoresBackground, loseBackground, tallyScoresBackground);
+		Collections.addAll(images, backgrounds);
+		Collections.addAll(images, patterns);
+		Collections.addAll(images, sprites);
+		if (patternedBackgrounds != null)  Collections.addAll(images, patternedBackgrounds);
+		
+		SlickException firstFailure = null;
+		for (Image img : images) {
+			if (img == null || img.isDestroyed() )  continue;
+			try {
+				img.destroy();
+			} catch (SlickException e) {
+				if (firstFailure == null)  firstFailure = e;
+			}
+		}
+		
+		if (firstFailure != null)  throw firstFailure;
+	}
+	
+	/**
+	 * @return
+	 * 		{@code true} if {@code destroy} has been called on this object, {@code false} if otherwise
+	 */
+	public boolean isDestroyed() {
+		return destroyed;
+	}
+	
 	/**
 	 * Returns the graphics sheet for the tiles that exist for the given tile type.
 	 */
@@ -0,0 +1,86 @@
+package org.erikaredmark.monkeyshines.resource;
+
+import java.util.Arrays;
+
+import org.newdawn.slick.Image;
+
+/**
+ *
+ * Collects textured quads over the course of drawing a frame and submits them grouped by texture, so each texture is
+ * bound and set up once per frame instead of once per quad. Used for sprites and goodies, of which a screen may have
+ * dozens all drawn from only a few sheets.
+ * <p/>
+ * Groups are drawn in the order their texture was first queued, and quads within a group in the order they were queued.
+ * Quads on different textures may therefore be drawn in a different order than they were queued; clients must only
+ * queue things where that does not matter, or where later textures are always queued after earlier ones.
+ * <p/>
+ * Storage grows as needed and is reused between frames. This class is not thread safe.
+ *
+ * @author Erika Redmark
+ *
+ */
+final class SpriteBatch {
+	// Destination x, y, x2, y2 then source x, y, x2, y2
+	private static final int FLOATS_PER_QUAD = 8;
+
+	private Image[] images = new Image[64];
+	private float[] quads = new float[64 * FLOATS_PER_QUAD];
+	private boolean[] drawn = new boolean[64];
+	private int count;
+
+	/**
+	 *
+	 * Queues part of an image to be drawn on the next {@code flush}. Coordinates are the same as for
+	 * {@code Graphics.drawImage}.
+	 *
+	 */
+	void add(Image image, float x, float y, float x2, float y2, float srcx, float srcy, float srcx2, float srcy2) {
+		if (count == images.length) {
+			images = Arrays.copyOf(images, count * 2);
+			quads = Arrays.copyOf(quads, count * 2 * FLOATS_PER_QUAD);
+			drawn = new boolean[count * 2];
+		}
+
+		images[count] = image;
+		int base = count * FLOATS_PER_QUAD;
+		quads[base]     = x;
+		quads[base + 1] = y;
+		quads[base + 2] = x2;
+		quads[base + 3] = y2;
+		quads[base + 4] = srcx;
+		quads[base + 5] = srcy;
+		quads[base + 6] = srcx2;
+		quads[base + 7] = srcy2;
+		++count;
+	}
+
+	/**
+	 *
+	 * Draws everything queued since the last flush, one {@code startUse}/{@code endUse} pair per distinct image, and
+	 * empties the batch.
+	 *
+	 */
+	void flush() {
+		for (int i = 0; i < count; ++i) {
+			if (drawn[i])  continue;
+
+			final Image image = images[i];
+			image.startUse();
+			for (int j = i; j < count; ++j) {
+				if (images[j] != image)  continue;
+
+				int base = j * FLOATS_PER_QUAD;
+				image.drawEmbedded(
+					quads[base],     quads[base + 1], quads[base + 2], quads[base + 3],
+					quads[base + 4], quads[base + 5], quads[base + 6], quads[base + 7]);
+				drawn[j] = true;
+			}
+			image.endUse();
+		}
+
+		// Drop image references so a finished world's images are not held on to.
+		Arrays.fill(images, 0, count, null);
+		Arrays.fill(drawn, 0, count, false);
+		count = 0;
+	}
+}
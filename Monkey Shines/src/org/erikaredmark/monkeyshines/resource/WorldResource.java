@@ -5,6 +5,7 @@ import java.util.Optional;
 import javax.sound.sampled.Clip;
 
 import org.erikaredmark.monkeyshines.GameSoundEffect;
+import org.newdawn.slick.SlickException;
 
 import com.google.common.collect.ImmutableMap;
 
@@ -122,6 +123,25 @@ public final class WorldResource {
 		return slickGraphics;
 	}
 	
+	/**
+	 * Releases the graphics held by this resource once the world using it has ended. For Slick graphics this frees
+	 * all textures, and must be called whilst the GL context is still active. AWT graphics are plain heap images and
+	 * are left to the garbage collector.
+	 * <p/>
+	 * Sounds are not released here; they are owned by whichever {@code SoundManager} they were given to, which
+	 * releases them on {@code dispose}.
+	 * <p/>
+	 * The resource cannot be used for drawing after this call. Calling this more than once has no further effect.
+	 * 
+	 * @throws SlickException
+	 * 		if textures could not be released
+	 */
+	public void dispose() throws SlickException {
+		if (isSlickGraphics() ) {
+			slickGraphics.destroy();
+		}
+	}
+	
 	/**
 	 * 
 	 * Returns the clip for the given sound effect, or {@code null} if the sound effect has no clip. Incomplete
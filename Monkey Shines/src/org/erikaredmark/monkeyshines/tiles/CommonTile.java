@@ -1,19 +1,21 @@
 package org.erikaredmark.monkeyshines.tiles;
 
 import java.awt.image.BufferedImage;
+import java.util.Arrays;
 
 import org.erikaredmark.monkeyshines.GameConstants;
-import org.erikaredmark.monkeyshines.resource.AwtWorldGraphics;
-import org.erikaredmark.monkeyshines.resource.SlickWorldGraphics;
 import org.erikaredmark.monkeyshines.resource.WorldResource;
 import org.newdawn.slick.Image;
 
 /**
  * 
  * How the tile reacts to the game world. These tile types are stateless; their nature represents all that needs to be known
- * about a tile at a given point. Stateless tile types only ever differ in their id and underlying type. However, each instance
- * IS unique. This is deliberate: Many collision detectiong algorithms can be simplified by not sharing instances (to determine if
- * two points map to the same tile)
+ * about a tile at a given point. Stateless tile types only ever differ in their id and underlying type, and so are flyweights:
+ * there is exactly one instance for each id and type, shared by every cell of every map that uses it. Only stateful tiles
+ * (hazards, conveyers and collapsing tiles) are instantiated per cell.
+ * <p/>
+ * Instances are immutable. Where in a tile sheet a tile is drawn from depends on the sheet, so it is worked out when drawing
+ * rather than stored on the shared instance.
  * 
  * <strong> Stateless</strong>
  * <ul>
@@ -34,70 +36,105 @@ public class CommonTile implements TileType {
 	private final int id;
 	private final StatelessTileType underlyingType;
 	
-	// Private state variables for drawing. Only recomputed when paint is called with a new resource,
-	// which is very rare.
-	private int tileDrawRow;
-	private int tileDrawCol;
-	
 	public static final CommonTile NONE = new CommonTile(0, StatelessTileType.NONE);
 	
+	// Canonical instances, indexed by type ordinal and then id. Arrays are only filled in or replaced with larger copies under
+	// the class lock; reading without it is fine since instances are immutable, and a miss simply takes the lock.
+	private static final CommonTile[][] CANONICAL = new CommonTile[StatelessTileType.values().length][];
+	static {
+		for (int i = 0; i < CANONICAL.length; ++i) {
+			CANONICAL[i] = new CommonTile[256];
+		}
+		CANONICAL[StatelessTileType.NONE.ordinal()][0] = NONE;
+	}
+	
 	private CommonTile(int id, StatelessTileType type) {
 		this.id = id;
 		this.underlyingType = type;
 	}
 	
-	/** source Tile drawing row for rendering operations */
-	public int getTileDrawRow() { return tileDrawRow; }
-	/** source tile drawing column for rendering operations */
-	public int getTileDrawCol() { return tileDrawCol; }
+	/**
+	 * 
+	 * Source tile drawing row for rendering operations, in pixels.
+	 * 
+	 * @param sheetCols
+	 * 		number of tiles across the sheet for this tile's type in the resource being drawn with
+	 * 
+	 */
+	public int getTileDrawRow(int sheetCols) { return (id / sheetCols) * GameConstants.TILE_SIZE_Y; }
+	
+	/**
+	 * 
+	 * Source tile drawing column for rendering operations, in pixels.
+	 * 
+	 * @param sheetCols
+	 * 		number of tiles across the sheet for this tile's type in the resource being drawn with
+	 * 
+	 */
+	public int getTileDrawCol(int sheetCols) { return (id % sheetCols) * GameConstants.TILE_SIZE_X; }
 	
 	/**
 	 * 
-	 * Static factory to return instances of common tiles. If it is decided to share instances
-	 * and, going through this point will make it easier.
+	 * Static factory to return instances of common tiles, additionally checking that the tile can actually be drawn
+	 * with the given resource.
 	 * <p/>
-	 * Creates a new common tile instance. Common tiles have no state and draw most
-	 * behaviour from a set of common enumerated types. This class is merely the container
-	 * for the unique id and to give a unique constructed object per tile on a level.
+	 * If the id goes out of bounds of the resource's tile sheet, a warning is printed; the tile will be invisible.
 	 * 
 	 * @param id
 	 * 
 	 * @param type
 	 * 
 	 * @param rsrc
-	 * 		the initial expected world resource this tile will be drawn with. This causes
-	 * 		drawing data to be computed before the paint method. This prevents slowdown
-	 * 		for tiles never drawn yet when changing screens in the game
+	 * 		the initial expected world resource this tile will be drawn with
 	 * 
 	 * @return
-	 * 		new instance of this object
+	 * 		the shared instance for the given id and type
 	 * 
 	 */
 	public static CommonTile of(int id, StatelessTileType type, WorldResource rsrc) {
-		CommonTile tile =  new CommonTile(id, type);
-		tile.recomputeDrawState(rsrc);
+		CommonTile tile = of(id, type);
+		if (type != StatelessTileType.NONE) {
+			tile.checkDrawable(rsrc);
+		}
 		return tile;
 	}
 	
 	/**
 	 * 
-	 * Static factory to return instances of common tiles. If it is decided to share instances
-	 * and, going through this point will make it easier.
-	 * <p/>
-	 * Creates a new common tile instance. Common tiles have no state and draw most
-	 * behaviour from a set of common enumerated types. This class is merely the container
-	 * for the unique id and to give a unique constructed object per tile on a level.
+	 * Static factory to return instances of common tiles. Common tiles have no state and draw most
+	 * behaviour from a set of common enumerated types, so one instance is shared for each id and type.
 	 * 
 	 * @param id
 	 * 
 	 * @param type
 	 * 
 	 * @return
-	 * 		new instance of this object
+	 * 		the shared instance for the given id and type
 	 * 
 	 */
 	public static CommonTile of(int id, StatelessTileType type) {
-		return new CommonTile(id, type);
+		CommonTile[] forType = CANONICAL[type.ordinal()];
+		if (id >= 0 && id < forType.length) {
+			CommonTile tile = forType[id];
+			if (tile != null)  return tile;
+		}
+		return intern(id, type);
+	}
+	
+	private static synchronized CommonTile intern(int id, StatelessTileType type) {
+		// Never valid, but not ours to reject here. Not worth sharing.
+		if (id < 0)  return new CommonTile(id, type);
+		
+		CommonTile[] forType = CANONICAL[type.ordinal()];
+		if (id >= forType.length) {
+			forType = Arrays.copyOf(forType, Math.max(forType.length * 2, id + 1) );
+			CANONICAL[type.ordinal()] = forType;
+		}
+		
+		if (forType[id] == null) {
+			forType[id] = new CommonTile(id, type);
+		}
+		return forType[id];
 	}
 	
 	public StatelessTileType getUnderlyingType() { return underlyingType; }
@@ -114,56 +151,29 @@ public class CommonTile implements TileType {
 	
 	@Override public void reset(boolean oddElseEven) { /* No op */ }
 	
+	/** Common tiles are immutable and shared, so the copy is this same instance */
 	@Override public CommonTile copy() {
-		return new CommonTile(id, underlyingType);
+		return this;
 	}
 	
-	/**
-	 * Recomputes the location in the sprite sheet that this particular tile should draw from. This depends
-	 * on two factors: the id of the tile, and the dimensions of the sprite sheet. To prevent slowdown, this
-	 * is only recomputed when the world is painted with a different resource. This should only be called, in
-	 * game, once per game, and for the level editor once during load, and any time a new tile is created.
-	 * <p/>
-	 * It is an error to call this with a NONE tile.
-	 * <p/>
-	 * This computation functions regardless of the underlying rendering type of the resource (AWT or Slick)
-	 * 
-	 * @param rsrc
-	 * 		the new resource to recompute values for
-	 */
-	public void recomputeDrawState(WorldResource rsrc) {
-		if (rsrc.isSlickGraphics()) {
-			recomputeDrawStateSlick(rsrc.getSlickGraphics());
+	// Sanity check: If the tileId goes out of bounds of the tile sheet, there is an issue. Print out that there
+	// is a rouge invisible tile.
+	// TODO Note: Document somehow that this DOESN'T prevent invisible tiles from accidentally being inserted by the
+	// editor. If the sheet has a fully transparent tile within the rectangle, that is technically valid. Perhaps
+	// have tilesheets fully pink everywhere else to communicate a bad-tile so this check always works?
+	private void checkDrawable(WorldResource rsrc) {
+		final int sheetCols;
+		final int sheetRows;
+		if (rsrc.isSlickGraphics() ) {
+			Image sheet = rsrc.getSlickGraphics().getStatelessTileTypeSheet(underlyingType);
+			sheetCols = sheet.getWidth() / GameConstants.TILE_SIZE_X;
+			sheetRows = sheet.getHeight() / GameConstants.TILE_SIZE_Y;
 		} else {
-			recomputeDrawStateAwt(rsrc.getAwtGraphics());
+			BufferedImage sheet = rsrc.getAwtGraphics().getStatelessTileTypeSheet(underlyingType);
+			sheetCols = sheet.getWidth() / GameConstants.TILE_SIZE_X;
+			sheetRows = sheet.getHeight() / GameConstants.TILE_SIZE_Y;
 		}
-	}
-	
-	public void recomputeDrawStateAwt(AwtWorldGraphics awtGraphics) {
-		BufferedImage tileSpriteSheet = awtGraphics.getStatelessTileTypeSheet(this.underlyingType);
-		int sheetCols = tileSpriteSheet.getWidth() / GameConstants.TILE_SIZE_X;
-		int sheetRows = tileSpriteSheet.getHeight() / GameConstants.TILE_SIZE_Y;
-		recomputeDrawState_internal(sheetCols, sheetRows);
-	}
-	
-	public void recomputeDrawStateSlick(SlickWorldGraphics slickGraphics) {
-		Image tileSpriteSheet = slickGraphics.getStatelessTileTypeSheet(this.underlyingType);
-		int sheetCols = tileSpriteSheet.getWidth() / GameConstants.TILE_SIZE_X;
-		int sheetRows = tileSpriteSheet.getHeight() / GameConstants.TILE_SIZE_Y;
-		recomputeDrawState_internal(sheetCols, sheetRows);
-	}
-	
-	private void recomputeDrawState_internal(int sheetCols, int sheetRows) {
-		// Assume Integer division.
-		// No need to store id after we computed the bounds for the graphics.
-		tileDrawCol = (id % sheetCols) * GameConstants.TILE_SIZE_X;
-		tileDrawRow = (id / sheetCols) * GameConstants.TILE_SIZE_Y;
 		
-		// Sanity check: If the tileId goes out of bounds of the tile sheet, there is an issue. Print out that there
-		// is a rouge invisible tile.
-		// TODO Note: Document somehow that this DOESN'T prevent invisible tiles from accidentally being inserted by the
-		// editor. If the sheet has a fully transparent tile within the rectangle, that is technically valid. Perhaps
-		// have tilesheets fully pink everywhere else to communicate a bad-tile so this check always works?
 		if (id > sheetCols * sheetRows) {
 			System.err.println("" + this + ": Out of graphics range (Given sprite sheet only permits ids up to " + sheetCols * sheetRows);
 		}
@@ -16,7 +16,7 @@ public final class TileTypes {
 
 	/**
 	 * 
-	 * Generates a solid tile of the given id
+	 * Returns the solid tile of the given id. Common tiles are shared, so the same instance is returned for the same id
 	 * 
 	 * @param id
 	 * @return
@@ -28,7 +28,7 @@ public final class TileTypes {
 	
 	/**
 	 * 
-	 * Generates a thru tile of the given id
+	 * Returns the thru tile of the given id. Common tiles are shared, so the same instance is returned for the same id
 	 * 
 	 * @param id
 	 * @return
@@ -40,7 +40,7 @@ public final class TileTypes {
 	
 	/**
 	 * 
-	 * Generates a scene tile of the given id
+	 * Returns the scene tile of the given id. Common tiles are shared, so the same instance is returned for the same id
 	 * 
 	 * @param id
 	 * @return
@@ -0,0 +1,42 @@
+package org.erikaredmark.monkeyshines.video;
+
+/**
+ *
+ * How often the game draws frames, independent of how often the game logic runs. Game logic always runs at
+ * {@code GameConstants.FRAMES_PER_SECOND}; this only decides how many times per second the result is shown.
+ *
+ * @author Erika Redmark
+ *
+ */
+public enum FramePacing {
+	/**
+	 * Frames are presented in step with the monitor refresh. No tearing, and no wasted frames. Relies on the
+	 * graphics driver honouring the request; if it doesn't, this behaves the same as {@code UNCAPPED}.
+	 */
+	VSYNC("Vertical Sync"),
+	/**
+	 * Frames are drawn as fast as possible. Lowest latency at the cost of tearing and a busy CPU/GPU.
+	 */
+	UNCAPPED("Uncapped"),
+	/**
+	 * Frames are drawn no faster than the monitor refresh rate, timed by the game instead of the driver. For
+	 * systems where vertical sync is unavailable or adds too much latency.
+	 */
+	CAPPED("Capped to Refresh Rate");
+
+	private final String displayName;
+
+	private FramePacing(final String displayName) {
+		this.displayName = displayName;
+	}
+
+	/**
+	 *
+	 * Returns a human readable name for this pacing mode, suitable for menus.
+	 *
+	 * @return
+	 * 		display name
+	 *
+	 */
+	public String getDisplayName() { return displayName; }
+}
@@ -1,5 +1,6 @@
 package org.erikaredmark.monkeyshines.video;
 
+import java.awt.DisplayMode;
 import java.awt.GraphicsDevice;
 import java.awt.GraphicsEnvironment;
 
@@ -60,6 +61,18 @@ public class ScreenSize {
 //		return new ScreenSize(width, height);
 //	}
 	
+	/**
+	 * Returns the refresh rate, in hertz, of the <strong>default, main</strong> monitor. If the platform does not
+	 * report one, a typical 60hz is assumed.
+	 */
+	public static final int getRefreshRate() {
+		GraphicsDevice gd = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
+		int refreshRate = gd.getDisplayMode().getRefreshRate();
+		return refreshRate != DisplayMode.REFRESH_RATE_UNKNOWN
+			? refreshRate
+			: DEFAULT_REFRESH_RATE;
+	}
+	
 	public static final int getDefaultResolutionWidth() {
 		return DEFAULT_RESOLUTION.getWidth();
 	}
@@ -68,6 +81,8 @@ public class ScreenSize {
 		return DEFAULT_RESOLUTION.getHeight();
 	}
 	
+	private static final int DEFAULT_REFRESH_RATE = 60;
+	
 	private static final ScreenSize DEFAULT_RESOLUTION = new ScreenSize(
 		GameConstants.SCREEN_WIDTH, GameConstants.SCREEN_HEIGHT + GameConstants.UI_HEIGHT);
 	
@@ -0,0 +1,94 @@
+package org.erikaredmark.util;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 
+ * Static utility class for replacing small files such that a crash or power loss part way through leaves either the
+ * old contents or the new, never a partly written file.
+ * 
+ * @author Erika Redmark
+ *
+ */
+public final class AtomicFiles {
+	
+	private AtomicFiles() { }
+	
+	/**
+	 * 
+	 * Replaces the contents of the given file, creating it if it does not exist. The contents are written to a temporary
+	 * file in the same directory, flushed to disk, and then moved over the target. On file systems that cannot move
+	 * atomically the move is still a single replace, just without the guarantee.
+	 * 
+	 * @param target
+	 * 		file to replace
+	 * 
+	 * @param contents
+	 * 		new contents of the file
+	 * 
+	 * @throws IOException
+	 * 		if the file could not be written. The original file, if any, is left as it was
+	 * 
+	 */
+	public static void write(Path target, byte[] contents) throws IOException {
+		write(target, out -> out.write(contents) );
+	}
+	
+	/**
+	 * 
+	 * Writes data to a file through a stream, such that it replaces the given file as per {@code write(Path, byte[]) }.
+	 * The contents never need to be held in memory all at once.
+	 * 
+	 * @param target
+	 * 		file to replace
+	 * 
+	 * @param contents
+	 * 		called once with a stream to the temporary file. It must not close the stream
+	 * 
+	 * @throws IOException
+	 * 		if the file could not be written, including if {@code contents} throws. The original file, if any, is left
+	 * 		as it was
+	 * 
+	 */
+	public static void write(Path target, Contents contents) throws IOException {
+		Path directory = target.toAbsolutePath().getParent();
+		Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+		try {
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE) ) {
+				// Not closed, as that would close the channel before it can be forced.
+				OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel) );
+				contents.writeTo(out);
+				out.flush();
+				// Must be on disk before the rename, or a power loss could leave the renamed file empty.
+				channel.force(true);
+			}
+			
+			try {
+				Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+	
+	/**
+	 * 
+	 * Writes the new contents of a file to the given stream.
+	 * 
+	 */
+	@FunctionalInterface
+	public interface Contents {
+		void writeTo(OutputStream out) throws IOException;
+	}
+}
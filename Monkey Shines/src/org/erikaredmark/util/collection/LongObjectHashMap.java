@@ -0,0 +1,180 @@
+package org.erikaredmark.util.collection;
+
+import java.util.Arrays;
+
+/**
+ *
+ * Hash map from primitive {@code long} keys to objects, using open addressing with linear probing. Lookups neither box
+ * the key nor allocate, and entries are stored in two flat arrays rather than as linked node objects, so this is
+ * suitable for lookups made every tick.
+ * <p/>
+ * {@code null} values are not allowed; an empty slot is one whose value is {@code null}. Only the operations the game
+ * needs are supported; this is not a {@code java.util.Map}.
+ * <p/>
+ * This class is not thread safe
+ *
+ * @author Erika Redmark
+ *
+ */
+public final class LongObjectHashMap<V> {
+	private static final int MIN_CAPACITY = 16;
+
+	private long[] keys;
+	private Object[] values;
+	private int mask;
+	private int size;
+
+	/**
+	 *
+	 * Creates an empty map.
+	 *
+	 */
+	public LongObjectHashMap() {
+		this(0);
+	}
+
+	/**
+	 *
+	 * Creates an empty map sized to hold the given number of entries without growing.
+	 *
+	 * @param expected
+	 * 		number of entries expected. Must not be negative
+	 *
+	 */
+	public LongObjectHashMap(int expected) {
+		if (expected < 0)  throw new IllegalArgumentException("Expected size must not be negative, got: " + expected);
+		int capacity = MIN_CAPACITY;
+		while (capacity < expected * 2)  capacity <<= 1;
+		allocate(capacity);
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new Object[capacity];
+		mask = capacity - 1;
+	}
+
+	// Packed keys tend to differ only in a few low bits of each field; mixing spreads them over the whole table.
+	private int slot(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32) ) & mask;
+	}
+
+	/**
+	 *
+	 * Returns the value mapped to the given key, or {@code null} if there is none.
+	 *
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(long key) {
+		for (int i = slot(key); values[i] != null; i = (i + 1) & mask) {
+			if (keys[i] == key)  return (V) values[i];
+		}
+		return null;
+	}
+
+	public boolean containsKey(long key) {
+		return get(key) != null;
+	}
+
+	/**
+	 *
+	 * Maps the given key to the given value, replacing any existing mapping.
+	 *
+	 * @param key
+	 * 		key
+	 *
+	 * @param value
+	 * 		value. May not be {@code null}
+	 *
+	 * @return
+	 * 		the value previously mapped to the key, or {@code null} if there was none
+	 *
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(long key, V value) {
+		if (value == null)  throw new NullPointerException("Null values are not supported");
+
+		int i = slot(key);
+		for (; values[i] != null; i = (i + 1) & mask) {
+			if (keys[i] == key) {
+				V old = (V) values[i];
+				values[i] = value;
+				return old;
+			}
+		}
+
+		keys[i] = key;
+		values[i] = value;
+		++size;
+		// Kept at most half full so probe runs stay short.
+		if (size * 2 > values.length)  grow();
+		return null;
+	}
+
+	/**
+	 *
+	 * Removes the mapping for the given key, if there is one.
+	 *
+	 * @return
+	 * 		the value that was mapped to the key, or {@code null} if there was none
+	 *
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(long key) {
+		int i = slot(key);
+		for (; values[i] != null; i = (i + 1) & mask) {
+			if (keys[i] == key)  break;
+		}
+		if (values[i] == null)  return null;
+
+		V old = (V) values[i];
+		values[i] = null;
+		--size;
+
+		// Shift later entries of the probe run back into the gap so lookups never stop early at it.
+		int gap = i;
+		for (int j = (gap + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+			int home = slot(keys[j]);
+			// Entry at j may move to the gap only if its home slot is not cyclically between the gap and j.
+			boolean movable = gap <= j
+				? (home <= gap || home > j)
+				: (home <= gap && home > j);
+			if (movable) {
+				keys[gap] = keys[j];
+				values[gap] = values[j];
+				values[j] = null;
+				gap = j;
+			}
+		}
+		return old;
+	}
+
+	public int size() { return size; }
+
+	public boolean isEmpty() { return size == 0; }
+
+	/**
+	 *
+	 * Removes all mappings, keeping the current capacity.
+	 *
+	 */
+	public void clear() {
+		Arrays.fill(values, null);
+		size = 0;
+	}
+
+	private void grow() {
+		final long[] oldKeys = keys;
+		final Object[] oldValues = values;
+		allocate(oldValues.length * 2);
+		for (int i = 0; i < oldValues.length; ++i) {
+			if (oldValues[i] == null)  continue;
+
+			int j = slot(oldKeys[i]);
+			while (values[j] != null)  j = (j + 1) & mask;
+			keys[j] = oldKeys[i];
+			values[j] = oldValues[i];
+		}
+	}
+}
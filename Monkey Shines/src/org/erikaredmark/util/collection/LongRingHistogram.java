@@ -0,0 +1,154 @@
+package org.erikaredmark.util.collection;
+
+import java.util.Arrays;
+
+/**
+ *
+ * Fixed size ring of {@code long} samples, keeping only the most recent ones, that can summarise the samples it
+ * holds as percentiles or as bucketed counts.
+ * <p/>
+ * Adding a sample never allocates, so this is safe to feed every frame. Summaries sort a copy of the samples, so
+ * they should be requested occasionally rather than every time a sample is added.
+ * <p/>
+ * This class is not thread safe
+ *
+ * @author Erika Redmark
+ *
+ */
+public final class LongRingHistogram {
+
+	private final long[] samples;
+	// Insertion point
+	private int index;
+	// Total samples ever added, including ones since overwritten.
+	private long count;
+
+	/**
+	 *
+	 * Creates a new ring holding up to the given number of samples.
+	 *
+	 * @param size
+	 * 		number of samples kept. Must be positive and non-zero
+	 *
+	 */
+	public LongRingHistogram(int size) {
+		if (size <= 0)  throw new IllegalArgumentException("Size must be positive and non-zero, got: " + size);
+		samples = new long[size];
+	}
+
+	/**
+	 *
+	 * Adds a sample, bumping out the oldest one if the ring is full.
+	 *
+	 * @param sample
+	 * 		sample to add
+	 *
+	 */
+	public void add(long sample) {
+		samples[index] = sample;
+		++index;
+		if (index >= samples.length)  index = 0;
+		++count;
+	}
+
+	/**
+	 *
+	 * Returns the number of samples currently held; at most the size of the ring.
+	 *
+	 */
+	public int size() {
+		return (int) Math.min(count, samples.length);
+	}
+
+	/**
+	 *
+	 * Returns the total number of samples ever added, including those no longer held.
+	 *
+	 */
+	public long totalCount() { return count; }
+
+	/**
+	 *
+	 * Returns the most recently added sample, or {@code 0} if there are none.
+	 *
+	 */
+	public long latest() {
+		if (count == 0)  return 0;
+		int last = index - 1;
+		return samples[last >= 0 ? last : samples.length - 1];
+	}
+
+	/**
+	 *
+	 * Returns a copy of the samples currently held, sorted from smallest to largest.
+	 *
+	 * @return
+	 * 		sorted samples. Empty if there are none
+	 *
+	 */
+	public long[] sorted() {
+		long[] copy = Arrays.copyOf(samples, size() );
+		Arrays.sort(copy);
+		return copy;
+	}
+
+	/**
+	 *
+	 * Returns the sample at the given percentile of an array returned from {@code sorted}.
+	 *
+	 * @param sorted
+	 * 		sorted samples
+	 *
+	 * @param percentile
+	 * 		between 0 and 100 inclusive
+	 *
+	 * @return
+	 * 		sample at that percentile, or {@code 0} if there are no samples
+	 *
+	 */
+	public static long percentile(long[] sorted, double percentile) {
+		if (sorted.length == 0)  return 0;
+		return sorted[(int) ((sorted.length - 1) * (percentile / 100.0) )];
+	}
+
+	/**
+	 *
+	 * Returns the mean of the samples currently held, or {@code 0} if there are none.
+	 *
+	 */
+	public double mean() {
+		final int size = size();
+		if (size == 0)  return 0;
+
+		long total = 0;
+		for (int i = 0; i < size; ++i) {
+			total += samples[i];
+		}
+		return (double) total / size;
+	}
+
+	/**
+	 *
+	 * Counts the samples currently held into buckets of the given width, starting at zero. Samples beyond the
+	 * last bucket are counted in the last bucket.
+	 *
+	 * @param bucketWidth
+	 * 		width of each bucket, in the same units as the samples. Must be positive
+	 *
+	 * @param buckets
+	 * 		number of buckets. Must be positive
+	 *
+	 * @return
+	 * 		count of samples in each bucket
+	 *
+	 */
+	public int[] buckets(long bucketWidth, int buckets) {
+		int[] counts = new int[buckets];
+		final int size = size();
+		for (int i = 0; i < size; ++i) {
+			int bucket = (int) Math.min(Math.max(samples[i], 0) / bucketWidth, buckets - 1);
+			++counts[bucket];
+		}
+		return counts;
+	}
+}